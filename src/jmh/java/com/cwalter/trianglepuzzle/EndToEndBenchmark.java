@@ -0,0 +1,77 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Solves a whole triangle file through {@link PathAnalyzer#getMaxPathFromFile(String, String, IngestionMode)}.
+ * A triangle of n rows holds n(n+1)/2 values, so depths stop at 10k rows, about 500MB of text
+ * with the largest bound, so the file is written a row at a time. Deeper triangles are covered
+ * row by row by the other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndToEndBenchmark {
+	
+	@Param({ "1000", "10000" })
+	public int depth;
+	
+	@Param({ "100", "1000000000" })
+	public int bound;
+	
+	@Param({ "space", "comma", "whitespace" })
+	public String style;
+	
+	@Param({ "STREAM", "MAPPED" })
+	public IngestionMode mode;
+	
+	private File file;
+	
+	private String delimeter;
+	
+	private PathAnalyzer analyzer;
+	
+	@Setup
+	public void setUp() throws IOException {
+		file = File.createTempFile("triangle-" + depth + "-", ".txt");
+		try(Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.US_ASCII), 64 * 1024)) {
+			TriangleData.write(depth, bound, style, out);
+		}
+		delimeter = TriangleData.delimeter(style);
+		analyzer = new PathAnalyzer(new PrintStream(System.out), new PrintStream(System.err));
+	}
+	
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+	
+	@Benchmark
+	public long getMaxPathFromFile() throws ProcessException {
+		return analyzer.getMaxPathFromFile(file.getPath(), delimeter, mode);
+	}
+}
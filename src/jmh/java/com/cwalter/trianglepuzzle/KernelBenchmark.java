@@ -0,0 +1,102 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Computes one row of the recurrence, as wide as the bottom row of a triangle of the given
+ * depth, with nothing read or parsed. Covers each solver's row kernel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelBenchmark {
+	
+	@Param({ "1000", "10000", "100000" })
+	public int depth;
+	
+	@Param({ "100", "1000000000" })
+	public int bound;
+	
+	private int[] values;
+	
+	private int[] previousInts;
+	
+	private int[] currentInts;
+	
+	private long[] previousLongs;
+	
+	private long[] currentLongs;
+	
+	private DefaultPathSolver scalar;
+	
+	private AdaptivePathSolver parallel;
+	
+	private AdaptivePathSolver adaptive;
+	
+	private TriangleStream stream;
+	
+	private int[] nextValues;
+	
+	@Setup
+	public void setUp() {
+		values = TriangleData.values(depth, bound);
+		previousInts = TriangleData.values(depth, bound);
+		currentInts = new int[depth];
+		previousLongs = new long[depth];
+		for(int i = 0; i < depth; i++) {
+			previousLongs[i] = previousInts[i];
+		}
+		currentLongs = new long[depth];
+		scalar = new DefaultPathSolver();
+		parallel = new ParallelPathSolver();
+		//Vectorized when built with -Pvector and run with the incubator module.
+		adaptive = (AdaptivePathSolver) PathSolvers.adaptive().get();
+		stream = TriangleStream.restore(previousLongs.clone(), " ");
+		nextValues = TriangleData.values(depth + 1, bound);
+	}
+	
+	@Benchmark
+	public int[] defaultRow() {
+		scalar.computeRow(previousInts, currentInts, values, depth);
+		return currentInts;
+	}
+	
+	@Benchmark
+	public int parallelIntRange() {
+		return parallel.computeIntRange(previousInts, currentInts, values, 1, depth - 1);
+	}
+	
+	@Benchmark
+	public int adaptiveIntRange() {
+		return adaptive.computeIntRange(previousInts, currentInts, values, 1, depth - 1);
+	}
+	
+	@Benchmark
+	public long adaptiveLongRange() {
+		return adaptive.computeLongRange(previousLongs, currentLongs, values, 1, depth - 1);
+	}
+	
+	@Benchmark
+	public long streamPush() {
+		//Pushing one row wider each time would grow without bound, so each push starts from a
+		//fork of the same state and includes the cost of copying it.
+		TriangleStream next = stream.fork();
+		next.push(nextValues, depth + 1);
+		return next.getMaxPath();
+	}
+}
@@ -0,0 +1,69 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reads lines through {@link PathAnalyzer#getNext(BufferedReader)}. Each operation reads a block
+ * of rows as wide as the bottom row of a triangle of the given depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineReadingBenchmark {
+	
+	private static final int ROWS = 16;
+	
+	@Param({ "1000", "10000", "100000" })
+	public int depth;
+	
+	@Param({ "100", "1000000000" })
+	public int bound;
+	
+	@Param({ "space", "comma", "whitespace" })
+	public String style;
+	
+	private String text;
+	
+	private PathAnalyzer analyzer;
+	
+	@Setup
+	public void setUp() {
+		Random random = new Random(depth ^ bound);
+		StringBuilder builder = new StringBuilder();
+		for(int i = 0; i < ROWS; i++) {
+			TriangleData.appendRow(depth, bound, style, random, builder);
+		}
+		text = builder.toString();
+		analyzer = new PathAnalyzer(new PrintStream(System.out), new PrintStream(System.err));
+	}
+	
+	@Benchmark
+	public void getNext(Blackhole blackhole) throws IOException {
+		BufferedReader reader = new BufferedReader(new StringReader(text));
+		String line;
+		while((line = analyzer.getNext(reader)) != null) {
+			blackhole.consume(line);
+		}
+	}
+}
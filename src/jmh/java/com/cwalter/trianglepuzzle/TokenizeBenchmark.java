@@ -0,0 +1,81 @@
+package com.cwalter.trianglepuzzle;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tokenizes a single row as wide as the bottom row of a triangle of the given depth, both from
+ * raw bytes as the channel readers do and from a String as the reader API does, against the
+ * split and parseInt approach the tokenizer replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizeBenchmark {
+	
+	@Param({ "1000", "10000", "100000" })
+	public int depth;
+	
+	@Param({ "100", "1000000000" })
+	public int bound;
+	
+	@Param({ "space", "comma", "whitespace" })
+	public String style;
+	
+	private String line;
+	
+	private ByteBuffer bytes;
+	
+	private String delimeter;
+	
+	private RowTokenizer tokenizer;
+	
+	private int[] values;
+	
+	@Setup
+	public void setUp() {
+		StringBuilder builder = new StringBuilder();
+		TriangleData.appendRow(depth, bound, style, new Random(depth ^ bound), builder);
+		line = builder.toString().trim();
+		bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+		delimeter = TriangleData.delimeter(style);
+		tokenizer = new RowTokenizer(delimeter);
+		values = new int[depth];
+	}
+	
+	@Benchmark
+	public int parseBytes() {
+		return tokenizer.parse(bytes, 0, bytes.limit());
+	}
+	
+	@Benchmark
+	public int parseString() {
+		return tokenizer.parse(line);
+	}
+	
+	@Benchmark
+	public int splitAndParseInt() {
+		String[] tokens = line.split(delimeter);
+		for(int i = 0; i < tokens.length; i++) {
+			values[i] = Integer.parseInt(tokens[i].trim());
+		}
+		return tokens.length;
+	}
+}
@@ -0,0 +1,91 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Deterministic triangle text shared by the benchmarks.
+ */
+final class TriangleData {
+	
+	private TriangleData() {
+	}
+	
+	/**
+	 * @param style Delimeter style, one of space, comma or whitespace.
+	 * @return Delimeter the text written in that style is split on.
+	 */
+	static String delimeter(String style) {
+		switch(style) {
+			case "space":
+				return " ";
+			case "comma":
+				return ",";
+			case "whitespace":
+				return "\\s+";
+			default:
+				throw new IllegalArgumentException("Unknown delimeter style '" + style + "'.");
+		}
+	}
+	
+	/**
+	 * @param width Number of values in the row.
+	 * @param bound Values are drawn from 0 up to but not including the bound.
+	 * @param style Delimeter style, one of space, comma or whitespace.
+	 * @param random Source of values.
+	 * @param text Builder the row is appended to, followed by a line terminator.
+	 */
+	static void appendRow(int width, int bound, String style, Random random, StringBuilder text) {
+		for(int i = 0; i < width; i++) {
+			if(i > 0) {
+				switch(style) {
+					case "comma":
+						text.append(',');
+						break;
+					case "whitespace":
+						//Runs of mixed whitespace, as produced by hand edited files.
+						text.append((i & 3) == 0 ? "\t " : " ");
+						break;
+					default:
+						text.append(' ');
+				}
+			}
+			text.append(random.nextInt(bound));
+		}
+		text.append('\n');
+	}
+	
+	/**
+	 * Writes a whole triangle a row at a time, so only one row is held in memory.
+	 * 
+	 * @param rows Number of rows, each one wider than the last.
+	 * @param bound Values are drawn from 0 up to but not including the bound.
+	 * @param style Delimeter style, one of space, comma or whitespace.
+	 * @param out Writer the text is written to.
+	 * @throws IOException thrown if there is an error writing.
+	 */
+	static void write(int rows, int bound, String style, Writer out) throws IOException {
+		Random random = new Random(rows ^ bound);
+		StringBuilder text = new StringBuilder();
+		for(int row = 1; row <= rows; row++) {
+			text.setLength(0);
+			appendRow(row, bound, style, random, text);
+			out.append(text);
+		}
+	}
+	
+	/**
+	 * @param width Number of values in the row.
+	 * @param bound Values are drawn from 0 up to but not including the bound.
+	 * @return Values of a single row.
+	 */
+	static int[] values(int width, int bound) {
+		Random random = new Random(width ^ bound);
+		int[] values = new int[width];
+		for(int i = 0; i < width; i++) {
+			values[i] = random.nextInt(bound);
+		}
+		return values;
+	}
+}
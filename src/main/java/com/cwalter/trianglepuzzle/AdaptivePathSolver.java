@@ -0,0 +1,266 @@
+package com.cwalter.trianglepuzzle;
+
+import java.math.BigInteger;
+
+/**
+ * Solver which never overflows. Paths are accumulated in int lanes while they fit, moved to
+ * long lanes by the first row that would overflow an int, and to BigInteger only once a row
+ * would overflow a long. Triangles with small values stay on the cheap int path for their
+ * whole run.
+ *
+ * Overflow is detected while a row is computed rather than predicted, so a row that overflows
+ * is simply computed again from the untouched previous row at the wider width.
+ */
+public class AdaptivePathSolver implements PathSolver {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private int[] previousInts;
+	
+	private int[] currentInts;
+	
+	private long[] previousLongs;
+	
+	private long[] currentLongs;
+	
+	private BigInteger[] previousBigs;
+	
+	private BigInteger[] currentBigs;
+	
+	private int width;
+	
+	public AdaptivePathSolver() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * @param capacity Widest row expected. Buffers grow if a wider row is added.
+	 */
+	public AdaptivePathSolver(int capacity) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+		
+		previousInts = new int[capacity];
+		currentInts = new int[capacity];
+	}
+	
+	/**
+	 * @return Number of bits in each lane currently used to accumulate paths, 32 or 64,
+	 * or 0 once paths are accumulated as BigIntegers.
+	 */
+	public int getLaneWidth() {
+		if(previousBigs != null) {
+			return 0;
+		}
+		return previousLongs != null ? 64 : 32;
+	}
+	
+	@Override
+	public void addRow(int[] values, int width) {
+		if(this.width == 0) {
+			previousInts[0] = values[0];
+			this.width = width;
+			return;
+		}
+		
+		if(previousBigs != null) {
+			addBigRow(values, width);
+		} else if(previousLongs != null) {
+			addLongRow(values, width);
+		} else {
+			addIntRow(values, width);
+		}
+		this.width = width;
+	}
+	
+	private void addIntRow(int[] values, int width) {
+		if(width > currentInts.length) {
+			int[] grown = new int[capacityFor(width, currentInts.length)];
+			System.arraycopy(previousInts, 0, grown, 0, this.width);
+			previousInts = grown;
+			currentInts = new int[grown.length];
+		}
+		
+		int[] previous = previousInts;
+		int[] current = currentInts;
+		int value;
+		int parent;
+		int sum;
+		//Sign bit is set if any addition overflowed.
+		int overflow;
+		
+		//A missing parent on the edges counts as 0, so edges never take a negative parent.
+		value = values[0];
+		parent = Math.max(previous[0], 0);
+		sum = value + parent;
+		overflow = (value ^ sum) & (parent ^ sum);
+		current[0] = sum;
+		overflow |= computeIntRange(previous, current, values, 1, width - 1);
+		value = values[width - 1];
+		parent = Math.max(previous[width - 2], 0);
+		sum = value + parent;
+		overflow |= (value ^ sum) & (parent ^ sum);
+		current[width - 1] = sum;
+		
+		if(overflow < 0) {
+			previousLongs = new long[previous.length];
+			for(int i = 0; i < this.width; i++) {
+				previousLongs[i] = previous[i];
+			}
+			currentLongs = new long[previous.length];
+			previousInts = null;
+			currentInts = null;
+			addLongRow(values, width);
+			return;
+		}
+		
+		previousInts = current;
+		currentInts = previous;
+	}
+	
+	private void addLongRow(int[] values, int width) {
+		if(width > currentLongs.length) {
+			long[] grown = new long[capacityFor(width, currentLongs.length)];
+			System.arraycopy(previousLongs, 0, grown, 0, this.width);
+			previousLongs = grown;
+			currentLongs = new long[grown.length];
+		}
+		
+		long[] previous = previousLongs;
+		long[] current = currentLongs;
+		long value;
+		long parent;
+		long sum;
+		//Sign bit is set if any addition overflowed.
+		long overflow;
+		
+		value = values[0];
+		parent = Math.max(previous[0], 0);
+		sum = value + parent;
+		overflow = (value ^ sum) & (parent ^ sum);
+		current[0] = sum;
+		overflow |= computeLongRange(previous, current, values, 1, width - 1);
+		value = values[width - 1];
+		parent = Math.max(previous[width - 2], 0);
+		sum = value + parent;
+		overflow |= (value ^ sum) & (parent ^ sum);
+		current[width - 1] = sum;
+		
+		if(overflow < 0) {
+			previousBigs = new BigInteger[previous.length];
+			for(int i = 0; i < this.width; i++) {
+				previousBigs[i] = BigInteger.valueOf(previous[i]);
+			}
+			currentBigs = new BigInteger[previous.length];
+			previousLongs = null;
+			currentLongs = null;
+			addBigRow(values, width);
+			return;
+		}
+		
+		previousLongs = current;
+		currentLongs = previous;
+	}
+	
+	/**
+	 * Fills current for the interior positions from start up to but not including end.
+	 * 
+	 * @return Value whose sign bit is set if any position overflowed.
+	 */
+	protected int computeIntRange(int[] previous, int[] current, int[] values, int start, int end) {
+		int value;
+		int parent;
+		int sum;
+		int overflow = 0;
+		for(int i = start; i < end; i++) {
+			value = values[i];
+			parent = Math.max(previous[i - 1], previous[i]);
+			sum = value + parent;
+			overflow |= (value ^ sum) & (parent ^ sum);
+			current[i] = sum;
+		}
+		return overflow;
+	}
+	
+	/**
+	 * Fills current for the interior positions from start up to but not including end.
+	 * 
+	 * @return Value whose sign bit is set if any position overflowed.
+	 */
+	protected long computeLongRange(long[] previous, long[] current, int[] values, int start, int end) {
+		long value;
+		long parent;
+		long sum;
+		long overflow = 0;
+		for(int i = start; i < end; i++) {
+			value = values[i];
+			parent = Math.max(previous[i - 1], previous[i]);
+			sum = value + parent;
+			overflow |= (value ^ sum) & (parent ^ sum);
+			current[i] = sum;
+		}
+		return overflow;
+	}
+	
+	private void addBigRow(int[] values, int width) {
+		if(width > currentBigs.length) {
+			BigInteger[] grown = new BigInteger[capacityFor(width, currentBigs.length)];
+			System.arraycopy(previousBigs, 0, grown, 0, this.width);
+			previousBigs = grown;
+			currentBigs = new BigInteger[grown.length];
+		}
+		
+		BigInteger[] previous = previousBigs;
+		BigInteger[] current = currentBigs;
+		current[0] = previous[0].max(BigInteger.ZERO).add(BigInteger.valueOf(values[0]));
+		for(int i = 1; i < width - 1; i++) {
+			current[i] = previous[i - 1].max(previous[i]).add(BigInteger.valueOf(values[i]));
+		}
+		current[width - 1] = previous[width - 2].max(BigInteger.ZERO).add(BigInteger.valueOf(values[width - 1]));
+		
+		previousBigs = current;
+		currentBigs = previous;
+	}
+	
+	private static int capacityFor(int width, int capacity) {
+		while(capacity < width) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+	
+	@Override
+	public long getMaxPath() {
+		if(previousBigs != null) {
+			return getExactMaxPath().longValueExact();
+		}
+		
+		long maxPath;
+		if(previousLongs != null) {
+			maxPath = previousLongs[0];
+			for(int i = 1; i < width; i++) {
+				maxPath = Math.max(maxPath, previousLongs[i]);
+			}
+		} else {
+			maxPath = previousInts[0];
+			for(int i = 1; i < width; i++) {
+				maxPath = Math.max(maxPath, previousInts[i]);
+			}
+		}
+		return maxPath;
+	}
+	
+	@Override
+	public BigInteger getExactMaxPath() {
+		if(previousBigs == null) {
+			return BigInteger.valueOf(getMaxPath());
+		}
+		
+		BigInteger maxPath = previousBigs[0];
+		for(int i = 1; i < width; i++) {
+			maxPath = maxPath.max(previousBigs[i]);
+		}
+		return maxPath;
+	}
+}
@@ -0,0 +1,342 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes many files concurrently in a single JVM. Each file runs on its own virtual thread
+ * when the JVM supports them, otherwise on a pool sized to the number of files allowed open.
+ *
+ * The number of files open at once and the estimated memory of the solves in flight are
+ * both capped. Results are reported in the order the files were given and a file which
+ * fails does not stop the others.
+ */
+public class BatchAnalyzer {
+	
+	private static final String GLOB_CHARACTERS = "*?[{";
+	
+	private static final long BUFFER_BYTES = 64 * 1024;
+	
+	//Ints for the parsed row plus two lanes of longs for the recurrence.
+	private static final long BYTES_PER_POSITION = 4 + 2 * 8;
+	
+	private final PrintStream out;
+	
+	private final PrintStream err;
+	
+	private final Supplier<? extends PathSolver> solvers;
+	
+	private final int maxOpenFiles;
+	
+	private final long maxMemory;
+	
+	private int pipelineDepth;
+	
+	private ResultCache resultCache;
+	
+	private SolveMetrics metrics;
+	
+	/**
+	 * @param out Stream results will be printed to.
+	 * @param err Stream errors will be printed to.
+	 * @param solvers Creates the solver used for each file.
+	 * @param maxOpenFiles Number of files which may be open at once.
+	 * @param maxMemory Estimated bytes which may be used by the solves in flight.
+	 */
+	public BatchAnalyzer(PrintStream out, PrintStream err, Supplier<? extends PathSolver> solvers, int maxOpenFiles, long maxMemory) {
+		if(out == null) {
+			throw new IllegalArgumentException("out cannot be null.");
+		}
+		
+		if(err == null) {
+			throw new IllegalArgumentException("err cannot be null");
+		}
+		
+		if(solvers == null) {
+			throw new IllegalArgumentException("solvers cannot be null");
+		}
+		
+		if(maxOpenFiles < 1) {
+			throw new IllegalArgumentException("maxOpenFiles must be positive.");
+		}
+		
+		if(maxMemory < 1) {
+			throw new IllegalArgumentException("maxMemory must be positive.");
+		}
+		
+		this.out = out;
+		this.err = err;
+		this.solvers = solvers;
+		this.maxOpenFiles = maxOpenFiles;
+		this.maxMemory = maxMemory;
+	}
+	
+	/**
+	 * @param pipelineDepth See {@link PathAnalyzer#setPipelineDepth(int)}.
+	 */
+	public void setPipelineDepth(int pipelineDepth) {
+		if(pipelineDepth < 0) {
+			throw new IllegalArgumentException("pipelineDepth cannot be negative.");
+		}
+		
+		this.pipelineDepth = pipelineDepth;
+	}
+	
+	/**
+	 * @param resultCache See {@link PathAnalyzer#setResultCache(ResultCache)}.
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
+	/**
+	 * @param metrics See {@link PathAnalyzer#setMetrics(SolveMetrics)}.
+	 */
+	public void setMetrics(SolveMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * Expands directories to the files directly inside them and glob patterns to the files they
+	 * match. Other inputs are kept as they are. Expanded files are sorted by name.
+	 * 
+	 * @param inputs File names, directory names or glob patterns.
+	 * @return Names of the files to analyze, in the order of the inputs.
+	 * @throws ProcessException thrown if a directory cannot be listed.
+	 */
+	public List<String> expand(List<String> inputs) throws ProcessException {
+		if(inputs == null) {
+			throw new IllegalArgumentException("Inputs cannot be null.");
+		}
+		
+		List<String> fileNames = new ArrayList<>();
+		for(String input : inputs) {
+			try {
+				if(isGlob(input)) {
+					fileNames.addAll(matchGlob(input));
+				} else if(new File(input).isDirectory()) {
+					fileNames.addAll(listDirectory(Paths.get(input)));
+				} else {
+					fileNames.add(input);
+				}
+			} catch(IOException ex) {
+				err.println("Unable to list '" + input + "' : " + ex.getMessage());
+				throw new ProcessException("Unable to list files.", ex);
+			}
+		}
+		return fileNames;
+	}
+	
+	private static boolean isGlob(String input) {
+		for(int i = 0; i < input.length(); i++) {
+			if(GLOB_CHARACTERS.indexOf(input.charAt(i)) != -1) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private static List<String> listDirectory(Path directory) throws IOException {
+		List<String> fileNames = new ArrayList<>();
+		try(DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+			for(Path file : files) {
+				if(Files.isRegularFile(file)) {
+					fileNames.add(file.toString());
+				}
+			}
+		}
+		Collections.sort(fileNames);
+		return fileNames;
+	}
+	
+	private static List<String> matchGlob(String pattern) throws IOException {
+		//Walk from the deepest directory which has no glob characters in its name.
+		String separator = File.separator;
+		int globStart = 0;
+		while(GLOB_CHARACTERS.indexOf(pattern.charAt(globStart)) == -1) {
+			globStart++;
+		}
+		int rootEnd = Math.max(pattern.lastIndexOf('/', globStart), pattern.lastIndexOf(separator, globStart));
+		Path root = rootEnd == -1 ? Paths.get("") : Paths.get(pattern.substring(0, rootEnd + 1));
+		
+		PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+		List<String> fileNames = new ArrayList<>();
+		if(!Files.isDirectory(root)) {
+			return fileNames;
+		}
+		
+		try(Stream<Path> files = Files.walk(root)) {
+			files.filter(Files::isRegularFile)
+				.filter(file -> matcher.matches(file))
+				.map(Path::toString)
+				.sorted()
+				.forEach(fileNames::add);
+		}
+		return fileNames;
+	}
+	
+	/**
+	 * Analyzes every file and prints the result of each one in order as soon as it and
+	 * every file before it have finished.
+	 * 
+	 * @param fileNames Names of the files to analyze.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @param mode How the files will be read.
+	 * @return Result of each file in the same order as fileNames.
+	 */
+	public List<BatchResult> analyze(List<String> fileNames, String delimeter, IngestionMode mode) {
+		if(fileNames == null) {
+			throw new IllegalArgumentException("FileNames cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(mode == null) {
+			throw new IllegalArgumentException("Mode cannot be null.");
+		}
+		
+		Semaphore openFiles = new Semaphore(maxOpenFiles);
+		//Permits are KB so large caps still fit in an int.
+		int memoryPermits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxMemory / 1024));
+		Semaphore memory = new Semaphore(memoryPermits);
+		
+		List<Future<BatchResult>> futures = new ArrayList<>(fileNames.size());
+		List<BatchResult> results = new ArrayList<>(fileNames.size());
+		ExecutorService executor = newExecutor();
+		try {
+			for(String fileName : fileNames) {
+				futures.add(executor.submit(() -> analyze(fileName, delimeter, mode, openFiles, memory, memoryPermits)));
+			}
+			
+			BatchResult result;
+			for(int i = 0; i < futures.size(); i++) {
+				result = await(futures.get(i), fileNames.get(i));
+				printResult(result);
+				results.add(result);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
+	}
+	
+	private BatchResult analyze(String fileName, String delimeter, IngestionMode mode, Semaphore openFiles, Semaphore memory, int memoryPermits) throws InterruptedException {
+		int permits = (int) Math.min(memoryPermits, estimateMemory(new File(fileName).length()) / 1024 + 1);
+		ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+		PrintStream fileErr = newPrintStream(errorOutput);
+		PathAnalyzer analyzer = new PathAnalyzer(out, fileErr, solvers);
+		analyzer.setPipelineDepth(pipelineDepth);
+		analyzer.setResultCache(resultCache);
+		analyzer.setMetrics(metrics);
+		
+		memory.acquire(permits);
+		try {
+			openFiles.acquire();
+			try {
+				BigInteger maxPath = analyzer.getExactMaxPathFromFile(fileName, delimeter, mode);
+				return new BatchResult(fileName, maxPath, null, toString(errorOutput));
+			} catch(ProcessException ex) {
+				return new BatchResult(fileName, null, ex, toString(errorOutput));
+			} finally {
+				openFiles.release();
+			}
+		} finally {
+			memory.release(permits);
+		}
+	}
+	
+	/**
+	 * A triangle of n rows holds n(n+1)/2 values taking at least 2 bytes each, so its widest
+	 * row has at most about sqrt(size) positions.
+	 * 
+	 * @param size Size of the file in bytes.
+	 * @return Estimated bytes used while solving the file.
+	 */
+	static long estimateMemory(long size) {
+		return BUFFER_BYTES + BYTES_PER_POSITION * ((long) Math.sqrt((double) size) + 1);
+	}
+	
+	private BatchResult await(Future<BatchResult> future, String fileName) {
+		try {
+			return future.get();
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return new BatchResult(fileName, null, new ProcessException("Interrupted while analyzing file.", ex), "");
+		} catch(ExecutionException ex) {
+			Exception cause = ex.getCause() instanceof Exception ? (Exception) ex.getCause() : ex;
+			return new BatchResult(fileName, null, new ProcessException("Unexpected error analyzing file.", cause), "");
+		}
+	}
+	
+	/**
+	 * @param result Result to print to out, or to err if the file failed.
+	 */
+	public void printResult(BatchResult result) {
+		if(result == null) {
+			throw new IllegalArgumentException("Result cannot be null.");
+		}
+		
+		err.print(result.getErrorOutput());
+		if(!result.isSuccess()) {
+			err.println(result.getFileName() + ": " + result.getError().getMessage());
+		} else if(result.getMaxPath().equals(BigInteger.valueOf(-1))) {
+			err.println(result.getFileName() + ": Error encountered while evaluating max path.");
+		} else {
+			out.println(result.getFileName() + ": Max path of '" + result.getMaxPath() + "' found");
+		}
+	}
+	
+	private static PrintStream newPrintStream(ByteArrayOutputStream bytes) {
+		try {
+			return new PrintStream(bytes, true, "UTF-8");
+		} catch(UnsupportedEncodingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+	
+	private static String toString(ByteArrayOutputStream bytes) {
+		try {
+			return bytes.toString("UTF-8");
+		} catch(UnsupportedEncodingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+	
+	/**
+	 * Uses a virtual thread per file when the JVM has them. Files waiting for a permit then
+	 * cost almost nothing, so every file can be submitted up front.
+	 */
+	private ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch(ReflectiveOperationException ex) {
+			return Executors.newFixedThreadPool(maxOpenFiles, runnable -> {
+				Thread thread = new Thread(runnable, "TrianglePuzzle-batch");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+}
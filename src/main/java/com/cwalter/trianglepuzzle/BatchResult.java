@@ -0,0 +1,58 @@
+package com.cwalter.trianglepuzzle;
+
+import java.math.BigInteger;
+
+/**
+ * Outcome of analyzing one file of a batch. Either the max path or the error is set.
+ */
+public class BatchResult {
+	
+	private final String fileName;
+	
+	private final BigInteger maxPath;
+	
+	private final ProcessException error;
+	
+	private final String errorOutput;
+	
+	/**
+	 * @param fileName Name of the file analyzed.
+	 * @param maxPath Max path of the file, null if it could not be analyzed.
+	 * @param error Error which stopped the file from being analyzed, null if it was analyzed.
+	 * @param errorOutput Anything written to the error stream while analyzing the file.
+	 */
+	public BatchResult(String fileName, BigInteger maxPath, ProcessException error, String errorOutput) {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if((maxPath == null) == (error == null)) {
+			throw new IllegalArgumentException("Exactly one of maxPath and error must be set.");
+		}
+		
+		this.fileName = fileName;
+		this.maxPath = maxPath;
+		this.error = error;
+		this.errorOutput = errorOutput == null ? "" : errorOutput;
+	}
+	
+	public String getFileName() {
+		return fileName;
+	}
+	
+	public BigInteger getMaxPath() {
+		return maxPath;
+	}
+	
+	public ProcessException getError() {
+		return error;
+	}
+	
+	public String getErrorOutput() {
+		return errorOutput;
+	}
+	
+	public boolean isSuccess() {
+		return error == null;
+	}
+}
@@ -0,0 +1,19 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * How the values of each block of a binary triangle file are stored.
+ */
+public enum BinaryEncoding {
+	
+	/**
+	 * Little endian values of 1, 2 or 4 bytes, the narrowest that fits every value of the block.
+	 * Loads with bulk copies.
+	 */
+	FIXED,
+	
+	/**
+	 * Difference from the previous value of the row, zig-zag encoded as a varint. Smallest for
+	 * triangles whose neighbouring values are close together.
+	 */
+	DELTA_VARINT
+}
@@ -0,0 +1,198 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Supplies the rows of a file in the binary triangle format described by
+ * {@link BinaryTriangleFormat}. Each block is checked against its checksum as it is read, then
+ * fixed width values are copied out in bulk without any parsing.
+ */
+public class BinaryRowReader extends RowReader {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private final ReadableByteChannel channel;
+	
+	private final long rowCount;
+	
+	private final ByteBuffer blockHeader = ByteBuffer.allocate(BinaryTriangleFormat.BLOCK_HEADER_SIZE).order(BinaryTriangleFormat.ORDER);
+	
+	private final CRC32 crc = new CRC32();
+	
+	private ByteBuffer block = ByteBuffer.allocate(0);
+	
+	private IntBuffer blockInts;
+	
+	private int blockWidth;
+	
+	private int blockRows;
+	
+	private long rowsRead;
+	
+	private int[] values = new int[DEFAULT_CAPACITY];
+	
+	/**
+	 * @param channel Input positioned at the start of the header. Closed with the reader.
+	 * @throws IOException thrown if the header cannot be read or is not a supported header.
+	 */
+	public BinaryRowReader(ReadableByteChannel channel) throws IOException {
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		this.channel = channel;
+		ByteBuffer header = ByteBuffer.allocate(BinaryTriangleFormat.HEADER_SIZE).order(BinaryTriangleFormat.ORDER);
+		if(!readFully(header)) {
+			throw new IOException("Binary triangle header is truncated.");
+		}
+		
+		if(header.getInt(0) != BinaryTriangleFormat.MAGIC) {
+			throw new IOException("Input is not a binary triangle file.");
+		}
+		
+		if(header.get(4) != BinaryTriangleFormat.VERSION) {
+			throw new IOException("Unsupported binary triangle version " + header.get(4) + ".");
+		}
+		this.rowCount = header.getLong(8);
+	}
+	
+	/**
+	 * @return Number of rows recorded in the header.
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+	
+	@Override
+	public int nextRow() throws IOException {
+		if(blockRows == 0 && !readBlock()) {
+			if(rowsRead != rowCount) {
+				throw new IOException("Binary triangle file is truncated after " + rowsRead + " of " + rowCount + " rows.");
+			}
+			return -1;
+		}
+		
+		int width = (int) ++rowsRead;
+		if(width > values.length) {
+			int capacity = values.length;
+			while(capacity < width) {
+				capacity <<= 1;
+			}
+			values = new int[capacity];
+		}
+		
+		if(blockWidth == 4) {
+			blockInts.get(values, 0, width);
+		} else if(blockWidth == 2) {
+			for(int i = 0; i < width; i++) {
+				values[i] = block.getShort();
+			}
+		} else if(blockWidth == 1) {
+			for(int i = 0; i < width; i++) {
+				values[i] = block.get();
+			}
+		} else {
+			decodeVarints(width);
+		}
+		
+		if(--blockRows == 0 && (blockWidth == 4 ? blockInts.hasRemaining() : block.hasRemaining())) {
+			throw new IOException("Binary triangle block ending at row " + rowsRead + " has trailing bytes.");
+		}
+		return width;
+	}
+	
+	private void decodeVarints(int width) throws IOException {
+		byte[] bytes = block.array();
+		int position = block.position();
+		int limit = block.limit();
+		long previous = 0;
+		long zigZag;
+		int shift;
+		byte b;
+		for(int i = 0; i < width; i++) {
+			zigZag = 0;
+			shift = 0;
+			do {
+				if(position == limit || shift > 28) {
+					throw new IOException("Binary triangle block has a malformed value in row " + rowsRead + ".");
+				}
+				b = bytes[position++];
+				zigZag |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			} while(b < 0);
+			previous += (zigZag >>> 1) ^ -(zigZag & 1);
+			values[i] = (int) previous;
+		}
+		block.position(position);
+	}
+	
+	private boolean readBlock() throws IOException {
+		blockHeader.clear();
+		if(!readFully(blockHeader)) {
+			if(blockHeader.position() == 0) {
+				return false;
+			}
+			throw new IOException("Binary triangle block header is truncated after row " + rowsRead + ".");
+		}
+		
+		int rows = blockHeader.getInt(0);
+		int length = blockHeader.getInt(4);
+		int width = blockHeader.get(8);
+		int checksum = blockHeader.getInt(9);
+		if(rows < 1 || length < 0 || rowsRead + rows > rowCount || (width != 0 && width != 1 && width != 2 && width != 4)) {
+			throw new IOException("Binary triangle block header after row " + rowsRead + " is corrupt.");
+		}
+		
+		if(block.capacity() < length) {
+			block = ByteBuffer.allocate(length).order(BinaryTriangleFormat.ORDER);
+		}
+		block.clear();
+		block.limit(length);
+		if(!readFully(block)) {
+			throw new IOException("Binary triangle block is truncated after row " + rowsRead + ".");
+		}
+		block.flip();
+		
+		crc.reset();
+		crc.update(block.array(), 0, length);
+		if((int) crc.getValue() != checksum) {
+			throw new IOException("Binary triangle block after row " + rowsRead + " does not match its checksum.");
+		}
+		
+		//Fixed width blocks must hold exactly the values of their rows.
+		if(width != 0) {
+			long count = rows * rowsRead + (long) rows * (rows + 1) / 2;
+			if(count * width != length) {
+				throw new IOException("Binary triangle block after row " + rowsRead + " has the wrong length.");
+			}
+		}
+		
+		blockWidth = width;
+		blockRows = rows;
+		blockInts = width == 4 ? block.asIntBuffer() : null;
+		return true;
+	}
+	
+	private boolean readFully(ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			if(channel.read(buffer) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	@Override
+	public int[] getRow() {
+		return values;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
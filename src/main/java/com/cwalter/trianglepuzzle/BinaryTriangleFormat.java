@@ -0,0 +1,47 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Layout of the binary triangle format written by {@link BinaryTriangleWriter} and read by
+ * {@link BinaryRowReader}. All numbers are little endian.
+ *
+ * The 16 byte header holds the magic bytes 0x89 'T' 'R' 'I', the version, the
+ * {@link BinaryEncoding} ordinal, the width in bytes of the widest value, a reserved byte and
+ * the number of rows as a long. Rows follow in blocks of whole rows, each starting with the
+ * number of rows, the payload length, the fixed value width or 0 for varints and the CRC32 of
+ * the payload. The width of a row is always its index plus one so it is never stored.
+ */
+public final class BinaryTriangleFormat {
+	
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+	
+	static final int MAGIC = 0x49525489;
+	
+	static final byte VERSION = 1;
+	
+	static final int HEADER_SIZE = 16;
+	
+	static final int BLOCK_HEADER_SIZE = 13;
+	
+	private BinaryTriangleFormat() {
+	}
+	
+	/**
+	 * Checks the header of a file without moving its position.
+	 * 
+	 * @param channel File to check.
+	 * @return True if the file starts with the binary triangle magic bytes.
+	 * @throws IOException thrown if the header cannot be read.
+	 */
+	public static boolean isBinary(FileChannel channel) throws IOException {
+		ByteBuffer magic = ByteBuffer.allocate(4).order(ORDER);
+		long position = channel.position();
+		while(magic.hasRemaining() && channel.read(magic, position + magic.position()) > 0) {
+		}
+		return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+	}
+}
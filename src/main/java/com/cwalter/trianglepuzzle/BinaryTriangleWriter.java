@@ -0,0 +1,264 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Writes rows to a file in the binary triangle format described by
+ * {@link BinaryTriangleFormat}. Rows are staged until a block is full, so the header's row
+ * count and value width are only correct once the writer is closed.
+ */
+public class BinaryTriangleWriter implements Closeable {
+	
+	private static final int BLOCK_VALUES = 256 * 1024;
+	
+	private final FileChannel channel;
+	
+	private final BinaryEncoding encoding;
+	
+	private final long start;
+	
+	private final CRC32 crc = new CRC32();
+	
+	private int[] staged = new int[BLOCK_VALUES];
+	
+	private int stagedCount;
+	
+	private int stagedRows;
+	
+	private ByteBuffer payload = ByteBuffer.allocate(BLOCK_VALUES * 4).order(BinaryTriangleFormat.ORDER);
+	
+	private long rowCount;
+	
+	private int valueWidth = 1;
+	
+	/**
+	 * @param channel File to write to, starting at its current position. Closed with the writer.
+	 * @param encoding How values are stored.
+	 * @throws IOException thrown if the header cannot be written.
+	 */
+	public BinaryTriangleWriter(FileChannel channel, BinaryEncoding encoding) throws IOException {
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		if(encoding == null) {
+			throw new IllegalArgumentException("Encoding cannot be null.");
+		}
+		
+		this.channel = channel;
+		this.encoding = encoding;
+		this.start = channel.position();
+		writeHeader();
+		channel.position(start + BinaryTriangleFormat.HEADER_SIZE);
+	}
+	
+	/**
+	 * Converts a whitespace delimited text file to the binary format. The binary file is written
+	 * next to its destination and only moved into place once every row converted, so a failed
+	 * conversion never leaves a complete looking file holding part of the triangle.
+	 * 
+	 * @param textFileName Name of the text file.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @param binaryFileName Name of the file to write, replaced if it exists.
+	 * @param encoding How values are stored.
+	 * @return Number of rows converted.
+	 * @throws IOException thrown if there is an error reading or writing either file.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 */
+	public static long convert(String textFileName, String delimeter, String binaryFileName, BinaryEncoding encoding) throws IOException, NumberFormatException {
+		Path target = Paths.get(binaryFileName).toAbsolutePath();
+		Path temp = Files.createTempFile(target.getParent(), target.getFileName() + ".", ".tmp");
+		try {
+			long rowCount;
+			try(RowReader rows = new ChannelRowReader(InputChannels.open(textFileName), delimeter);
+					BinaryTriangleWriter writer = open(temp, encoding)) {
+				int width;
+				while((width = rows.nextRow()) != -1) {
+					writer.addRow(rows.getRow(), width);
+				}
+				rowCount = writer.getRowCount();
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return rowCount;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	private static BinaryTriangleWriter open(Path file, BinaryEncoding encoding) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			return new BinaryTriangleWriter(channel, encoding);
+		} catch(IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * @param values Values of the row, only the first width are used.
+	 * @param width Number of values in the row, always one more than the last row.
+	 * @throws IOException thrown if a full block cannot be written.
+	 */
+	public void addRow(int[] values, int width) throws IOException {
+		if(values == null) {
+			throw new IllegalArgumentException("Values cannot be null.");
+		}
+		
+		if(width != rowCount + 1 || width > values.length) {
+			throw new IllegalArgumentException("Row does not expand by one record per row as expected.");
+		}
+		
+		if(stagedRows > 0 && stagedCount + width > staged.length) {
+			writeBlock();
+		}
+		
+		if(width > staged.length) {
+			staged = new int[width];
+		}
+		System.arraycopy(values, 0, staged, stagedCount, width);
+		stagedCount += width;
+		stagedRows++;
+		rowCount++;
+	}
+	
+	/**
+	 * @return Number of rows added.
+	 */
+	public long getRowCount() {
+		return rowCount;
+	}
+	
+	private void writeBlock() throws IOException {
+		int blockWidth = encoding == BinaryEncoding.FIXED ? fixedWidth() : 0;
+		int capacity = blockWidth == 0 ? stagedCount * 5 : stagedCount * blockWidth;
+		if(payload.capacity() < capacity) {
+			payload = ByteBuffer.allocate(capacity).order(BinaryTriangleFormat.ORDER);
+		}
+		payload.clear();
+		
+		if(blockWidth == 4) {
+			payload.asIntBuffer().put(staged, 0, stagedCount);
+			payload.position(stagedCount * 4);
+		} else if(blockWidth == 2) {
+			for(int i = 0; i < stagedCount; i++) {
+				payload.putShort((short) staged[i]);
+			}
+		} else if(blockWidth == 1) {
+			for(int i = 0; i < stagedCount; i++) {
+				payload.put((byte) staged[i]);
+			}
+		} else {
+			encodeVarints();
+		}
+		payload.flip();
+		
+		crc.reset();
+		crc.update(payload.array(), 0, payload.limit());
+		ByteBuffer header = ByteBuffer.allocate(BinaryTriangleFormat.BLOCK_HEADER_SIZE).order(BinaryTriangleFormat.ORDER);
+		header.putInt(stagedRows).putInt(payload.limit()).put((byte) blockWidth).putInt((int) crc.getValue());
+		header.flip();
+		writeFully(header);
+		writeFully(payload);
+		
+		stagedCount = 0;
+		stagedRows = 0;
+	}
+	
+	private int fixedWidth() {
+		int min = 0;
+		int max = 0;
+		for(int i = 0; i < stagedCount; i++) {
+			min = Math.min(min, staged[i]);
+			max = Math.max(max, staged[i]);
+		}
+		
+		int width;
+		if(min >= Byte.MIN_VALUE && max <= Byte.MAX_VALUE) {
+			width = 1;
+		} else if(min >= Short.MIN_VALUE && max <= Short.MAX_VALUE) {
+			width = 2;
+		} else {
+			width = 4;
+		}
+		valueWidth = Math.max(valueWidth, width);
+		return width;
+	}
+	
+	private void encodeVarints() {
+		byte[] bytes = payload.array();
+		int position = 0;
+		int index = 0;
+		int max = 0;
+		int min = 0;
+		long previous;
+		long delta;
+		long zigZag;
+		for(long row = rowCount - stagedRows + 1; index < stagedCount; row++) {
+			previous = 0;
+			for(int i = 0; i < row; i++) {
+				min = Math.min(min, staged[index]);
+				max = Math.max(max, staged[index]);
+				delta = staged[index] - previous;
+				previous = staged[index++];
+				zigZag = (delta << 1) ^ (delta >> 63);
+				while(zigZag > 0x7F) {
+					bytes[position++] = (byte) (zigZag | 0x80);
+					zigZag >>>= 7;
+				}
+				bytes[position++] = (byte) zigZag;
+			}
+		}
+		payload.position(position);
+		
+		if(min < Short.MIN_VALUE || max > Short.MAX_VALUE) {
+			valueWidth = 4;
+		} else if(min < Byte.MIN_VALUE || max > Byte.MAX_VALUE) {
+			valueWidth = Math.max(valueWidth, 2);
+		}
+	}
+	
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(BinaryTriangleFormat.HEADER_SIZE).order(BinaryTriangleFormat.ORDER);
+		header.putInt(BinaryTriangleFormat.MAGIC).put(BinaryTriangleFormat.VERSION).put((byte) encoding.ordinal())
+				.put((byte) valueWidth).put((byte) 0).putLong(rowCount);
+		header.flip();
+		while(header.hasRemaining()) {
+			channel.write(header, start + header.position());
+		}
+	}
+	
+	private void writeFully(ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+	
+	/**
+	 * Writes the last block and completes the header.
+	 */
+	@Override
+	public void close() throws IOException {
+		if(!channel.isOpen()) {
+			return;
+		}
+		
+		try {
+			if(stagedRows > 0) {
+				writeBlock();
+			}
+			writeHeader();
+		} finally {
+			channel.close();
+		}
+	}
+}
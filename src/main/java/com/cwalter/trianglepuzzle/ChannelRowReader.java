@@ -0,0 +1,129 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Reads rows from raw bytes without decoding them into characters first.
+ * Lines may be terminated by '\n', '\r' or both.
+ */
+public class ChannelRowReader extends RowReader {
+
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	
+	private final ReadableByteChannel channel;
+	
+	private ByteBuffer buffer;
+	
+	private long bufferStart;
+	
+	private int position;
+	
+	private int limit;
+	
+	private boolean endOfInput;
+	
+	/**
+	 * @param in Stream the rows will be read from.
+	 * @param delimeter Value that we should be splitting each line on.
+	 */
+	public ChannelRowReader(InputStream in, String delimeter) {
+		this(in == null ? null : Channels.newChannel(in), delimeter);
+	}
+	
+	/**
+	 * Reading starts at the channel's current position, which positions reported by
+	 * {@link #getPosition()} are relative to if the channel is seekable.
+	 * 
+	 * @param channel Channel the rows will be read from.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @throws IllegalStateException thrown if the position of a seekable channel cannot be read.
+	 */
+	public ChannelRowReader(ReadableByteChannel channel, String delimeter) {
+		super(delimeter);
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+		if(channel instanceof SeekableByteChannel) {
+			try {
+				this.bufferStart = ((SeekableByteChannel) channel).position();
+			} catch(IOException ex) {
+				throw new IllegalStateException("Unable to read channel position.", ex);
+			}
+		}
+	}
+	
+	@Override
+	public int nextRow() throws IOException, NumberFormatException {
+		int width;
+		int lineEnd;
+		byte b;
+		while(true) {
+			lineEnd = position;
+			while(lineEnd < limit) {
+				b = buffer.get(lineEnd);
+				if(b == '\n' || b == '\r') {
+					break;
+				}
+				lineEnd++;
+			}
+			
+			if(lineEnd == limit && !endOfInput) {
+				fill();
+				continue;
+			}
+			
+			if(lineEnd == position && lineEnd == limit) {
+				return -1;
+			}
+			
+			width = tokenizer.parse(buffer, position, lineEnd);
+			position = lineEnd == limit ? limit : lineEnd + 1;
+			if(width > 0) {
+				return width;
+			}
+		}
+	}
+	
+	private void fill() throws IOException {
+		int remaining = limit - position;
+		if(position == 0 && limit == buffer.capacity()) {
+			//A single line is larger than the buffer.
+			ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() << 1);
+			buffer.position(0).limit(limit);
+			grown.put(buffer);
+			buffer = grown;
+		} else if(position > 0) {
+			buffer.position(position).limit(limit);
+			buffer.compact();
+			bufferStart += position;
+		}
+		
+		position = 0;
+		limit = remaining;
+		buffer.limit(buffer.capacity()).position(limit);
+		int read = channel.read(buffer);
+		if(read == -1) {
+			endOfInput = true;
+		} else {
+			limit += read;
+		}
+	}
+	
+	@Override
+	public long getPosition() {
+		return bufferStart + position;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
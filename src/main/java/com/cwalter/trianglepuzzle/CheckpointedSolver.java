@@ -0,0 +1,281 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Solves a file while periodically saving the state of the last row and the byte offset
+ * after it to a sidecar file next to the input. A run which is interrupted resumes from the
+ * last checkpoint, and a file which only had rows appended since it was last solved resumes
+ * from the end of the rows already solved.
+ *
+ * A checkpoint is trusted while the file keeps the size and modification time it was saved at.
+ * Otherwise, such as after rows were appended, the bytes before its offset are hashed again and
+ * must match the hash saved with it, which costs a read of them but no parsing. Anything else
+ * starts over from the first row. Sums are accumulated as longs.
+ *
+ * The hash is carried along as rows are solved, each checkpoint only hashes the bytes read since
+ * the one before it. A checkpoint which cannot be saved is reported and the solve carries on.
+ */
+public class CheckpointedSolver {
+	
+	private static final int MAGIC = 0x54434B50;
+	
+	private static final int VERSION = 2;
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private final PrintStream err;
+	
+	private final int checkpointRows;
+	
+	private int rowsResumed;
+	
+	private int rowsSolved;
+	
+	//Hash of the bytes before the last checkpoint, or the one resumed from.
+	private ContentHash.Digest digest;
+	
+	/**
+	 * @param err Stream errors will be printed to.
+	 * @param checkpointRows Number of rows solved between checkpoints. Each checkpoint writes the
+	 * whole last row so this is best kept near the width of the triangle or more.
+	 */
+	public CheckpointedSolver(PrintStream err, int checkpointRows) {
+		if(err == null) {
+			throw new IllegalArgumentException("err cannot be null");
+		}
+		
+		if(checkpointRows < 1) {
+			throw new IllegalArgumentException("CheckpointRows must be positive.");
+		}
+		
+		this.err = err;
+		this.checkpointRows = checkpointRows;
+	}
+	
+	/**
+	 * @param fileName Name of the input.
+	 * @return Sidecar file holding the checkpoint of the input.
+	 */
+	public static File sidecarFor(String fileName) {
+		return new File(fileName + ".ckpt");
+	}
+	
+	/**
+	 * @param fileName Name of the file we will be identifying the max path value of.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return The max path found in the file. -1 if an error is encountered.
+	 * @throws IOException thrown if there is an error reading the file.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 * @throws ArithmeticException thrown if the max path does not fit in a long.
+	 */
+	public long solve(String fileName, String delimeter) throws IOException, NumberFormatException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		File sidecar = sidecarFor(fileName);
+		rowsResumed = 0;
+		rowsSolved = 0;
+		try(FileChannel channel = new FileInputStream(fileName).getChannel()) {
+			TriangleStream stream = resume(fileName, sidecar, channel, delimeter);
+			rowsResumed = stream.getRowCount();
+			
+			try(RowReader rows = new ChannelRowReader(channel, delimeter)) {
+				int width;
+				int sinceCheckpoint = 0;
+				while((width = rows.nextRow()) != -1) {
+					if(stream.getRowCount() == 0 && width != 1) {
+						throw new NumberFormatException("First row must contain a single value.");
+					}
+					
+					try {
+						stream.push(rows.getRow(), width);
+					} catch(IllegalArgumentException ex) {
+						err.println("File does not expand by one record per row as expected.");
+						return -1;
+					}
+					rowsSolved++;
+					
+					if(++sinceCheckpoint == checkpointRows) {
+						save(fileName, sidecar, channel, rows.getPosition(), stream, delimeter);
+						sinceCheckpoint = 0;
+					}
+				}
+				
+				if(rowsSolved > 0 && sinceCheckpoint > 0) {
+					save(fileName, sidecar, channel, rows.getPosition(), stream, delimeter);
+				}
+			}
+			
+			if(stream.getRowCount() == 0) {
+				err.println("Reader has no content.");
+			}
+			return stream.getMaxPath();
+		}
+	}
+	
+	/**
+	 * @return Number of rows restored from a checkpoint by the last call to solve.
+	 */
+	public int getRowsResumed() {
+		return rowsResumed;
+	}
+	
+	/**
+	 * @return Number of rows read and solved by the last call to solve.
+	 */
+	public int getRowsSolved() {
+		return rowsSolved;
+	}
+	
+	/**
+	 * Restores the checkpoint of a file if it still applies, leaving the channel positioned at
+	 * the first row not yet solved.
+	 */
+	private TriangleStream resume(String fileName, File sidecar, FileChannel channel, String delimeter) throws IOException {
+		digest = new ContentHash.Digest();
+		if(!sidecar.isFile()) {
+			return new TriangleStream(delimeter);
+		}
+		
+		long offset;
+		long size;
+		long lastModified;
+		ContentHash.Digest saved;
+		long[] maxPaths;
+		CRC32 crc = new CRC32();
+		try(DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(new FileInputStream(sidecar)), crc))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION || !in.readUTF().equals(delimeter)) {
+				return new TriangleStream(delimeter);
+			}
+			
+			offset = in.readLong();
+			size = in.readLong();
+			lastModified = in.readLong();
+			saved = new ContentHash.Digest(in);
+			int width = in.readInt();
+			if(width < 0 || offset != saved.getLength()) {
+				return new TriangleStream(delimeter);
+			}
+			
+			maxPaths = new long[width];
+			for(int i = 0; i < width; i++) {
+				maxPaths[i] = in.readLong();
+			}
+			
+			long expected = crc.getValue();
+			if(in.readLong() != expected) {
+				err.println("Checkpoint '" + sidecar + "' is damaged, starting over.");
+				return new TriangleStream(delimeter);
+			}
+		} catch(IOException ex) {
+			err.println("Checkpoint '" + sidecar + "' is unreadable, starting over: " + ex.getMessage());
+			return new TriangleStream(delimeter);
+		}
+		
+		if(channel.size() < offset) {
+			return new TriangleStream(delimeter);
+		}
+		
+		if(channel.size() != size || new File(fileName).lastModified() != lastModified) {
+			ContentHash.Digest prefix = new ContentHash.Digest();
+			hash(channel, prefix, offset);
+			if(prefix.getValue() != saved.getValue()) {
+				return new TriangleStream(delimeter);
+			}
+		}
+		
+		digest = saved;
+		channel.position(offset);
+		return TriangleStream.restore(maxPaths, delimeter);
+	}
+	
+	private void save(String fileName, File sidecar, FileChannel channel, long offset, TriangleStream stream, String delimeter) throws IOException {
+		//The last row must be terminated, otherwise appended bytes could still belong to it.
+		ByteBuffer last = ByteBuffer.allocate(1);
+		if(offset == 0 || channel.read(last, offset - 1) != 1 || (last.get(0) != '\n' && last.get(0) != '\r')) {
+			return;
+		}
+		
+		hash(channel, digest, offset);
+		long size = channel.size();
+		long lastModified = new File(fileName).lastModified();
+		Path temp = null;
+		try {
+			temp = Files.createTempFile(sidecar.getAbsoluteFile().getParentFile().toPath(), sidecar.getName() + ".", ".tmp");
+			write(temp.toFile(), offset, size, lastModified, stream, delimeter);
+			Files.move(temp, sidecar.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(IOException ex) {
+			err.println("Unable to save checkpoint '" + sidecar + "': " + ex.getMessage());
+		} finally {
+			if(temp != null) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+	
+	private void write(File temp, long offset, long size, long lastModified, TriangleStream stream, String delimeter) throws IOException {
+		CRC32 crc = new CRC32();
+		FileOutputStream file = new FileOutputStream(temp);
+		try(DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(file), crc))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(delimeter);
+			out.writeLong(offset);
+			out.writeLong(size);
+			out.writeLong(lastModified);
+			digest.write(out);
+			long[] maxPaths = stream.getMaxPaths();
+			out.writeInt(maxPaths.length);
+			for(long maxPath : maxPaths) {
+				out.writeLong(maxPath);
+			}
+			out.flush();
+			out.writeLong(crc.getValue());
+			out.flush();
+			file.getFD().sync();
+		}
+	}
+	
+	/**
+	 * Adds the bytes of the channel from the length of the digest up to the offset to it.
+	 */
+	private static void hash(FileChannel channel, ContentHash.Digest digest, long offset) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		long position = digest.getLength();
+		while(position < offset) {
+			buffer.clear();
+			buffer.limit((int) Math.min(BUFFER_SIZE, offset - position));
+			int read = channel.read(buffer, position);
+			if(read == -1) {
+				throw new EOFException("File ended while hashing checkpointed rows.");
+			}
+			
+			buffer.flip();
+			digest.update(buffer);
+			position += read;
+		}
+	}
+}
@@ -0,0 +1,289 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parses a file on several threads at once by splitting it into byte ranges. A range owns every
+ * line which starts inside it, so ranges need no agreement beyond the bytes at their edges.
+ * Each range is parsed into a block of primitive rows and blocks are handed out in file order.
+ *
+ * Only a bounded number of blocks are parsed ahead of the caller, a new range is started each
+ * time the caller moves on to the next block.
+ */
+public class ChunkedRowReader extends RowReader {
+
+	public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+	
+	//Read past the end of a range, a piece at a time, to finish its last line.
+	private static final int OVERHANG_SIZE = 64 * 1024;
+	
+	private final FileChannel channel;
+	
+	private final String delimeter;
+	
+	private final long size;
+	
+	private final int chunkSize;
+	
+	private final ExecutorService executor;
+	
+	private final long firstChunk;
+	
+	private final ArrayDeque<Future<Block>> pending = new ArrayDeque<>();
+	
+	private long nextChunk;
+	
+	private Block block;
+	
+	private int blockRow;
+	
+	private int blockValue;
+	
+	private int[] row = new int[16];
+	
+	private long position;
+	
+	/**
+	 * Parses on every core with {@link #DEFAULT_CHUNK_SIZE} ranges.
+	 *
+	 * @param channel File the rows will be read from.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @throws IOException thrown if the size of the file cannot be read.
+	 */
+	public ChunkedRowReader(FileChannel channel, String delimeter) throws IOException {
+		this(channel, delimeter, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors() * 2);
+	}
+	
+	/**
+	 * @param channel File the rows will be read from, starting at its current position.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @param threads Number of ranges parsed at once.
+	 * @param chunkSize Number of bytes in each range.
+	 * @param maxBlocks Number of ranges parsed or being parsed ahead of the caller.
+	 * @throws IOException thrown if the size or position of the file cannot be read.
+	 */
+	public ChunkedRowReader(FileChannel channel, String delimeter, int threads, int chunkSize, int maxBlocks) throws IOException {
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(threads < 1) {
+			throw new IllegalArgumentException("Threads must be positive.");
+		}
+		
+		if(chunkSize < 1) {
+			throw new IllegalArgumentException("ChunkSize must be positive.");
+		}
+		
+		if(maxBlocks < 1) {
+			throw new IllegalArgumentException("MaxBlocks must be positive.");
+		}
+		
+		//Checked here so a bad delimeter is reported by the caller rather than a worker.
+		new RowTokenizer(delimeter);
+		this.channel = channel;
+		this.delimeter = delimeter;
+		this.size = channel.size();
+		this.chunkSize = chunkSize;
+		this.firstChunk = channel.position();
+		this.nextChunk = firstChunk;
+		this.position = firstChunk;
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "TrianglePuzzle-parser");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		for(int i = 0; i < maxBlocks; i++) {
+			submitNext();
+		}
+	}
+	
+	private void submitNext() {
+		if(nextChunk >= size) {
+			return;
+		}
+		
+		long start = nextChunk;
+		long end = Math.min(size, start + chunkSize);
+		nextChunk = end;
+		//The first range starts wherever the channel was, which is taken to be a line start.
+		pending.add(executor.submit(() -> parse(start, end, start == firstChunk)));
+	}
+	
+	@Override
+	public int nextRow() throws IOException, NumberFormatException {
+		while(block == null || blockRow == block.rows) {
+			Future<Block> next = pending.poll();
+			if(next == null) {
+				return -1;
+			}
+			
+			submitNext();
+			block = await(next);
+			blockRow = 0;
+			blockValue = 0;
+		}
+		
+		int width = block.widths[blockRow];
+		if(row.length < width) {
+			row = new int[Math.max(width, row.length << 1)];
+		}
+		System.arraycopy(block.values, blockValue, row, 0, width);
+		blockValue += width;
+		position = block.ends[blockRow];
+		blockRow++;
+		return width;
+	}
+	
+	private Block await(Future<Block> next) throws IOException {
+		try {
+			return next.get();
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the next rows.", ex);
+		} catch(ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException("Unable to parse rows.", cause);
+		}
+	}
+	
+	@Override
+	public int[] getRow() {
+		return row;
+	}
+	
+	@Override
+	public long getPosition() {
+		return position;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		executor.shutdownNow();
+		channel.close();
+	}
+	
+	/**
+	 * Parses every line which starts inside a range.
+	 */
+	private Block parse(long start, long end, boolean first) throws IOException {
+		//The byte before the range tells whether its first line starts inside it.
+		long from = first ? start : start - 1;
+		int rangeEnd = (int) (end - from);
+		byte[] bytes = new byte[rangeEnd];
+		int limit = read(bytes, 0, bytes.length, from);
+		int lineStart = 0;
+		if(!first) {
+			while(lineStart < limit && !isTerminator(bytes[lineStart])) {
+				lineStart++;
+			}
+			lineStart++;
+			
+			//A range inside a single long line owns nothing, so the rest of the line is not read.
+			if(lineStart >= Math.min(limit, rangeEnd)) {
+				return new Block();
+			}
+		}
+		
+		while(limit > 0 && !isTerminator(bytes[limit - 1]) && from + limit < size) {
+			if(limit + OVERHANG_SIZE > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(limit + OVERHANG_SIZE, bytes.length + (bytes.length >> 1)));
+			}
+			int read = read(bytes, limit, OVERHANG_SIZE, from + limit);
+			int terminator = limit;
+			limit += read;
+			while(terminator < limit && !isTerminator(bytes[terminator])) {
+				terminator++;
+			}
+			
+			if(terminator < limit) {
+				limit = terminator + 1;
+				break;
+			}
+		}
+		
+		RowTokenizer tokenizer = new RowTokenizer(delimeter);
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		Block block = new Block();
+		int lineEnd;
+		int width;
+		while(lineStart < rangeEnd && lineStart < limit) {
+			lineEnd = lineStart;
+			while(lineEnd < limit && !isTerminator(bytes[lineEnd])) {
+				lineEnd++;
+			}
+			
+			width = tokenizer.parse(buffer, lineStart, lineEnd);
+			lineStart = lineEnd + 1;
+			if(width > 0) {
+				block.add(tokenizer.getValues(), width, from + Math.min(lineStart, limit));
+			}
+		}
+		return block;
+	}
+	
+	private int read(byte[] bytes, int offset, int length, long position) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, Math.min(length, bytes.length - offset));
+		while(buffer.hasRemaining()) {
+			if(channel.read(buffer, position + buffer.position() - offset) == -1) {
+				break;
+			}
+		}
+		return buffer.position() - offset;
+	}
+	
+	private static boolean isTerminator(byte b) {
+		return b == '\n' || b == '\r';
+	}
+	
+	/**
+	 * Rows of a range stored back to back.
+	 */
+	private static class Block {
+		
+		private int[] values = new int[1024];
+		
+		private int[] widths = new int[64];
+		
+		private long[] ends = new long[64];
+		
+		private int rows;
+		
+		private int valueCount;
+		
+		void add(int[] row, int width, long end) {
+			if(valueCount + width > values.length) {
+				values = Arrays.copyOf(values, Math.max(valueCount + width, values.length << 1));
+			}
+			
+			if(rows == widths.length) {
+				widths = Arrays.copyOf(widths, rows << 1);
+				ends = Arrays.copyOf(ends, rows << 1);
+			}
+			
+			System.arraycopy(row, 0, values, valueCount, width);
+			valueCount += width;
+			widths[rows] = width;
+			ends[rows] = end;
+			rows++;
+		}
+	}
+}
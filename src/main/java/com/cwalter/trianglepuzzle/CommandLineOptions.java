@@ -0,0 +1,304 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Options parsed from the arguments given to {@link PathAnalyzer#main(String...)}.
+ * Flags may appear anywhere, every other argument is treated as a file name.
+ */
+class CommandLineOptions {
+	
+	static final String USAGE = "Please provide the name of the file you wish to process.";
+	
+	private static final int DEFAULT_PIPELINE_DEPTH = 64;
+	
+	private static final int DEFAULT_MAX_OPEN_FILES = 64;
+	
+	private static final long DEFAULT_MAX_MEMORY = 1024L * 1024 * 1024;
+	
+	private final List<String> fileNames = new ArrayList<>();
+	
+	private IngestionMode mode = IngestionMode.STREAM;
+	
+	private int pipelineDepth;
+	
+	private boolean parallel;
+	
+	private boolean offHeap;
+	
+	private String scratchDirectory;
+	
+	private boolean batch;
+	
+	private boolean route;
+	
+	private int topPaths;
+	
+	private int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+	
+	private long maxMemory = DEFAULT_MAX_MEMORY;
+	
+	private String convertFileName;
+	
+	private BinaryEncoding encoding = BinaryEncoding.FIXED;
+	
+	private String cacheDirectory;
+	
+	private int checkpointRows;
+	
+	private int serverPort;
+	
+	private String bindAddress;
+	
+	private String connectAddress;
+	
+	private boolean stats;
+	
+	private int indexInterval;
+	
+	private int slabHeight;
+	
+	private final List<String> workers = new ArrayList<>();
+	
+	private final Set<PathAggregate> aggregates = EnumSet.noneOf(PathAggregate.class);
+	
+	private int bins = PathAnalysis.DEFAULT_BINS;
+	
+	/**
+	 * @param args Arguments given to the command line.
+	 * @return Parsed options.
+	 * @throws IllegalArgumentException thrown if the arguments are not valid.
+	 */
+	static CommandLineOptions parse(String... args) {
+		if(args == null || args.length == 0) {
+			throw new IllegalArgumentException(USAGE);
+		}
+		
+		CommandLineOptions options = new CommandLineOptions();
+		for(String arg : args) {
+			if(arg == null) {
+				throw new IllegalArgumentException(USAGE);
+			} else if(arg.equals("--mmap")) {
+				options.mode = IngestionMode.MAPPED;
+			} else if(arg.equals("--chunked")) {
+				options.mode = IngestionMode.CHUNKED;
+			} else if(arg.equals("--pipeline")) {
+				options.pipelineDepth = DEFAULT_PIPELINE_DEPTH;
+			} else if(arg.equals("--parallel")) {
+				options.parallel = true;
+			} else if(arg.equals("--off-heap")) {
+				options.offHeap = true;
+			} else if(arg.startsWith("--scratch=") && arg.length() > "--scratch=".length()) {
+				options.scratchDirectory = arg.substring("--scratch=".length());
+			} else if(arg.equals("--batch")) {
+				options.batch = true;
+			} else if(arg.equals("--route")) {
+				options.route = true;
+			} else if(arg.startsWith("--top=")) {
+				options.topPaths = parsePositive(arg);
+			} else if(arg.startsWith("--max-open-files=")) {
+				options.maxOpenFiles = parsePositive(arg);
+			} else if(arg.startsWith("--max-memory-mb=")) {
+				options.maxMemory = parsePositive(arg) * 1024L * 1024;
+			} else if(arg.startsWith("--convert=") && arg.length() > "--convert=".length()) {
+				options.convertFileName = arg.substring("--convert=".length());
+			} else if(arg.startsWith("--cache=") && arg.length() > "--cache=".length()) {
+				options.cacheDirectory = arg.substring("--cache=".length());
+			} else if(arg.startsWith("--checkpoint=")) {
+				options.checkpointRows = parsePositive(arg);
+			} else if(arg.startsWith("--server=")) {
+				options.serverPort = parsePositive(arg);
+			} else if(arg.startsWith("--bind=") && arg.length() > "--bind=".length()) {
+				options.bindAddress = arg.substring("--bind=".length());
+			} else if(arg.startsWith("--connect=") && arg.length() > "--connect=".length()) {
+				options.connectAddress = arg.substring("--connect=".length());
+			} else if(arg.equals("--index")) {
+				options.indexInterval = RowIndex.DEFAULT_INTERVAL;
+			} else if(arg.startsWith("--index=")) {
+				options.indexInterval = parsePositive(arg);
+			} else if(arg.equals("--slabs")) {
+				options.slabHeight = SlabSolver.DEFAULT_SLAB_HEIGHT;
+			} else if(arg.startsWith("--slabs=")) {
+				options.slabHeight = parsePositive(arg);
+			} else if(arg.startsWith("--workers=") && arg.length() > "--workers=".length()) {
+				for(String worker : arg.substring("--workers=".length()).split(",")) {
+					if(!worker.isEmpty()) {
+						options.workers.add(worker);
+					}
+				}
+			} else if(arg.equals("--analyze")) {
+				options.aggregates.addAll(EnumSet.allOf(PathAggregate.class));
+			} else if(arg.startsWith("--analyze=")) {
+				options.aggregates.addAll(parseAggregates(arg));
+			} else if(arg.startsWith("--bins=")) {
+				options.bins = parsePositive(arg);
+			} else if(arg.equals("--stats")) {
+				options.stats = true;
+			} else if(arg.equals("--varint")) {
+				options.encoding = BinaryEncoding.DELTA_VARINT;
+			} else if(arg.startsWith("--")) {
+				throw new IllegalArgumentException("Unknown option '" + arg + "'.");
+			} else {
+				options.fileNames.add(arg);
+			}
+		}
+		
+		//Workers are only used to compute slabs.
+		if(!options.workers.isEmpty() && options.slabHeight == 0) {
+			options.slabHeight = SlabSolver.DEFAULT_SLAB_HEIGHT;
+		}
+		
+		//Scratch files only hold rows kept off the heap.
+		if(options.scratchDirectory != null) {
+			options.offHeap = true;
+		}
+		
+		//A server takes its files from requests.
+		if(options.serverPort > 0 && options.fileNames.isEmpty()) {
+			return options;
+		}
+		
+		if(options.fileNames.isEmpty() || (!options.batch && options.fileNames.size() > 1)) {
+			throw new IllegalArgumentException(USAGE);
+		}
+		return options;
+	}
+	
+	private static Set<PathAggregate> parseAggregates(String arg) {
+		Set<PathAggregate> aggregates = EnumSet.noneOf(PathAggregate.class);
+		for(String name : arg.substring(arg.indexOf('=') + 1).split(",")) {
+			switch(name) {
+				case "max":
+					aggregates.add(PathAggregate.MAX);
+					break;
+				case "min":
+					aggregates.add(PathAggregate.MIN);
+					break;
+				case "count":
+					aggregates.add(PathAggregate.MAX_COUNT);
+					break;
+				case "histogram":
+					aggregates.add(PathAggregate.HISTOGRAM);
+					break;
+				default:
+					throw new IllegalArgumentException("Option '" + arg + "' only accepts max, min, count and histogram.");
+			}
+		}
+		return aggregates;
+	}
+	
+	private static int parsePositive(String arg) {
+		String value = arg.substring(arg.indexOf('=') + 1);
+		try {
+			int parsed = Integer.parseInt(value);
+			if(parsed > 0) {
+				return parsed;
+			}
+		} catch(NumberFormatException ex) {
+		}
+		throw new IllegalArgumentException("Option '" + arg + "' requires a positive integer.");
+	}
+	
+	List<String> getFileNames() {
+		return Collections.unmodifiableList(fileNames);
+	}
+	
+	IngestionMode getMode() {
+		return mode;
+	}
+	
+	int getPipelineDepth() {
+		return pipelineDepth;
+	}
+	
+	boolean isParallel() {
+		return parallel;
+	}
+	
+	boolean isOffHeap() {
+		return offHeap;
+	}
+	
+	String getScratchDirectory() {
+		return scratchDirectory;
+	}
+	
+	boolean isBatch() {
+		return batch;
+	}
+	
+	boolean isRoute() {
+		return route;
+	}
+	
+	int getTopPaths() {
+		return topPaths;
+	}
+	
+	int getMaxOpenFiles() {
+		return maxOpenFiles;
+	}
+	
+	long getMaxMemory() {
+		return maxMemory;
+	}
+	
+	String getConvertFileName() {
+		return convertFileName;
+	}
+	
+	BinaryEncoding getEncoding() {
+		return encoding;
+	}
+	
+	String getCacheDirectory() {
+		return cacheDirectory;
+	}
+	
+	int getCheckpointRows() {
+		return checkpointRows;
+	}
+	
+	int getServerPort() {
+		return serverPort;
+	}
+	
+	/**
+	 * @return Address the server listens on, null for the loopback address.
+	 */
+	String getBindAddress() {
+		return bindAddress;
+	}
+	
+	String getConnectAddress() {
+		return connectAddress;
+	}
+	
+	boolean isStats() {
+		return stats;
+	}
+	
+	int getIndexInterval() {
+		return indexInterval;
+	}
+	
+	int getSlabHeight() {
+		return slabHeight;
+	}
+	
+	List<String> getWorkers() {
+		return Collections.unmodifiableList(workers);
+	}
+	
+	Set<PathAggregate> getAggregates() {
+		return Collections.unmodifiableSet(aggregates);
+	}
+	
+	int getBins() {
+		return bins;
+	}
+}
@@ -0,0 +1,222 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * 64 bit xxHash of a stream of bytes. Not cryptographic, but fast enough to fingerprint files
+ * at close to the speed they can be read.
+ */
+public final class ContentHash {
+	
+	private static final long PRIME1 = 0x9E3779B185EBCA87L;
+	
+	private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+	
+	private static final long PRIME3 = 0x165667B19E3779F9L;
+	
+	private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+	
+	private static final long PRIME5 = 0x27D4EB2F165667C5L;
+	
+	private static final int STRIPE_SIZE = 32;
+	
+	private static final int BUFFER_SIZE = 1024 * 1024;
+	
+	private ContentHash() {
+	}
+	
+	/**
+	 * @param bytes Bytes to hash.
+	 * @return Hash of the bytes.
+	 */
+	public static long hash(byte[] bytes) {
+		if(bytes == null) {
+			throw new IllegalArgumentException("Bytes cannot be null.");
+		}
+		
+		ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+		long[] lanes = initialLanes();
+		stripes(buffer, lanes);
+		return finish(buffer, lanes, bytes.length);
+	}
+	
+	/**
+	 * @param channel Input to hash until its end. Not closed.
+	 * @return Hash of every byte read from the channel.
+	 * @throws IOException thrown if there is an error reading the channel.
+	 */
+	public static long hash(ReadableByteChannel channel) throws IOException {
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		Digest digest = new Digest();
+		while(channel.read(buffer) != -1) {
+			buffer.flip();
+			digest.update(buffer);
+			buffer.clear();
+		}
+		return digest.getValue();
+	}
+	
+	private static long[] initialLanes() {
+		return new long[] { PRIME1 + PRIME2, PRIME2, 0, -PRIME1 };
+	}
+	
+	private static void stripes(ByteBuffer buffer, long[] lanes) {
+		long v1 = lanes[0];
+		long v2 = lanes[1];
+		long v3 = lanes[2];
+		long v4 = lanes[3];
+		int position = buffer.position();
+		int limit = buffer.limit() - STRIPE_SIZE;
+		for(; position <= limit; position += STRIPE_SIZE) {
+			v1 = round(v1, buffer.getLong(position));
+			v2 = round(v2, buffer.getLong(position + 8));
+			v3 = round(v3, buffer.getLong(position + 16));
+			v4 = round(v4, buffer.getLong(position + 24));
+		}
+		buffer.position(position);
+		lanes[0] = v1;
+		lanes[1] = v2;
+		lanes[2] = v3;
+		lanes[3] = v4;
+	}
+	
+	private static long finish(ByteBuffer tail, long[] lanes, long total) {
+		long hash;
+		if(total >= STRIPE_SIZE) {
+			hash = Long.rotateLeft(lanes[0], 1) + Long.rotateLeft(lanes[1], 7)
+					+ Long.rotateLeft(lanes[2], 12) + Long.rotateLeft(lanes[3], 18);
+			for(long lane : lanes) {
+				hash ^= round(0, lane);
+				hash = hash * PRIME1 + PRIME4;
+			}
+		} else {
+			hash = PRIME5;
+		}
+		hash += total;
+		
+		while(tail.remaining() >= 8) {
+			hash ^= round(0, tail.getLong());
+			hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+		}
+		
+		if(tail.remaining() >= 4) {
+			hash ^= (tail.getInt() & 0xFFFFFFFFL) * PRIME1;
+			hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+		}
+		
+		while(tail.hasRemaining()) {
+			hash ^= (tail.get() & 0xFF) * PRIME5;
+			hash = Long.rotateLeft(hash, 11) * PRIME1;
+		}
+		
+		hash ^= hash >>> 33;
+		hash *= PRIME2;
+		hash ^= hash >>> 29;
+		hash *= PRIME3;
+		hash ^= hash >>> 32;
+		return hash;
+	}
+	
+	private static long round(long accumulator, long input) {
+		accumulator += input * PRIME2;
+		accumulator = Long.rotateLeft(accumulator, 31);
+		return accumulator * PRIME1;
+	}
+	
+	/**
+	 * Hash of bytes given a buffer at a time, equal to the hash of all of them at once. The state
+	 * can be written out and read back to carry on hashing the same bytes later.
+	 */
+	static final class Digest {
+		
+		private final long[] lanes;
+		
+		//Bytes of a stripe not yet complete.
+		private final ByteBuffer pending = ByteBuffer.allocate(STRIPE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		
+		private long total;
+		
+		Digest() {
+			this.lanes = initialLanes();
+		}
+		
+		/**
+		 * @param in State written by {@link #write(DataOutput)}.
+		 * @throws IOException thrown if the state cannot be read or is not valid.
+		 */
+		Digest(DataInput in) throws IOException {
+			this.lanes = new long[4];
+			for(int i = 0; i < lanes.length; i++) {
+				lanes[i] = in.readLong();
+			}
+			total = in.readLong();
+			int length = in.readUnsignedByte();
+			if(total < 0 || length >= STRIPE_SIZE || length != total % STRIPE_SIZE) {
+				throw new IOException("Digest state is not valid.");
+			}
+			
+			byte[] bytes = new byte[length];
+			in.readFully(bytes);
+			pending.put(bytes);
+		}
+		
+		/**
+		 * @param bytes Bytes to add to the hash, the buffer is left at its limit.
+		 */
+		void update(ByteBuffer bytes) {
+			ByteBuffer source = bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+			bytes.position(bytes.limit());
+			total += source.remaining();
+			if(pending.position() > 0) {
+				while(pending.hasRemaining() && source.hasRemaining()) {
+					pending.put(source.get());
+				}
+				
+				if(pending.hasRemaining()) {
+					return;
+				}
+				
+				pending.flip();
+				stripes(pending, lanes);
+				pending.clear();
+			}
+			
+			stripes(source, lanes);
+			pending.put(source);
+		}
+		
+		/**
+		 * @return Hash of every byte added so far. More bytes may still be added.
+		 */
+		long getValue() {
+			ByteBuffer tail = pending.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+			tail.flip();
+			return finish(tail, lanes.clone(), total);
+		}
+		
+		/**
+		 * @return Number of bytes added so far.
+		 */
+		long getLength() {
+			return total;
+		}
+		
+		void write(DataOutput out) throws IOException {
+			for(long lane : lanes) {
+				out.writeLong(lane);
+			}
+			out.writeLong(total);
+			out.writeByte(pending.position());
+			out.write(pending.array(), 0, pending.position());
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * Sequential solver which keeps the best path ending at each position of the last row.
+ * Two row buffers are swapped after every row so no memory is allocated unless the buffers
+ * need to grow.
+ *
+ * Paths are accumulated as ints and overflow silently. Use {@link AdaptivePathSolver} when
+ * the sums of a triangle may not fit.
+ */
+public class DefaultPathSolver implements PathSolver {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private int[] previousMaxPaths;
+	
+	private int[] currentMaxPaths;
+	
+	private int width;
+	
+	public DefaultPathSolver() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * @param capacity Widest row expected. Buffers grow if a wider row is added.
+	 */
+	public DefaultPathSolver(int capacity) {
+		if(capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+		
+		previousMaxPaths = new int[capacity];
+		currentMaxPaths = new int[capacity];
+	}
+	
+	@Override
+	public void addRow(int[] values, int width) {
+		if(width > currentMaxPaths.length) {
+			grow(width);
+		}
+		
+		if(this.width == 0) {
+			previousMaxPaths[0] = values[0];
+			this.width = width;
+			return;
+		}
+		
+		computeRow(previousMaxPaths, currentMaxPaths, values, width);
+		
+		int[] swap = previousMaxPaths;
+		previousMaxPaths = currentMaxPaths;
+		currentMaxPaths = swap;
+		this.width = width;
+	}
+	
+	/**
+	 * Fills current with the best path ending at each position of a row.
+	 * 
+	 * @param previous Best paths of the row above, which has width - 1 values.
+	 * @param current Receives the best paths of this row.
+	 * @param values Values of this row.
+	 * @param width Number of values in this row. Must be at least 2.
+	 */
+	protected void computeRow(int[] previous, int[] current, int[] values, int width) {
+		//A missing parent on the edges counts as 0, so edges never take a negative parent.
+		current[0] = values[0] + Math.max(previous[0], 0);
+		computeRange(previous, current, values, 1, width - 1);
+		current[width - 1] = values[width - 1] + Math.max(previous[width - 2], 0);
+	}
+	
+	/**
+	 * Fills current for the interior positions from start up to but not including end.
+	 */
+	protected static void computeRange(int[] previous, int[] current, int[] values, int start, int end) {
+		for(int i = start; i < end; i++) {
+			current[i] = values[i] + Math.max(previous[i - 1], previous[i]);
+		}
+	}
+	
+	@Override
+	public long getMaxPath() {
+		int maxPath = previousMaxPaths[0];
+		for(int i = 1; i < width; i++) {
+			if(previousMaxPaths[i] > maxPath) {
+				maxPath = previousMaxPaths[i];
+			}
+		}
+		return maxPath;
+	}
+	
+	private void grow(int width) {
+		int capacity = currentMaxPaths.length;
+		while(capacity < width) {
+			capacity <<= 1;
+		}
+		
+		int[] grown = new int[capacity];
+		System.arraycopy(previousMaxPaths, 0, grown, 0, this.width);
+		previousMaxPaths = grown;
+		currentMaxPaths = new int[capacity];
+	}
+}
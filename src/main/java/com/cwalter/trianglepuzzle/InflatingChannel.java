@@ -0,0 +1,153 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Channel over the decoded bytes of a decompressing stream. Decompression runs on its own
+ * thread which hands decoded blocks over through a bounded queue, so inflating the input
+ * overlaps with parsing and solving it.
+ *
+ * The end of the decoded bytes is always handed over, even when decompression fails with an
+ * {@link Error}, which is then rethrown by {@link #read(ByteBuffer)}.
+ */
+public class InflatingChannel implements ReadableByteChannel {
+	
+	private static final int BLOCK_SIZE = 256 * 1024;
+	
+	private static final int DEPTH = 4;
+	
+	//Marks the end of the decoded bytes, whether or not an error was encountered.
+	private static final ByteBuffer END = ByteBuffer.allocate(0);
+	
+	private final InputStream decoded;
+	
+	private final BlockingQueue<ByteBuffer> filled = new ArrayBlockingQueue<>(DEPTH + 1);
+	
+	private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(DEPTH);
+	
+	private final Thread inflater;
+	
+	private volatile Throwable error;
+	
+	private ByteBuffer current;
+	
+	private boolean open = true;
+	
+	/**
+	 * @param decoded Stream which decompresses the input as it is read, such as a
+	 * GZIPInputStream. Closed with this channel.
+	 */
+	public InflatingChannel(InputStream decoded) {
+		if(decoded == null) {
+			throw new IllegalArgumentException("Decoded cannot be null.");
+		}
+		
+		this.decoded = decoded;
+		for(int i = 0; i < DEPTH; i++) {
+			free.add(ByteBuffer.allocate(BLOCK_SIZE));
+		}
+		this.inflater = new Thread(this::inflate, "TrianglePuzzle-inflater");
+		this.inflater.setDaemon(true);
+		this.inflater.start();
+	}
+	
+	private void inflate() {
+		ByteBuffer block;
+		byte[] bytes;
+		int length;
+		int read;
+		try {
+			while(true) {
+				block = free.take();
+				bytes = block.array();
+				length = 0;
+				while(length < bytes.length && (read = decoded.read(bytes, length, bytes.length - length)) != -1) {
+					length += read;
+				}
+				
+				if(length == 0) {
+					break;
+				}
+				
+				block.clear();
+				block.limit(length);
+				filled.put(block);
+				if(length < bytes.length) {
+					break;
+				}
+			}
+		} catch(InterruptedException ex) {
+			//Closed before every block was decoded.
+		} catch(Throwable ex) {
+			error = ex;
+		} finally {
+			//Room for the end marker is always left in filled.
+			filled.offer(END);
+		}
+	}
+	
+	@Override
+	public int read(ByteBuffer dst) throws IOException {
+		if(!open) {
+			throw new ClosedChannelException();
+		}
+		
+		if(current != END && (current == null || !current.hasRemaining())) {
+			if(current != null) {
+				free.add(current);
+			}
+			
+			try {
+				current = filled.take();
+			} catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for decoded bytes.", ex);
+			}
+		}
+		
+		if(current == END) {
+			Throwable error = this.error;
+			if(error instanceof Error) {
+				throw (Error) error;
+			} else if(error != null) {
+				throw new IOException("Unable to decompress input: " + error.getMessage(), error);
+			}
+			return -1;
+		}
+		
+		int count = Math.min(dst.remaining(), current.remaining());
+		int limit = current.limit();
+		current.limit(current.position() + count);
+		dst.put(current);
+		current.limit(limit);
+		return count;
+	}
+	
+	@Override
+	public boolean isOpen() {
+		return open;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		if(!open) {
+			return;
+		}
+		
+		open = false;
+		inflater.interrupt();
+		try {
+			inflater.join();
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			decoded.close();
+		}
+	}
+}
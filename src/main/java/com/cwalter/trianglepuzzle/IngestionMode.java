@@ -0,0 +1,23 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * How the bytes of a triangle file are brought into memory before being parsed.
+ */
+public enum IngestionMode {
+	
+	/**
+	 * Reads the file through a buffered channel.
+	 */
+	STREAM,
+	
+	/**
+	 * Maps the file into memory in sliding windows and parses rows directly from the mapping.
+	 */
+	MAPPED,
+	
+	/**
+	 * Splits the file into ranges of lines which are parsed on every core at once and handed
+	 * to the solver in order.
+	 */
+	CHUNKED
+}
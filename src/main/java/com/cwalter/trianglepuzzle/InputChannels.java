@@ -0,0 +1,180 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Opens the inputs accepted in place of a file name. "-" reads standard input, input compressed
+ * with gzip is detected from its magic bytes and files named .zz or .zlib are read as zlib
+ * deflate. Compressed input is decompressed transparently on a separate thread.
+ *
+ * A zlib header is only two bytes whose check is a multiple of 31, which plain text such as "80"
+ * passes, so zlib is never detected from content.
+ */
+public final class InputChannels {
+	
+	/**
+	 * File name which reads standard input.
+	 */
+	public static final String STANDARD_INPUT = "-";
+	
+	private static final int HEADER_SIZE = 2;
+	
+	private static final String[] ZLIB_EXTENSIONS = { ".zz", ".zlib" };
+	
+	private InputChannels() {
+	}
+	
+	/**
+	 * @param fileName Name of a file, or "-" for standard input.
+	 * @return Channel over the decoded bytes of the input.
+	 * @throws IOException thrown if the input cannot be opened or its header cannot be read.
+	 */
+	public static ReadableByteChannel open(String fileName) throws IOException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(fileName.equals(STANDARD_INPUT)) {
+			return decode(new FileInputStream(FileDescriptor.in).getChannel());
+		}
+		return decode(new FileInputStream(fileName).getChannel(), isZlibName(fileName));
+	}
+	
+	/**
+	 * @param fileName Name of a file.
+	 * @return True if the name marks the file as zlib deflate.
+	 */
+	public static boolean isZlibName(String fileName) {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		String lowerCase = fileName.toLowerCase(Locale.ROOT);
+		for(String extension : ZLIB_EXTENSIONS) {
+			if(lowerCase.endsWith(extension)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Checks the header of a file without moving its position.
+	 * 
+	 * @param channel File to check.
+	 * @return True if the file starts with a gzip header.
+	 * @throws IOException thrown if the header cannot be read.
+	 */
+	public static boolean isCompressed(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		long position = channel.position();
+		while(header.hasRemaining() && channel.read(header, position + header.position()) > 0) {
+		}
+		header.flip();
+		return isGzip(header);
+	}
+	
+	/**
+	 * @param fileName Name of the file.
+	 * @param channel File to check, its position is not moved.
+	 * @return True if the file starts with a gzip header or is named as zlib deflate.
+	 * @throws IOException thrown if the header cannot be read.
+	 */
+	public static boolean isCompressed(String fileName, FileChannel channel) throws IOException {
+		return isZlibName(fileName) || isCompressed(channel);
+	}
+	
+	/**
+	 * @param channel Raw input. Closed with the returned channel.
+	 * @return Channel over the decoded bytes of the input, decompressed if it starts with a gzip
+	 * header.
+	 * @throws IOException thrown if the header cannot be read.
+	 */
+	public static ReadableByteChannel decode(ReadableByteChannel channel) throws IOException {
+		return decode(channel, false);
+	}
+	
+	/**
+	 * @param channel Raw input. Closed with the returned channel.
+	 * @param zlib True if the input is zlib deflate, false to only decompress gzip.
+	 * @return Channel over the decoded bytes of the input.
+	 * @throws IOException thrown if the header cannot be read.
+	 */
+	public static ReadableByteChannel decode(ReadableByteChannel channel, boolean zlib) throws IOException {
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		try {
+			if(zlib) {
+				return new InflatingChannel(new InflaterInputStream(Channels.newInputStream(channel)));
+			}
+			
+			while(header.hasRemaining() && channel.read(header) > 0) {
+			}
+			header.flip();
+			
+			ReadableByteChannel input = new PrefixedChannel(header, channel);
+			if(isGzip(header)) {
+				return new InflatingChannel(new GZIPInputStream(Channels.newInputStream(input), 64 * 1024));
+			}
+			return input;
+		} catch(IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	private static boolean isGzip(ByteBuffer header) {
+		return header.remaining() == HEADER_SIZE
+				&& (header.get(0) & 0xFF) == 0x1F && (header.get(1) & 0xFF) == 0x8B;
+	}
+	
+	/**
+	 * Replays bytes already read from a channel before reading the rest of it.
+	 */
+	private static class PrefixedChannel implements ReadableByteChannel {
+		
+		private final ByteBuffer prefix;
+		
+		private final ReadableByteChannel channel;
+		
+		PrefixedChannel(ByteBuffer prefix, ReadableByteChannel channel) {
+			this.prefix = prefix.duplicate();
+			this.channel = channel;
+		}
+		
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			if(!prefix.hasRemaining()) {
+				return channel.read(dst);
+			}
+			
+			int count = Math.min(dst.remaining(), prefix.remaining());
+			for(int i = 0; i < count; i++) {
+				dst.put(prefix.get());
+			}
+			return count;
+		}
+		
+		@Override
+		public boolean isOpen() {
+			return channel.isOpen();
+		}
+		
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free record of how long operations took. Durations are counted in power of two buckets
+ * of nanoseconds, so percentiles are reported as the upper bound of their bucket, never more
+ * than twice the true value.
+ */
+public class LatencyStats {
+	
+	private static final int BUCKETS = 64;
+	
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	
+	private final AtomicLong count = new AtomicLong();
+	
+	private final AtomicLong total = new AtomicLong();
+	
+	private final AtomicLong max = new AtomicLong();
+	
+	/**
+	 * @param nanos Duration of one operation in nanoseconds.
+	 */
+	public void record(long nanos) {
+		if(nanos < 0) {
+			nanos = 0;
+		}
+		
+		buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos));
+		count.incrementAndGet();
+		total.addAndGet(nanos);
+		long current;
+		while((current = max.get()) < nanos && !max.compareAndSet(current, nanos)) {
+		}
+	}
+	
+	/**
+	 * @return Number of operations recorded.
+	 */
+	public long getCount() {
+		return count.get();
+	}
+	
+	/**
+	 * @return Mean duration in nanoseconds, 0 if nothing was recorded.
+	 */
+	public long getMeanNanos() {
+		long count = this.count.get();
+		return count == 0 ? 0 : total.get() / count;
+	}
+	
+	/**
+	 * @return Longest duration in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return max.get();
+	}
+	
+	/**
+	 * @param percentile Percentage of operations, greater than 0 and at most 100.
+	 * @return Duration in nanoseconds which at least that percentage of operations did not exceed.
+	 */
+	public long getPercentileNanos(double percentile) {
+		if(!(percentile > 0 && percentile <= 100)) {
+			throw new IllegalArgumentException("Percentile must be greater than 0 and at most 100.");
+		}
+		
+		long[] counts = new long[BUCKETS];
+		long count = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			count += counts[i];
+		}
+		
+		long rank = (long) Math.ceil(count * percentile / 100);
+		long seen = 0;
+		for(int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if(seen >= rank && seen > 0) {
+				return Math.min((1L << i) - 1, max.get());
+			}
+		}
+		return 0;
+	}
+}
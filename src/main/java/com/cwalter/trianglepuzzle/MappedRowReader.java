@@ -0,0 +1,118 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * Reads rows from a file by mapping it into memory a window at a time. Windows always start
+ * at the beginning of a line so rows are parsed straight out of the mapping, and files larger
+ * than a single mapping can hold are supported.
+ */
+public class MappedRowReader extends RowReader {
+
+	private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+	
+	private final FileChannel channel;
+	
+	private final long size;
+	
+	private int windowSize;
+	
+	private MappedByteBuffer window;
+	
+	private long windowStart;
+	
+	private int position;
+	
+	private int limit;
+	
+	/**
+	 * @param channel File the rows will be read from.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @throws IOException thrown if the size of the file cannot be read.
+	 */
+	public MappedRowReader(FileChannel channel, String delimeter) throws IOException {
+		this(channel, delimeter, DEFAULT_WINDOW_SIZE);
+	}
+	
+	/**
+	 * @param channel File the rows will be read from.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @param windowSize Number of bytes mapped at a time. Grown if a single line is larger.
+	 * @throws IOException thrown if the size of the file cannot be read.
+	 */
+	public MappedRowReader(FileChannel channel, String delimeter, int windowSize) throws IOException {
+		super(delimeter);
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		if(windowSize < 1) {
+			throw new IllegalArgumentException("Window size must be positive.");
+		}
+		
+		this.channel = channel;
+		this.size = channel.size();
+		this.windowSize = windowSize;
+	}
+	
+	@Override
+	public int nextRow() throws IOException, NumberFormatException {
+		int width;
+		int lineEnd;
+		byte b;
+		while(true) {
+			lineEnd = position;
+			while(lineEnd < limit) {
+				b = window.get(lineEnd);
+				if(b == '\n' || b == '\r') {
+					break;
+				}
+				lineEnd++;
+			}
+			
+			if(lineEnd == limit && windowStart + limit < size) {
+				map();
+				continue;
+			}
+			
+			if(lineEnd == position && lineEnd == limit) {
+				return -1;
+			}
+			
+			width = tokenizer.parse(window, position, lineEnd);
+			position = lineEnd == limit ? limit : lineEnd + 1;
+			if(width > 0) {
+				return width;
+			}
+		}
+	}
+	
+	private void map() throws IOException {
+		if(window != null && position == 0) {
+			//A single line is larger than the window.
+			if(windowSize > Integer.MAX_VALUE >> 1) {
+				throw new IOException("Line starting at byte " + windowStart + " is too large to map.");
+			}
+			windowSize <<= 1;
+		}
+		
+		windowStart += position;
+		limit = (int) Math.min(windowSize, size - windowStart);
+		position = 0;
+		window = channel.map(MapMode.READ_ONLY, windowStart, limit);
+	}
+	
+	@Override
+	public long getPosition() {
+		return windowStart + position;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		window = null;
+		channel.close();
+	}
+}
@@ -0,0 +1,250 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.LongBuffer;
+
+/**
+ * Solver whose two rows of best paths are kept in {@link RowState}s instead of heap arrays, so
+ * very wide triangles need neither a huge heap nor long collections. Given a scratch directory
+ * the rows are mapped from files in it and may be larger than the memory of the machine.
+ *
+ * Paths are accumulated as longs. A row which would overflow a long is computed again from the
+ * untouched previous row as BigIntegers, the same as {@link AdaptivePathSolver}, and every
+ * later row stays on the heap. Rows are created by the first row added, failures to create or
+ * grow them are thrown as {@link UncheckedIOException}s. Close the solver to release them.
+ */
+public class OffHeapPathSolver implements PathSolver, Closeable {
+
+	private final File scratchDirectory;
+	
+	private final int segmentSize;
+	
+	private RowState previousMaxPaths;
+	
+	private RowState currentMaxPaths;
+	
+	private BigInteger[] previousBigs;
+	
+	private BigInteger[] currentBigs;
+	
+	private long width;
+	
+	/**
+	 * Keeps rows in direct memory.
+	 */
+	public OffHeapPathSolver() {
+		this(null, RowState.DEFAULT_SEGMENT_SIZE);
+	}
+	
+	/**
+	 * @param scratchDirectory Directory the rows are mapped from, null to keep them in direct
+	 * memory.
+	 */
+	public OffHeapPathSolver(File scratchDirectory) {
+		this(scratchDirectory, RowState.DEFAULT_SEGMENT_SIZE);
+	}
+	
+	/**
+	 * @param scratchDirectory Directory the rows are mapped from, null to keep them in direct
+	 * memory.
+	 * @param segmentSize Number of values in each segment of a row, a power of two.
+	 */
+	OffHeapPathSolver(File scratchDirectory, int segmentSize) {
+		if(segmentSize < 1 || Integer.bitCount(segmentSize) != 1) {
+			throw new IllegalArgumentException("SegmentSize must be a power of two.");
+		}
+		
+		this.scratchDirectory = scratchDirectory;
+		this.segmentSize = segmentSize;
+	}
+	
+	@Override
+	public void addRow(int[] values, int width) {
+		if(previousBigs != null) {
+			addBigRow(values, width);
+			return;
+		}
+		
+		try {
+			if(this.width == 0) {
+				previousMaxPaths = create(width);
+				currentMaxPaths = create(width);
+				previousMaxPaths.set(0, values[0]);
+				this.width = width;
+				return;
+			}
+			
+			previousMaxPaths.ensureCapacity(width);
+			currentMaxPaths.ensureCapacity(width);
+		} catch(IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		
+		if(computeRow(values, width)) {
+			moveToBigs(width);
+			addBigRow(values, width);
+			return;
+		}
+		
+		RowState swap = previousMaxPaths;
+		previousMaxPaths = currentMaxPaths;
+		currentMaxPaths = swap;
+		this.width = width;
+	}
+	
+	private RowState create(long capacity) throws IOException {
+		if(scratchDirectory == null) {
+			return new RowState(capacity, segmentSize, null);
+		}
+		
+		File scratch = File.createTempFile("trianglepuzzle", ".rows", scratchDirectory);
+		return new RowState(capacity, segmentSize, scratch);
+	}
+	
+	/**
+	 * Walks the row a segment at a time, carrying the left parent across segment edges.
+	 *
+	 * @return True if a sum overflowed a long.
+	 */
+	private boolean computeRow(int[] values, int width) {
+		int shift = previousMaxPaths.getSegmentShift();
+		int mask = (1 << shift) - 1;
+		long value;
+		long parent;
+		long sum;
+		//Sign bit is set if any addition overflowed.
+		long overflows;
+		
+		//A missing parent on the edges counts as 0, so edges never take a negative parent.
+		long left = previousMaxPaths.get(0);
+		value = values[0];
+		parent = Math.max(left, 0);
+		sum = value + parent;
+		overflows = (value ^ sum) & (parent ^ sum);
+		currentMaxPaths.set(0, sum);
+		
+		long above;
+		int last = width - 1;
+		for(int i = 1; i < last;) {
+			int segment = i >>> shift;
+			LongBuffer previous = previousMaxPaths.getSegment(segment);
+			LongBuffer current = currentMaxPaths.getSegment(segment);
+			int end = (int) Math.min(last, ((long) segment + 1) << shift);
+			for(; i < end; i++) {
+				above = previous.get(i & mask);
+				value = values[i];
+				parent = Math.max(left, above);
+				sum = value + parent;
+				overflows |= (value ^ sum) & (parent ^ sum);
+				current.put(i & mask, sum);
+				left = above;
+			}
+		}
+		
+		value = values[last];
+		parent = Math.max(left, 0);
+		sum = value + parent;
+		overflows |= (value ^ sum) & (parent ^ sum);
+		currentMaxPaths.set(last, sum);
+		return overflows < 0;
+	}
+	
+	/**
+	 * Copies the previous row to the heap and releases both rows.
+	 */
+	private void moveToBigs(int capacity) {
+		previousBigs = new BigInteger[capacity];
+		for(int i = 0; i < this.width; i++) {
+			previousBigs[i] = BigInteger.valueOf(previousMaxPaths.get(i));
+		}
+		currentBigs = new BigInteger[capacity];
+		
+		try {
+			close();
+		} catch(IOException ex) {
+			throw new UncheckedIOException(ex);
+		} finally {
+			previousMaxPaths = null;
+			currentMaxPaths = null;
+		}
+	}
+	
+	private void addBigRow(int[] values, int width) {
+		if(width > currentBigs.length) {
+			int capacity = currentBigs.length;
+			while(capacity < width) {
+				capacity <<= 1;
+			}
+			
+			BigInteger[] grown = new BigInteger[capacity];
+			System.arraycopy(previousBigs, 0, grown, 0, (int) this.width);
+			previousBigs = grown;
+			currentBigs = new BigInteger[capacity];
+		}
+		
+		BigInteger[] previous = previousBigs;
+		BigInteger[] current = currentBigs;
+		current[0] = previous[0].max(BigInteger.ZERO).add(BigInteger.valueOf(values[0]));
+		for(int i = 1; i < width - 1; i++) {
+			current[i] = previous[i - 1].max(previous[i]).add(BigInteger.valueOf(values[i]));
+		}
+		current[width - 1] = previous[width - 2].max(BigInteger.ZERO).add(BigInteger.valueOf(values[width - 1]));
+		
+		previousBigs = current;
+		currentBigs = previous;
+		this.width = width;
+	}
+	
+	/**
+	 * @throws ArithmeticException thrown if the max path does not fit in a long.
+	 */
+	@Override
+	public long getMaxPath() {
+		if(previousBigs != null) {
+			return getExactMaxPath().longValueExact();
+		}
+		
+		if(width == 0) {
+			return 0;
+		}
+		
+		long maxPath = previousMaxPaths.get(0);
+		for(long i = 1; i < width; i++) {
+			maxPath = Math.max(maxPath, previousMaxPaths.get(i));
+		}
+		return maxPath;
+	}
+	
+	@Override
+	public BigInteger getExactMaxPath() {
+		if(previousBigs == null) {
+			return BigInteger.valueOf(getMaxPath());
+		}
+		
+		BigInteger maxPath = previousBigs[0];
+		for(int i = 1; i < width; i++) {
+			maxPath = maxPath.max(previousBigs[i]);
+		}
+		return maxPath;
+	}
+	
+	/**
+	 * Releases both rows and deletes their scratch files.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if(previousMaxPaths != null) {
+				previousMaxPaths.close();
+			}
+		} finally {
+			if(currentMaxPaths != null) {
+				currentMaxPaths.close();
+			}
+		}
+	}
+}
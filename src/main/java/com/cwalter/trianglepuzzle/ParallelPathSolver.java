@@ -0,0 +1,125 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Solver which splits each wide row into chunks computed on a {@link ForkJoinPool}.
+ * Every position of a row only depends on the two positions above it, so chunks of the same
+ * row are independent. Rows narrower than the threshold are computed sequentially since
+ * forking them costs more than it saves.
+ *
+ * Chunks are computed on the lanes of {@link AdaptivePathSolver} and report their overflow,
+ * which is combined for the whole row. A row in which any chunk overflows is computed again on
+ * wider lanes, so results are identical to {@link AdaptivePathSolver}.
+ */
+public class ParallelPathSolver extends AdaptivePathSolver {
+	
+	/**
+	 * Default narrowest row which is split across threads.
+	 */
+	public static final int DEFAULT_THRESHOLD = 1 << 16;
+	
+	private static final int MIN_CHUNK = 1 << 12;
+	
+	private final ForkJoinPool pool;
+	
+	private final int threshold;
+	
+	public ParallelPathSolver() {
+		this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+	
+	/**
+	 * @param pool Pool rows are split across.
+	 * @param threshold Narrowest row which is split across threads.
+	 */
+	public ParallelPathSolver(ForkJoinPool pool, int threshold) {
+		if(pool == null) {
+			throw new IllegalArgumentException("Pool cannot be null.");
+		}
+		
+		if(threshold < 2) {
+			throw new IllegalArgumentException("Threshold must be at least 2.");
+		}
+		
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+	
+	@Override
+	protected int computeIntRange(int[] previous, int[] current, int[] values, int start, int end) {
+		//The range leaves out both edges of the row.
+		if(end - start + 2 < threshold) {
+			return super.computeIntRange(previous, current, values, start, end);
+		}
+		
+		return (int) pool.invoke(new RangeTask(previous, current, null, null, values, start, end, chunkFor(end - start + 2))).longValue();
+	}
+	
+	@Override
+	protected long computeLongRange(long[] previous, long[] current, int[] values, int start, int end) {
+		if(end - start + 2 < threshold) {
+			return super.computeLongRange(previous, current, values, start, end);
+		}
+		
+		return pool.invoke(new RangeTask(null, null, previous, current, values, start, end, chunkFor(end - start + 2)));
+	}
+	
+	private int chunkFor(int width) {
+		return Math.max(MIN_CHUNK, width / (pool.getParallelism() * 4));
+	}
+	
+	/**
+	 * Computes a range of a row on int lanes, or on long lanes when the int rows are null.
+	 * Completes with a value whose sign bit is set if any position overflowed.
+	 */
+	private class RangeTask extends RecursiveTask<Long> {
+		
+		private static final long serialVersionUID = -2925094937826187245L;
+		
+		private final int[] previousInts;
+		
+		private final int[] currentInts;
+		
+		private final long[] previousLongs;
+		
+		private final long[] currentLongs;
+		
+		private final int[] values;
+		
+		private final int start;
+		
+		private final int end;
+		
+		private final int chunk;
+		
+		RangeTask(int[] previousInts, int[] currentInts, long[] previousLongs, long[] currentLongs, int[] values, int start, int end, int chunk) {
+			this.previousInts = previousInts;
+			this.currentInts = currentInts;
+			this.previousLongs = previousLongs;
+			this.currentLongs = currentLongs;
+			this.values = values;
+			this.start = start;
+			this.end = end;
+			this.chunk = chunk;
+		}
+		
+		@Override
+		protected Long compute() {
+			if(end - start <= chunk) {
+				if(previousInts != null) {
+					return (long) ParallelPathSolver.super.computeIntRange(previousInts, currentInts, values, start, end);
+				}
+				return ParallelPathSolver.super.computeLongRange(previousLongs, currentLongs, values, start, end);
+			}
+			
+			int middle = (start + end) >>> 1;
+			RangeTask left = new RangeTask(previousInts, currentInts, previousLongs, currentLongs, values, start, middle, chunk);
+			RangeTask right = new RangeTask(previousInts, currentInts, previousLongs, currentLongs, values, middle, end, chunk);
+			left.fork();
+			long overflow = right.compute();
+			return overflow | left.join();
+		}
+	}
+}
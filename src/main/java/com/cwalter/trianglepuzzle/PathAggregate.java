@@ -0,0 +1,27 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * Aggregates {@link PathAnalysis} can compute while the rows of a triangle are read.
+ */
+public enum PathAggregate {
+	
+	/**
+	 * Total of the best path.
+	 */
+	MAX,
+	
+	/**
+	 * Total of the worst path.
+	 */
+	MIN,
+	
+	/**
+	 * Number of paths whose total is the best.
+	 */
+	MAX_COUNT,
+	
+	/**
+	 * Histogram of the best totals ending at each position of the bottom row.
+	 */
+	HISTOGRAM
+}
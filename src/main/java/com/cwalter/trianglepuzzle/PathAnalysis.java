@@ -0,0 +1,279 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Solver which computes several aggregates of a triangle in a single pass. Each aggregate keeps
+ * its own lane of primitives per position, best totals, worst totals and the number of paths
+ * reaching the best total, and only the lanes the chosen aggregates need are kept.
+ *
+ * Best totals follow {@link DefaultPathSolver}, a position on the edge never takes a negative
+ * parent, so the best total is the same as {@link DefaultPathSolver#getMaxPath()} and a path
+ * running down an edge drops a negative total. Worst totals are sums of real paths. Totals are
+ * accumulated as longs, counts stop at Long.MAX_VALUE.
+ */
+public class PathAnalysis implements PathSolver {
+	
+	public static final int DEFAULT_BINS = 10;
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private final Set<PathAggregate> aggregates;
+	
+	private final int bins;
+	
+	private long[] previousMax;
+	
+	private long[] currentMax;
+	
+	private long[] previousMin;
+	
+	private long[] currentMin;
+	
+	private long[] previousCounts;
+	
+	private long[] currentCounts;
+	
+	private int width;
+	
+	private int rowCount;
+	
+	/**
+	 * @param aggregates Aggregates to compute.
+	 * @param bins Number of bins in the histogram, if it is computed.
+	 */
+	public PathAnalysis(Set<PathAggregate> aggregates, int bins) {
+		if(aggregates == null || aggregates.isEmpty()) {
+			throw new IllegalArgumentException("Aggregates cannot be empty.");
+		}
+		
+		if(bins < 1) {
+			throw new IllegalArgumentException("Bins must be positive.");
+		}
+		
+		this.aggregates = EnumSet.copyOf(aggregates);
+		this.bins = bins;
+		//Counting paths and the histogram both need the best totals.
+		previousMax = new long[DEFAULT_CAPACITY];
+		currentMax = new long[DEFAULT_CAPACITY];
+		if(this.aggregates.contains(PathAggregate.MIN)) {
+			previousMin = new long[DEFAULT_CAPACITY];
+			currentMin = new long[DEFAULT_CAPACITY];
+		}
+		
+		if(this.aggregates.contains(PathAggregate.MAX_COUNT)) {
+			previousCounts = new long[DEFAULT_CAPACITY];
+			currentCounts = new long[DEFAULT_CAPACITY];
+		}
+	}
+	
+	@Override
+	public void addRow(int[] values, int width) {
+		if(width > currentMax.length) {
+			grow(width);
+		}
+		
+		rowCount++;
+		if(this.width == 0) {
+			previousMax[0] = values[0];
+			if(previousMin != null) {
+				previousMin[0] = values[0];
+			}
+			
+			if(previousCounts != null) {
+				previousCounts[0] = 1;
+			}
+			this.width = width;
+			return;
+		}
+		
+		//Counts are worked out first as they compare the best totals of the row above.
+		if(previousCounts != null) {
+			countRow(width);
+		}
+		
+		long overflow = maxRow(values, width);
+		if(previousMin != null) {
+			overflow |= minRow(values, width);
+		}
+		
+		if(overflow < 0) {
+			throw new ArithmeticException("Path does not fit in a long.");
+		}
+		
+		long[] swap = previousMax;
+		previousMax = currentMax;
+		currentMax = swap;
+		if(previousMin != null) {
+			swap = previousMin;
+			previousMin = currentMin;
+			currentMin = swap;
+		}
+		
+		if(previousCounts != null) {
+			swap = previousCounts;
+			previousCounts = currentCounts;
+			currentCounts = swap;
+		}
+		this.width = width;
+	}
+	
+	/**
+	 * @return Value whose sign bit is set if any total overflowed.
+	 */
+	private long maxRow(int[] values, int width) {
+		long[] previous = previousMax;
+		long[] current = currentMax;
+		long value = values[0];
+		long parent = Math.max(previous[0], 0);
+		long total = value + parent;
+		long overflow = (value ^ total) & (parent ^ total);
+		current[0] = total;
+		for(int i = 1; i < width - 1; i++) {
+			value = values[i];
+			parent = Math.max(previous[i - 1], previous[i]);
+			total = value + parent;
+			overflow |= (value ^ total) & (parent ^ total);
+			current[i] = total;
+		}
+		value = values[width - 1];
+		parent = Math.max(previous[width - 2], 0);
+		total = value + parent;
+		overflow |= (value ^ total) & (parent ^ total);
+		current[width - 1] = total;
+		return overflow;
+	}
+	
+	/**
+	 * @return Value whose sign bit is set if any total overflowed.
+	 */
+	private long minRow(int[] values, int width) {
+		long[] previous = previousMin;
+		long[] current = currentMin;
+		long value = values[0];
+		long parent = previous[0];
+		long total = value + parent;
+		long overflow = (value ^ total) & (parent ^ total);
+		current[0] = total;
+		for(int i = 1; i < width - 1; i++) {
+			value = values[i];
+			parent = Math.min(previous[i - 1], previous[i]);
+			total = value + parent;
+			overflow |= (value ^ total) & (parent ^ total);
+			current[i] = total;
+		}
+		value = values[width - 1];
+		parent = previous[width - 2];
+		total = value + parent;
+		overflow |= (value ^ total) & (parent ^ total);
+		current[width - 1] = total;
+		return overflow;
+	}
+	
+	private void countRow(int width) {
+		long[] max = previousMax;
+		long[] previous = previousCounts;
+		long[] current = currentCounts;
+		long left;
+		long right;
+		current[0] = previous[0];
+		for(int i = 1; i < width - 1; i++) {
+			left = max[i - 1];
+			right = max[i];
+			if(left > right) {
+				current[i] = previous[i - 1];
+			} else if(right > left) {
+				current[i] = previous[i];
+			} else {
+				current[i] = saturatedAdd(previous[i - 1], previous[i]);
+			}
+		}
+		current[width - 1] = previous[width - 2];
+	}
+	
+	private static long saturatedAdd(long a, long b) {
+		long sum = a + b;
+		return sum < 0 ? Long.MAX_VALUE : sum;
+	}
+	
+	private void grow(int width) {
+		int capacity = currentMax.length;
+		while(capacity < width) {
+			capacity <<= 1;
+		}
+		
+		previousMax = grow(previousMax, capacity);
+		currentMax = new long[capacity];
+		if(previousMin != null) {
+			previousMin = grow(previousMin, capacity);
+			currentMin = new long[capacity];
+		}
+		
+		if(previousCounts != null) {
+			previousCounts = grow(previousCounts, capacity);
+			currentCounts = new long[capacity];
+		}
+	}
+	
+	private long[] grow(long[] lane, int capacity) {
+		long[] grown = new long[capacity];
+		System.arraycopy(lane, 0, grown, 0, this.width);
+		return grown;
+	}
+	
+	@Override
+	public long getMaxPath() {
+		long maxPath = previousMax[0];
+		for(int i = 1; i < width; i++) {
+			maxPath = Math.max(maxPath, previousMax[i]);
+		}
+		return maxPath;
+	}
+	
+	/**
+	 * @return Report of the chosen aggregates over the rows added so far.
+	 * @throws IllegalStateException thrown if no rows were added.
+	 */
+	public PathReport getReport() {
+		if(width == 0) {
+			throw new IllegalStateException("No rows were added.");
+		}
+		
+		long maxPath = getMaxPath();
+		long minPath = 0;
+		if(previousMin != null) {
+			minPath = previousMin[0];
+			for(int i = 1; i < width; i++) {
+				minPath = Math.min(minPath, previousMin[i]);
+			}
+		}
+		
+		long maxPathCount = 0;
+		if(previousCounts != null) {
+			for(int i = 0; i < width; i++) {
+				if(previousMax[i] == maxPath) {
+					maxPathCount = saturatedAdd(maxPathCount, previousCounts[i]);
+				}
+			}
+		}
+		
+		long[] histogram = null;
+		long low = 0;
+		long binWidth = 0;
+		if(aggregates.contains(PathAggregate.HISTOGRAM)) {
+			low = previousMax[0];
+			for(int i = 1; i < width; i++) {
+				low = Math.min(low, previousMax[i]);
+			}
+			
+			//Bins are as wide as needed for the bottom row's range to fit in them.
+			binWidth = Math.max(1, (maxPath - low) / bins + 1);
+			histogram = new long[bins];
+			for(int i = 0; i < width; i++) {
+				histogram[(int) ((previousMax[i] - low) / binWidth)]++;
+			}
+		}
+		return new PathReport(aggregates, rowCount, maxPath, minPath, maxPathCount, histogram, low, binWidth);
+	}
+}
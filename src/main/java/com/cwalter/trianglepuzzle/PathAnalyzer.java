@@ -1,10 +1,34 @@
 package com.cwalter.trianglepuzzle;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * @author Chris Walter
@@ -20,10 +44,34 @@ import java.io.PrintStream;
  */
 public class PathAnalyzer {
 	
+	private static final int DEFAULT_CACHE_ENTRIES = 10000;
+	
+	private static final int DEFAULT_SERVER_QUEUE = 256;
+	
+	/**
+	 * Default number of milliseconds between progress reports of an asynchronous solve.
+	 */
+	public static final long DEFAULT_PROGRESS_INTERVAL = 1000;
+	
 	private PrintStream out;
 	
 	private PrintStream err;
 	
+	private Supplier<? extends PathSolver> solvers;
+	
+	private int pipelineDepth;
+	
+	private ResultCache resultCache;
+	
+	//Class of the solvers, results of different solvers are cached apart.
+	private volatile String solverKind;
+	
+	private SolveMetrics metrics;
+	
+	private volatile SolveStats lastStats;
+	
+	private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+	
 	/**
 	 * Analyzes the paths of a file.
 	 * 
@@ -31,6 +79,17 @@ public class PathAnalyzer {
 	 * @param err Stream errors will be printed to.
 	 */
 	public PathAnalyzer(PrintStream out, PrintStream err) {
+		this(out, err, PathSolvers.adaptive());
+	}
+	
+	/**
+	 * Analyzes the paths of a file.
+	 * 
+	 * @param out Stream results will be printed to.
+	 * @param err Stream errors will be printed to.
+	 * @param solvers Creates the solver used for each triangle analyzed.
+	 */
+	public PathAnalyzer(PrintStream out, PrintStream err, Supplier<? extends PathSolver> solvers) {
 		if(out == null) {
 			throw new IllegalArgumentException("out cannot be null.");
 		}
@@ -39,18 +98,456 @@ public class PathAnalyzer {
 			throw new IllegalArgumentException("err cannot be null");
 		}
 		
+		if(solvers == null) {
+			throw new IllegalArgumentException("solvers cannot be null");
+		}
+		
 		this.out = out;
 		this.err = err;
+		this.solvers = solvers;
+	}
+	
+	/**
+	 * Reads and parses rows on a separate thread while the max path is being computed.
+	 * 
+	 * @param pipelineDepth Number of parsed rows allowed to wait for the solver,
+	 * 0 to read and solve on the calling thread.
+	 */
+	public void setPipelineDepth(int pipelineDepth) {
+		if(pipelineDepth < 0) {
+			throw new IllegalArgumentException("pipelineDepth cannot be negative.");
+		}
+		
+		this.pipelineDepth = pipelineDepth;
+	}
+	
+	/**
+	 * Answers files already solved from a cache instead of reading them.
+	 * 
+	 * @param resultCache Cache of max paths, null to always read files.
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
+	/**
+	 * Times every phase of each solve and adds it to the given totals. Solves answered from the
+	 * result cache are not recorded.
+	 * 
+	 * @param metrics Totals every solve is added to, null to not measure solves.
+	 */
+	public void setMetrics(SolveMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * @param progressInterval Number of milliseconds between progress reports of an
+	 * asynchronous solve, 0 to report every row.
+	 */
+	public void setProgressInterval(long progressInterval) {
+		if(progressInterval < 0) {
+			throw new IllegalArgumentException("ProgressInterval cannot be negative.");
+		}
+		
+		this.progressInterval = progressInterval;
+	}
+	
+	/**
+	 * @return Statistics of the last solve while metrics were set, null if there was none.
+	 */
+	public SolveStats getLastStats() {
+		return lastStats;
+	}
+	
+	/**
+	 * Retrieves the value of the highest path from a file.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @return maximum path from a file.
+	 * @throws ProcessException thrown when there is an error processing the file
+	 */
+	public long getMaxPathFromFile(String fileName, String delimeter) throws ProcessException {
+		return getMaxPathFromFile(fileName, delimeter, IngestionMode.STREAM);
 	}
 	
 	/**
 	 * Retrieves the value of the highest path from a file.
 	 * @param fileName Name of a file.
 	 * @param delimeter used by 
+	 * @param mode How the file will be read.
+	 * @return maximum path from a file.
+	 * @throws ProcessException thrown when there is an error processing the file or the
+	 * maximum path does not fit in a long.
+	 */
+	public long getMaxPathFromFile(String fileName, String delimeter, IngestionMode mode) throws ProcessException {
+		BigInteger maxPath = getExactMaxPathFromFile(fileName, delimeter, mode);
+		try {
+			return maxPath.longValueExact();
+		} catch(ArithmeticException ex) {
+			err.println("Max path of '" + maxPath + "' is too large for a long.");
+			throw new ProcessException("Max path is too large.", ex);
+		}
+	}
+	
+	/**
+	 * Retrieves the value of the highest path from a file, however large it is.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @param mode How the file will be read.
 	 * @return maximum path from a file.
 	 * @throws ProcessException thrown when there is an error processing the file
 	 */
-	public int getMaxPathFromFile(String fileName, String delimeter) throws ProcessException {
+	public BigInteger getExactMaxPathFromFile(String fileName, String delimeter, IngestionMode mode) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(mode == null) {
+			throw new IllegalArgumentException("Mode cannot be null.");
+		}
+		
+		return getExactMaxPath(fileName, delimeter, mode, null);
+	}
+	
+	/**
+	 * Retrieves the value of the highest path from a file on an executor, without blocking the
+	 * caller. The solve can be cancelled through the returned future.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @param executor Runs the solve.
+	 * @return maximum path from a file, or a {@link ProcessException} when there is an error
+	 * processing the file.
+	 */
+	public CompletableFuture<BigInteger> getExactMaxPathAsync(String fileName, String delimeter, Executor executor) {
+		return getExactMaxPathAsync(fileName, delimeter, IngestionMode.STREAM, executor, null, null);
+	}
+	
+	/**
+	 * Retrieves the value of the highest path from a file on an executor, without blocking the
+	 * caller. Between rows the solve checks whether the returned future is done and stops
+	 * reading once it has been cancelled or timed out.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @param mode How the file will be read.
+	 * @param executor Runs the solve.
+	 * @param timeout Time the solve may take from now, including any wait for the executor, after
+	 * which the future completes with a {@link TimeoutException}. Null for no limit.
+	 * @param progress Called with the progress of the solve every progress interval and after the
+	 * last row, on the thread reading the rows. Null to not report progress.
+	 * @return maximum path from a file, or a {@link ProcessException} when there is an error
+	 * processing the file.
+	 */
+	public CompletableFuture<BigInteger> getExactMaxPathAsync(String fileName, String delimeter, IngestionMode mode, Executor executor,
+			Duration timeout, Consumer<SolveProgress> progress) {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(mode == null) {
+			throw new IllegalArgumentException("Mode cannot be null.");
+		}
+		
+		if(executor == null) {
+			throw new IllegalArgumentException("Executor cannot be null.");
+		}
+		
+		if(timeout != null && timeout.isNegative()) {
+			throw new IllegalArgumentException("Timeout cannot be negative.");
+		}
+		
+		CompletableFuture<BigInteger> future = new CompletableFuture<>();
+		SolveMonitor monitor = new SolveMonitor(future, progress, TimeUnit.MILLISECONDS.toNanos(progressInterval));
+		if(timeout != null) {
+			monitor.expireAfter(timeout);
+		}
+		
+		try {
+			executor.execute(() -> {
+				try {
+					monitor.check();
+					monitor.setTotalBytes(sizeOf(fileName));
+					future.complete(getExactMaxPath(fileName, delimeter, mode, monitor));
+				} catch(CancellationException ex) {
+					//Usually the future was already cancelled or timed out, this does nothing then.
+					future.cancel(false);
+				} catch(Throwable ex) {
+					future.completeExceptionally(ex);
+				}
+			});
+		} catch(RejectedExecutionException ex) {
+			future.completeExceptionally(ex);
+		}
+		return future;
+	}
+	
+	/**
+	 * @return Size of the file when rows are read at offsets of it, -1 otherwise.
+	 */
+	private static long sizeOf(String fileName) {
+		if(fileName.equals(InputChannels.STANDARD_INPUT)) {
+			return -1;
+		}
+		
+		try(FileChannel channel = new FileInputStream(fileName).getChannel()) {
+			return InputChannels.isCompressed(fileName, channel) ? -1 : channel.size();
+		} catch(IOException ex) {
+			//Reported by the solve itself.
+			return -1;
+		}
+	}
+	
+	/**
+	 * @param monitor Watches the rows of an asynchronous solve, null for a blocking solve.
+	 */
+	private BigInteger getExactMaxPath(String fileName, String delimeter, IngestionMode mode, SolveMonitor monitor) throws ProcessException {
+		if(resultCache == null || fileName.equals(InputChannels.STANDARD_INPUT) || !new File(fileName).isFile()) {
+			return solveFile(fileName, delimeter, mode, monitor);
+		}
+		
+		long fingerprint;
+		try {
+			fingerprint = resultCache.fingerprint(fileName);
+			BigInteger cached = resultCache.get(fingerprint, delimeter, getSolverKind());
+			if(cached != null) {
+				return cached;
+			}
+		} catch(IOException ex) {
+			err.println("Result cache unavailable: " + ex.getMessage());
+			return solveFile(fileName, delimeter, mode, monitor);
+		}
+		
+		BigInteger maxPath = solveFile(fileName, delimeter, mode, monitor);
+		try {
+			//Errors are reported as -1 and must not be cached, nor a file changed while it was read.
+			if(!maxPath.equals(BigInteger.valueOf(-1)) && resultCache.fingerprint(fileName) == fingerprint) {
+				resultCache.put(fingerprint, delimeter, getSolverKind(), maxPath);
+			}
+		} catch(IOException ex) {
+			err.println("Result cache unavailable: " + ex.getMessage());
+		}
+		return maxPath;
+	}
+	
+	/**
+	 * @return Name of the class of the solvers, found by creating one the first time.
+	 * @throws IOException thrown if the solver cannot be closed.
+	 */
+	private String getSolverKind() throws IOException {
+		String kind = solverKind;
+		if(kind == null) {
+			PathSolver solver = solvers.get();
+			kind = solver.getClass().getName();
+			if(solver instanceof Closeable) {
+				((Closeable) solver).close();
+			}
+			solverKind = kind;
+		}
+		return kind;
+	}
+	
+	private BigInteger solveFile(String fileName, String delimeter, IngestionMode mode, SolveMonitor monitor) throws ProcessException {
+		SolveRecorder recorder = metrics == null ? null : new SolveRecorder();
+		try(RowReader rows = openRows(fileName, delimeter, mode, recorder)) {
+			return getMaxPath(monitor == null ? rows : monitor.watch(rows), recorder);
+		} catch (FileNotFoundException ex) {
+			err.println("File '" + fileName + "' not found: " + ex.getMessage());
+			throw new ProcessException("Unable to find file.", ex);
+		} catch (IOException ex) {
+			err.println("Error reading file '" + fileName + "' : " + ex.getMessage());
+			throw new ProcessException("Unable to read file.", ex);
+		} catch(NumberFormatException ex) {
+			err.println("Unexpected error converter string to integer.");
+			throw new ProcessException("Unable to parse file.", ex);
+		}
+	}
+	
+	/**
+	 * Retrieves the value of the highest path from a file along with the route it takes.
+	 * Only a fraction of the rows are kept in memory, the rest are read again to rebuild
+	 * the route.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @return maximum path from a file and its route.
+	 * @throws ProcessException thrown when there is an error processing the file or the
+	 * maximum path does not fit in a long.
+	 */
+	public PathRoute getMaxPathWithRoute(String fileName, String delimeter) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		try(FileChannel channel = new RandomAccessFile(fileName, "r").getChannel()) {
+			return new RouteFinder(err).findRoute(channel, delimeter);
+		} catch (FileNotFoundException ex) {
+			err.println("File '" + fileName + "' not found: " + ex.getMessage());
+			throw new ProcessException("Unable to find file.", ex);
+		} catch (IOException ex) {
+			err.println("Error reading file '" + fileName + "' : " + ex.getMessage());
+			throw new ProcessException("Unable to read file.", ex);
+		} catch(NumberFormatException ex) {
+			err.println("Unexpected error converter string to integer.");
+			throw new ProcessException("Unable to parse file.", ex);
+		} catch(ArithmeticException ex) {
+			err.println("Max path of file '" + fileName + "' is too large for a long.");
+			throw new ProcessException("Max path is too large.", ex);
+		}
+	}
+	
+	/**
+	 * Retrieves the best distinct path totals from a file in a single pass.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @param count Number of distinct totals to retrieve.
+	 * @return Up to count distinct path totals, best first. Empty if the file has no content
+	 * and only -1 if an error is encountered.
+	 * @throws ProcessException thrown when there is an error processing the file or a total
+	 * does not fit in a long.
+	 */
+	public long[] getTopPathsFromFile(String fileName, String delimeter, int count) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(count < 1) {
+			throw new IllegalArgumentException("Count must be positive.");
+		}
+		
+		TopPathsSolver solver = new TopPathsSolver(count);
+		int rowCount;
+		try(RowReader rows = openRows(fileName, delimeter, IngestionMode.STREAM, null)) {
+			rowCount = feed(rows, solver);
+		} catch (FileNotFoundException ex) {
+			err.println("File '" + fileName + "' not found: " + ex.getMessage());
+			throw new ProcessException("Unable to find file.", ex);
+		} catch (IOException ex) {
+			err.println("Error reading file '" + fileName + "' : " + ex.getMessage());
+			throw new ProcessException("Unable to read file.", ex);
+		} catch(NumberFormatException ex) {
+			err.println("Unexpected error converter string to integer.");
+			throw new ProcessException("Unable to parse file.", ex);
+		} catch(ArithmeticException ex) {
+			err.println("A path of file '" + fileName + "' is too large for a long.");
+			throw new ProcessException("Max path is too large.", ex);
+		}
+		
+		if(rowCount == -1) {
+			return new long[] { -1 };
+		} else if(rowCount == 0) {
+			return new long[0];
+		}
+		return solver.getTopPaths();
+	}
+	
+	/**
+	 * Computes several aggregates of a file while reading it once.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @param aggregates Aggregates to compute.
+	 * @param bins Number of bins in the histogram, if it is computed.
+	 * @return Report of the aggregates, with a row count of -1 if an error is encountered.
+	 * @throws ProcessException thrown when there is an error processing the file or a path
+	 * does not fit in a long.
+	 */
+	public PathReport analyzeFile(String fileName, String delimeter, Set<PathAggregate> aggregates, int bins) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		PathAnalysis analysis = new PathAnalysis(aggregates, bins);
+		int rowCount;
+		try(RowReader rows = openRows(fileName, delimeter, IngestionMode.STREAM, null)) {
+			rowCount = feed(rows, analysis);
+		} catch (FileNotFoundException ex) {
+			err.println("File '" + fileName + "' not found: " + ex.getMessage());
+			throw new ProcessException("Unable to find file.", ex);
+		} catch (IOException ex) {
+			err.println("Error reading file '" + fileName + "' : " + ex.getMessage());
+			throw new ProcessException("Unable to read file.", ex);
+		} catch(NumberFormatException ex) {
+			err.println("Unexpected error converter string to integer.");
+			throw new ProcessException("Unable to parse file.", ex);
+		} catch(ArithmeticException ex) {
+			err.println("A path of file '" + fileName + "' is too large for a long.");
+			throw new ProcessException("Max path is too large.", ex);
+		}
+		
+		if(rowCount == -1) {
+			return PathReport.error();
+		} else if(rowCount == 0) {
+			return new PathReport(Collections.emptySet(), 0, 0, 0, 0, null, 0, 0);
+		}
+		return analysis.getReport();
+	}
+	
+	/**
+	 * Retrieves the value of the highest path from a file, saving checkpoints next to it as it
+	 * goes. An interrupted run, or a file which only had rows appended since it was last solved,
+	 * resumes from the last checkpoint instead of the first row.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @param checkpointRows Number of rows solved between checkpoints.
+	 * @return maximum path from a file.
+	 * @throws ProcessException thrown when there is an error processing the file or the
+	 * maximum path does not fit in a long.
+	 */
+	public long getMaxPathResumable(String fileName, String delimeter, int checkpointRows) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		try {
+			return new CheckpointedSolver(err, checkpointRows).solve(fileName, delimeter);
+		} catch (FileNotFoundException ex) {
+			err.println("File '" + fileName + "' not found: " + ex.getMessage());
+			throw new ProcessException("Unable to find file.", ex);
+		} catch (IOException ex) {
+			err.println("Error reading file '" + fileName + "' : " + ex.getMessage());
+			throw new ProcessException("Unable to read file.", ex);
+		} catch(NumberFormatException ex) {
+			err.println("Unexpected error converter string to integer.");
+			throw new ProcessException("Unable to parse file.", ex);
+		} catch(ArithmeticException ex) {
+			err.println("Max path of file '" + fileName + "' is too large for a long.");
+			throw new ProcessException("Max path is too large.", ex);
+		}
+	}
+	
+	/**
+	 * Retrieves the value of the highest path from a file by computing slabs of its rows at the
+	 * same time and combining them in order. The rows of the file are indexed next to it first.
+	 * @param fileName Name of a file.
+	 * @param delimeter used by 
+	 * @param slabHeight Number of rows in each slab.
+	 * @param workers Addresses of running servers to compute slabs, empty to use every core.
+	 * @return maximum path from a file.
+	 * @throws ProcessException thrown when there is an error processing the file or reaching
+	 * a worker.
+	 */
+	public long getMaxPathFromSlabs(String fileName, String delimeter, int slabHeight, List<String> workers) throws ProcessException {
 		if(fileName == null) {
 			throw new IllegalArgumentException("FileName cannot be null.");
 		}
@@ -59,8 +556,10 @@ public class PathAnalyzer {
 			throw new IllegalArgumentException("Delimeter cannot be null.");
 		}
 		
-		try(BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-			return getMaxPathFromReader(reader, delimeter);
+		SlabSolver solver = new SlabSolver(err, slabHeight, Runtime.getRuntime().availableProcessors());
+		solver.setWorkers(workers);
+		try {
+			return solver.solve(fileName, delimeter);
 		} catch (FileNotFoundException ex) {
 			err.println("File '" + fileName + "' not found: " + ex.getMessage());
 			throw new ProcessException("Unable to find file.", ex);
@@ -73,14 +572,131 @@ public class PathAnalyzer {
 		}
 	}
 	
+	/**
+	 * Converts a text file to the binary triangle format, which is detected and loaded without
+	 * parsing whenever it is given in place of a text file.
+	 * @param fileName Name of a text file.
+	 * @param delimeter used by 
+	 * @param binaryFileName Name of the binary file to write.
+	 * @param encoding How values are stored.
+	 * @return Number of rows converted.
+	 * @throws ProcessException thrown when there is an error processing either file
+	 */
+	public long convertFile(String fileName, String delimeter, String binaryFileName, BinaryEncoding encoding) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(binaryFileName == null) {
+			throw new IllegalArgumentException("BinaryFileName cannot be null.");
+		}
+		
+		if(encoding == null) {
+			throw new IllegalArgumentException("Encoding cannot be null.");
+		}
+		
+		try {
+			return BinaryTriangleWriter.convert(fileName, delimeter, binaryFileName, encoding);
+		} catch (FileNotFoundException ex) {
+			err.println("File '" + fileName + "' not found: " + ex.getMessage());
+			throw new ProcessException("Unable to find file.", ex);
+		} catch (IOException ex) {
+			err.println("Error converting file '" + fileName + "' : " + ex.getMessage());
+			throw new ProcessException("Unable to convert file.", ex);
+		} catch(NumberFormatException ex) {
+			err.println("Unexpected error converter string to integer.");
+			throw new ProcessException("Unable to parse file.", ex);
+		} catch(IllegalArgumentException ex) {
+			err.println("File does not expand by one record per row as expected.");
+			throw new ProcessException("Unable to convert file.", ex);
+		}
+	}
+	
+	/**
+	 * Indexes the rows of a text file and saves the index next to it so any range of its rows
+	 * can later be read through {@link RowIndex#openRows(int, int, String)}.
+	 * @param fileName Name of a text file.
+	 * @param interval Number of rows between indexed offsets.
+	 * @return Index of the file.
+	 * @throws ProcessException thrown when there is an error reading the file or writing the index
+	 */
+	public RowIndex indexFile(String fileName, int interval) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		try {
+			RowIndex index = RowIndex.build(fileName, interval);
+			index.save();
+			return index;
+		} catch (FileNotFoundException ex) {
+			err.println("File '" + fileName + "' not found: " + ex.getMessage());
+			throw new ProcessException("Unable to find file.", ex);
+		} catch (IOException ex) {
+			err.println("Error indexing file '" + fileName + "' : " + ex.getMessage());
+			throw new ProcessException("Unable to index file.", ex);
+		}
+	}
+	
+	/**
+	 * @param recorder Times reading from the file's channel when it is streamed, may be null.
+	 */
+	private RowReader openRows(String fileName, String delimeter, IngestionMode mode, SolveRecorder recorder) throws IOException {
+		//Standard input and compressed files can only be streamed.
+		if(fileName.equals(InputChannels.STANDARD_INPUT)) {
+			return new ChannelRowReader(time(InputChannels.open(fileName), recorder), delimeter);
+		}
+		
+		FileChannel channel = new FileInputStream(fileName).getChannel();
+		try {
+			if(recorder != null) {
+				recorder.setInputSize(channel.size());
+			}
+			
+			if(BinaryTriangleFormat.isBinary(channel)) {
+				return new BinaryRowReader(channel);
+			} else if(InputChannels.isCompressed(fileName, channel)) {
+				return new ChannelRowReader(InputChannels.decode(time(channel, recorder), InputChannels.isZlibName(fileName)), delimeter);
+			} else if(mode == IngestionMode.MAPPED) {
+				return new MappedRowReader(channel, delimeter);
+			} else if(mode == IngestionMode.CHUNKED) {
+				return new ChunkedRowReader(channel, delimeter);
+			}
+			return new ChannelRowReader(time(channel, recorder), delimeter);
+		} catch(IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	private static ReadableByteChannel time(ReadableByteChannel channel, SolveRecorder recorder) {
+		return recorder == null ? channel : recorder.time(channel);
+	}
+	
 	/**
 	 * @param fileName Name of the file we will be identifying the max path value of.
 	 * @param delimeter Value that we should be splitting each line on.
 	 * @return The max path found in the file. -1 if an error is encountered.
 	 * @throws IOException thrown if there is an error reader the file.
 	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 * @throws ArithmeticException thrown if the max path does not fit in a long.
+	 */
+	public long getMaxPathFromReader(BufferedReader reader, String delimeter) throws NumberFormatException, IOException {
+			return getExactMaxPathFromReader(reader, delimeter).longValueExact();
+	}
+	
+	/**
+	 * @param fileName Name of the file we will be identifying the max path value of.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return The max path found in the file however large it is. -1 if an error is encountered.
+	 * @throws IOException thrown if there is an error reader the file.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
 	 */
-	public int getMaxPathFromReader(BufferedReader reader, String delimeter) throws NumberFormatException, IOException {
+	public BigInteger getExactMaxPathFromReader(BufferedReader reader, String delimeter) throws NumberFormatException, IOException {
 			if(reader == null) {
 				throw new IllegalArgumentException("Reader cannot be null.");
 			}
@@ -89,80 +705,114 @@ public class PathAnalyzer {
 				throw new IllegalArgumentException("Delimeter cannot be null.");
 			}
 			
-			String line = getNext(reader);
-			if(line == null) {
-				err.println("Reader has no content.");
-				return 0;
+			return getMaxPath(new LineRowReader(reader, delimeter), metrics == null ? null : new SolveRecorder());
+	}
+	
+	/**
+	 * Reads rows straight from a stream, decompressing it first if it is gzip or zlib.
+	 * @param in Stream holding the triangle, read until its end but not closed.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return The max path found in the stream however large it is. -1 if an error is encountered.
+	 * @throws IOException thrown if there is an error reading the stream.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 */
+	public BigInteger getExactMaxPathFromStream(InputStream in, String delimeter) throws NumberFormatException, IOException {
+			if(in == null) {
+				throw new IllegalArgumentException("In cannot be null.");
 			}
 			
-			String[] nodeValues;
-			int[] previousMaxPaths = { Integer.parseInt(line) };
-			int[] currentMaxPaths;
-			int currentValue;
-			int leftIndex;
-			int rightIndex;
-			int leftValue;
-			int rightValue;
-			int placeAt;
-			String node;
-			String[] tempNodeValues;
-			while((line = getNext(reader)) != null) {
-				nodeValues = line.split(delimeter);
-				tempNodeValues = new String[nodeValues.length];
-				
-				placeAt = 0;
-				for(int i = 0; i < nodeValues.length; i++) {
-					node = nodeValues[i].trim();
-					if(!node.isEmpty()) {
-						tempNodeValues[placeAt++] = node;
-					}
+			if(delimeter == null) {
+				throw new IllegalArgumentException("Delimeter cannot be null.");
+			}
+			
+			//Only the decoding layers are closed, the stream belongs to the caller.
+			SolveRecorder recorder = metrics == null ? null : new SolveRecorder();
+			ReadableByteChannel channel = InputChannels.decode(time(Channels.newChannel(new FilterInputStream(in) {
+				@Override
+				public void close() {
 				}
-				
-				//Line had extra spaces. Clean it up.
-				if(placeAt != nodeValues.length) {
-					nodeValues = new String[placeAt];
-					System.arraycopy(tempNodeValues, 0, nodeValues, 0, placeAt);
+			}), recorder));
+			try(RowReader rows = new ChannelRowReader(channel, delimeter)) {
+				return getMaxPath(rows, recorder);
+			}
+	}
+	
+	/**
+	 * @param rows Rows of the triangle we will be identifying the max path value of.
+	 * @param recorder Records the stats of the solve, null to not measure it.
+	 * @return The max path found in the rows. -1 if an error is encountered.
+	 * @throws IOException thrown if there is an error reading the rows.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 */
+	private BigInteger getMaxPath(RowReader rows, SolveRecorder recorder) throws NumberFormatException, IOException {
+			PathSolver solver = solvers.get();
+			try {
+				int rowCount;
+				if(recorder == null) {
+					rowCount = feed(rows, solver);
+				} else {
+					rowCount = feed(recorder.time(rows), recorder.time(solver));
+					lastStats = recorder.finish();
+					metrics.record(lastStats);
 				}
 				
-				if(nodeValues.length != previousMaxPaths.length + 1) {
-					err.println("File does not expand by one record per row as expected.");
-					return -1;
+				if(rowCount == -1) {
+					return BigInteger.valueOf(-1);
+				} else if(rowCount == 0) {
+					return BigInteger.ZERO;
 				}
-				
-				currentMaxPaths = new int[nodeValues.length];
-				for(int i = 0; i < nodeValues.length; i++) {
-					leftIndex = i - 1;
-					rightIndex = i;
-					currentValue =  Integer.parseInt(nodeValues[i]);
-					
-					if(leftIndex == -1) {
-						leftValue = 0;
-					} else {
-						leftValue = previousMaxPaths[leftIndex];
-					}
-					
-					if(rightIndex == previousMaxPaths.length) {
-						rightValue = 0;
-					} else {
-						rightValue = previousMaxPaths[rightIndex];
-					}
-					
-					if(leftValue > rightValue) {
-						currentMaxPaths[i] = currentValue + leftValue;
-					} else {
-						currentMaxPaths[i] = currentValue + rightValue;
-					}
+				return solver.getExactMaxPath();
+			} catch(UncheckedIOException ex) {
+				//Solvers keeping their rows outside the heap report failures to grow them this way.
+				throw ex.getCause();
+			} finally {
+				if(solver instanceof Closeable) {
+					((Closeable) solver).close();
+				}
+			}
+	}
+	
+	/**
+	 * Feeds every row to a solver after checking each row is one value wider than the last.
+	 * 
+	 * @param rows Rows of the triangle.
+	 * @param solver Solver the rows are added to.
+	 * @return Number of rows added. 0 if there are no rows, -1 if an error is encountered.
+	 * @throws IOException thrown if there is an error reading the rows.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 */
+	private int feed(RowReader rows, PathSolver solver) throws NumberFormatException, IOException {
+			if(pipelineDepth > 0) {
+				try(RowReader pipelined = new PipelinedRowReader(rows, pipelineDepth)) {
+					return feedRows(pipelined, solver);
 				}
-				previousMaxPaths = currentMaxPaths;
+			}
+			return feedRows(rows, solver);
+	}
+	
+	private int feedRows(RowReader rows, PathSolver solver) throws NumberFormatException, IOException {
+			int width = rows.nextRow();
+			if(width == -1) {
+				err.println("Reader has no content.");
+				return 0;
+			}
+			
+			if(width != 1) {
+				throw new NumberFormatException("First row must contain a single value.");
 			}
 			
-			int maxPath = previousMaxPaths[0];
-			for(int i = 1; i < previousMaxPaths.length; i++) {
-				if(previousMaxPaths[i] > maxPath) {
-					maxPath = previousMaxPaths[i];
+			solver.addRow(rows.getRow(), width);
+			int previousWidth = width;
+			while((width = rows.nextRow()) != -1) {
+				if(width != previousWidth + 1) {
+					err.println("File does not expand by one record per row as expected.");
+					return -1;
 				}
+				
+				solver.addRow(rows.getRow(), width);
+				previousWidth = width;
 			}
-			return maxPath;
+			return previousWidth;
 	}
 	
 	public String getNext(BufferedReader reader) throws IOException {
@@ -180,8 +830,12 @@ public class PathAnalyzer {
 		return null;
 	}
 	
-	public void printMaxPath(int maxPath) {
-		if(maxPath == -1) {
+	public void printMaxPath(long maxPath) {
+		printMaxPath(BigInteger.valueOf(maxPath));
+	}
+	
+	public void printMaxPath(BigInteger maxPath) {
+		if(maxPath.equals(BigInteger.valueOf(-1))) {
 			err.println("Error encountered while evaluating max path. Please review console output.");
 		} else {
 			out.println("Max path of '" + maxPath + "' found");
@@ -189,19 +843,228 @@ public class PathAnalyzer {
 	}
 
 	/**
-	 * @param args First argument should be the name of the file we will be processing.
+	 * Prints the max path followed by the row, column and value of every node on its route.
+	 * 
+	 * @param route Route to print.
+	 */
+	public void printRoute(PathRoute route) {
+		if(route == null) {
+			throw new IllegalArgumentException("Route cannot be null.");
+		}
+		
+		printMaxPath(route.getMaxPath());
+		if(route.getMaxPath() == -1) {
+			return;
+		}
+		
+		StringBuilder line = new StringBuilder();
+		for(int row = 0; row < route.getRowCount(); row++) {
+			line.setLength(0);
+			line.append("Row ").append(row)
+				.append(" column ").append(route.getColumn(row))
+				.append(" value ").append(route.getValue(row));
+			out.println(line.toString());
+		}
+	}
+	
+	/**
+	 * Prints every aggregate of a report, one per line.
+	 * 
+	 * @param report Report from {@link #analyzeFile(String, String, Set, int)}.
+	 */
+	public void printReport(PathReport report) {
+		if(report == null) {
+			throw new IllegalArgumentException("Report cannot be null.");
+		}
+		
+		if(report.getRowCount() == -1) {
+			printMaxPath(-1);
+			return;
+		}
+		
+		out.println("Rows: " + report.getRowCount());
+		Set<PathAggregate> aggregates = report.getAggregates();
+		if(aggregates.contains(PathAggregate.MAX)) {
+			out.println("Max path: " + report.getMaxPath());
+		}
+		
+		if(aggregates.contains(PathAggregate.MIN)) {
+			out.println("Min path: " + report.getMinPath());
+		}
+		
+		if(aggregates.contains(PathAggregate.MAX_COUNT)) {
+			long count = report.getMaxPathCount();
+			out.println("Paths reaching max: " + (count == Long.MAX_VALUE ? "at least " : "") + count);
+		}
+		
+		if(aggregates.contains(PathAggregate.HISTOGRAM)) {
+			long[] histogram = report.getHistogram();
+			long low = report.getHistogramLow();
+			long binWidth = report.getHistogramBinWidth();
+			out.println("Bottom row totals:");
+			for(int i = 0; i < histogram.length; i++) {
+				out.println("  " + (low + i * binWidth) + " to " + (low + (i + 1) * binWidth - 1) + ": " + histogram[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Prints each of the best path totals, best first.
+	 * 
+	 * @param topPaths Totals from {@link #getTopPathsFromFile(String, String, int)}.
+	 */
+	public void printTopPaths(long[] topPaths) {
+		if(topPaths == null) {
+			throw new IllegalArgumentException("TopPaths cannot be null.");
+		}
+		
+		if(topPaths.length == 1 && topPaths[0] == -1) {
+			printMaxPath(-1);
+			return;
+		}
+		
+		for(int i = 0; i < topPaths.length; i++) {
+			out.println("Path " + (i + 1) + " of '" + topPaths[i] + "' found");
+		}
+	}
+	
+	/**
+	 * @param args Name of the file we will be processing along with any of these options.
+	 * --mmap to map the file into memory instead of reading it through a buffer.
+	 * --chunked to parse ranges of the file on every core at once.
+	 * --pipeline to read the file on a separate thread.
+	 * --parallel to split wide rows across cores.
+	 * --off-heap to keep the best paths of each row outside the heap, in files mapped from
+	 * --scratch=DIR if given.
+	 * --route to also print the route taken by the max path.
+	 * --top=K to print the best K distinct path totals instead of only the max path.
+	 * --analyze or --analyze=max,min,count,histogram to print several aggregates from one pass,
+	 * with --bins=N bins in the histogram.
+	 * --batch to process many files, directories or glob patterns concurrently, limited by
+	 * --max-open-files=N and --max-memory-mb=N.
+	 * --stats to print where the time of the solve went.
+	 * --index or --index=K to save the offset of every K-th row next to the file.
+	 * --slabs or --slabs=H to solve slabs of H rows at once, on the servers given by
+	 * --workers=ADDR,ADDR if any.
+	 * --server=PORT to answer requests over HTTP, on the loopback address unless given
+	 * --bind=ADDR. Any other address lets every host that can reach it read any file the
+	 * server can read through /solve?file= and /slab?file=.
 	 */
 	public static void main(String... args) {
-		if(args == null || args.length != 1) {
-			throw new IllegalArgumentException("Please provide the name of the file you wish to process.");
+		CommandLineOptions options = CommandLineOptions.parse(args);
+		
+		Supplier<? extends PathSolver> solvers;
+		if(options.isOffHeap()) {
+			File scratchDirectory = options.getScratchDirectory() == null ? null : new File(options.getScratchDirectory());
+			solvers = () -> new OffHeapPathSolver(scratchDirectory);
+		} else {
+			solvers = options.isParallel() ? ParallelPathSolver::new : PathSolvers.adaptive();
+		}
+		
+		ResultCache resultCache = null;
+		if(options.getCacheDirectory() != null) {
+			try {
+				resultCache = new ResultCache(new File(options.getCacheDirectory()), DEFAULT_CACHE_ENTRIES);
+			} catch(IOException ex) {
+				System.err.println("Result cache unavailable: " + ex.getMessage());
+			}
+		}
+		
+		if(options.getServerPort() > 0) {
+			try {
+				InetAddress bindAddress = options.getBindAddress() == null
+						? InetAddress.getLoopbackAddress() : InetAddress.getByName(options.getBindAddress());
+				SolverServer server = new SolverServer(new InetSocketAddress(bindAddress, options.getServerPort()),
+						Runtime.getRuntime().availableProcessors(), DEFAULT_SERVER_QUEUE, solvers);
+				server.setResultCache(resultCache);
+				if(options.isStats()) {
+					server.setMetrics(SolveMetrics.getShared());
+				}
+				server.start();
+				System.out.println("Listening on port " + server.getPort());
+			} catch(IOException ex) {
+				System.err.println("Unable to start server: " + ex.getMessage());
+			}
+			return;
+		}
+		
+		if(options.getConnectAddress() != null) {
+			SolverClient client = new SolverClient(System.err, options.getConnectAddress());
+			try {
+				new PathAnalyzer(System.out, System.err).printMaxPath(client.getExactMaxPathFromFile(options.getFileNames().get(0), " "));
+			} catch(ProcessException ex) {
+				System.err.println(ex.getMessage());
+			}
+			return;
 		}
 		
-		String fileName = args[0];
+		if(options.isBatch()) {
+			BatchAnalyzer batch = new BatchAnalyzer(System.out, System.err, solvers, options.getMaxOpenFiles(), options.getMaxMemory());
+			batch.setPipelineDepth(options.getPipelineDepth());
+			batch.setResultCache(resultCache);
+			if(options.isStats()) {
+				batch.setMetrics(SolveMetrics.getShared());
+			}
+			try {
+				batch.analyze(batch.expand(options.getFileNames()), " ", options.getMode());
+				if(options.isStats()) {
+					System.out.println(SolveMetrics.getShared());
+				}
+			} catch (ProcessException ex) {
+				System.err.println(ex.getMessage());
+			}
+			return;
+		}
 		
-		PathAnalyzer maxPath = new PathAnalyzer(System.out, System.err);
+		PathAnalyzer maxPath = new PathAnalyzer(System.out, System.err, solvers);
+		maxPath.setPipelineDepth(options.getPipelineDepth());
+		maxPath.setResultCache(resultCache);
+		if(options.isStats()) {
+			maxPath.setMetrics(SolveMetrics.getShared());
+		}
 		
 		try {
-			maxPath.printMaxPath(maxPath.getMaxPathFromFile(fileName, " "));
+			if(options.getConvertFileName() != null) {
+				long rows = maxPath.convertFile(options.getFileNames().get(0), " ", options.getConvertFileName(), options.getEncoding());
+				System.out.println("Converted " + rows + " rows to '" + options.getConvertFileName() + "'");
+				return;
+			}
+			
+			if(options.getIndexInterval() > 0) {
+				RowIndex index = maxPath.indexFile(options.getFileNames().get(0), options.getIndexInterval());
+				System.out.println("Indexed " + index.getRowCount() + " rows to '" + RowIndex.sidecarFor(options.getFileNames().get(0)) + "'");
+				return;
+			}
+			
+			if(options.getSlabHeight() > 0) {
+				maxPath.printMaxPath(maxPath.getMaxPathFromSlabs(options.getFileNames().get(0), " ", options.getSlabHeight(), options.getWorkers()));
+				return;
+			}
+			
+			if(options.getCheckpointRows() > 0) {
+				maxPath.printMaxPath(maxPath.getMaxPathResumable(options.getFileNames().get(0), " ", options.getCheckpointRows()));
+				return;
+			}
+			
+			if(!options.getAggregates().isEmpty()) {
+				maxPath.printReport(maxPath.analyzeFile(options.getFileNames().get(0), " ", options.getAggregates(), options.getBins()));
+				return;
+			}
+			
+			if(options.getTopPaths() > 0) {
+				maxPath.printTopPaths(maxPath.getTopPathsFromFile(options.getFileNames().get(0), " ", options.getTopPaths()));
+				return;
+			}
+			
+			if(options.isRoute()) {
+				maxPath.printRoute(maxPath.getMaxPathWithRoute(options.getFileNames().get(0), " "));
+				return;
+			}
+			
+			maxPath.printMaxPath(maxPath.getExactMaxPathFromFile(options.getFileNames().get(0), " ", options.getMode()));
+			if(maxPath.getLastStats() != null) {
+				System.out.println(maxPath.getLastStats());
+			}
 		} catch(IllegalArgumentException ex) {
 			System.err.println(ex.getMessage());
 		} catch (ProcessException ex) {
@@ -209,4 +1072,34 @@ public class PathAnalyzer {
 		}
 	}
 	
+	/**
+	 * Supplies rows from lines returned by {@link PathAnalyzer#getNext(BufferedReader)}.
+	 */
+	private class LineRowReader extends RowReader {
+		
+		private final BufferedReader reader;
+		
+		LineRowReader(BufferedReader reader, String delimeter) {
+			super(delimeter);
+			this.reader = reader;
+		}
+		
+		@Override
+		public int nextRow() throws IOException, NumberFormatException {
+			String line;
+			int width;
+			while((line = getNext(reader)) != null) {
+				width = tokenizer.parse(line);
+				if(width > 0) {
+					return width;
+				}
+			}
+			return -1;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			//The reader belongs to the caller of getMaxPathFromReader.
+		}
+	}
 }
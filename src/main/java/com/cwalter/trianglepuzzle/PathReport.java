@@ -0,0 +1,123 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Aggregates of a triangle computed by {@link PathAnalysis}. Only the aggregates which were
+ * asked for can be read.
+ */
+public class PathReport {
+	
+	private final Set<PathAggregate> aggregates;
+	
+	private final int rowCount;
+	
+	private final long maxPath;
+	
+	private final long minPath;
+	
+	private final long maxPathCount;
+	
+	private final long[] histogram;
+	
+	private final long histogramLow;
+	
+	private final long binWidth;
+	
+	/**
+	 * @param aggregates Aggregates which were computed.
+	 * @param rowCount Number of rows in the triangle, -1 if an error was encountered.
+	 * @param maxPath Total of the best path.
+	 * @param minPath Total of the worst path.
+	 * @param maxPathCount Number of paths whose total is the best.
+	 * @param histogram Number of bottom row positions whose best total falls in each bin.
+	 * @param histogramLow Lowest total of the first bin.
+	 * @param binWidth Number of totals in each bin.
+	 */
+	public PathReport(Set<PathAggregate> aggregates, int rowCount, long maxPath, long minPath, long maxPathCount, long[] histogram, long histogramLow, long binWidth) {
+		if(aggregates == null) {
+			throw new IllegalArgumentException("Aggregates cannot be null.");
+		}
+		
+		if(aggregates.contains(PathAggregate.HISTOGRAM) && histogram == null) {
+			throw new IllegalArgumentException("Histogram cannot be null.");
+		}
+		
+		this.aggregates = aggregates.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(aggregates));
+		this.rowCount = rowCount;
+		this.maxPath = maxPath;
+		this.minPath = minPath;
+		this.maxPathCount = maxPathCount;
+		this.histogram = histogram;
+		this.histogramLow = histogramLow;
+		this.binWidth = binWidth;
+	}
+	
+	/**
+	 * @return Report of a triangle which could not be analyzed.
+	 */
+	static PathReport error() {
+		return new PathReport(Collections.emptySet(), -1, -1, 0, 0, null, 0, 0);
+	}
+	
+	public Set<PathAggregate> getAggregates() {
+		return aggregates;
+	}
+	
+	/**
+	 * @return Number of rows in the triangle, -1 if an error was encountered.
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+	
+	public long getMaxPath() {
+		check(PathAggregate.MAX);
+		return maxPath;
+	}
+	
+	public long getMinPath() {
+		check(PathAggregate.MIN);
+		return minPath;
+	}
+	
+	/**
+	 * @return Number of paths whose total is the best, Long.MAX_VALUE if there are more.
+	 */
+	public long getMaxPathCount() {
+		check(PathAggregate.MAX_COUNT);
+		return maxPathCount;
+	}
+	
+	/**
+	 * @return Number of bottom row positions whose best total falls in each bin, lowest first.
+	 */
+	public long[] getHistogram() {
+		check(PathAggregate.HISTOGRAM);
+		return histogram.clone();
+	}
+	
+	/**
+	 * @return Lowest total of the first bin of the histogram.
+	 */
+	public long getHistogramLow() {
+		check(PathAggregate.HISTOGRAM);
+		return histogramLow;
+	}
+	
+	/**
+	 * @return Number of totals in each bin of the histogram.
+	 */
+	public long getHistogramBinWidth() {
+		check(PathAggregate.HISTOGRAM);
+		return binWidth;
+	}
+	
+	private void check(PathAggregate aggregate) {
+		if(!aggregates.contains(aggregate)) {
+			throw new IllegalStateException(aggregate + " was not computed.");
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * Max path of a triangle along with the node taken on every row to reach it.
+ */
+public class PathRoute {
+	
+	private final long maxPath;
+	
+	private final int[] columns;
+	
+	private final int[] values;
+	
+	/**
+	 * @param maxPath Value of the max path, -1 if an error was encountered.
+	 * @param columns Column of the node taken on each row, indexed by row.
+	 * @param values Value of the node taken on each row, indexed by row.
+	 */
+	public PathRoute(long maxPath, int[] columns, int[] values) {
+		if(columns == null || values == null) {
+			throw new IllegalArgumentException("Columns and values cannot be null.");
+		}
+		
+		if(columns.length != values.length) {
+			throw new IllegalArgumentException("Columns and values must have the same length.");
+		}
+		
+		this.maxPath = maxPath;
+		this.columns = columns;
+		this.values = values;
+	}
+	
+	public long getMaxPath() {
+		return maxPath;
+	}
+	
+	/**
+	 * @return Number of rows in the route.
+	 */
+	public int getRowCount() {
+		return columns.length;
+	}
+	
+	/**
+	 * @param row Index of a row, 0 being the top of the triangle.
+	 * @return Column of the node taken on the row.
+	 */
+	public int getColumn(int row) {
+		return columns[row];
+	}
+	
+	/**
+	 * @param row Index of a row, 0 being the top of the triangle.
+	 * @return Value of the node taken on the row.
+	 */
+	public int getValue(int row) {
+		return values[row];
+	}
+}
@@ -0,0 +1,33 @@
+package com.cwalter.trianglepuzzle;
+
+import java.math.BigInteger;
+
+/**
+ * Computes the maximum path of a triangle which is fed to it one row at a time, top to bottom.
+ * Implementations are not expected to be thread safe. A new solver is used for each triangle.
+ *
+ * Callers are responsible for validating that each row is one value wider than the last.
+ */
+public interface PathSolver {
+	
+	/**
+	 * Adds the next row of the triangle.
+	 * 
+	 * @param values Values of the row. May be reused by the caller once this method returns.
+	 * @param width Number of valid values in the row.
+	 */
+	void addRow(int[] values, int width);
+	
+	/**
+	 * @return The max path through the rows added so far.
+	 * @throws ArithmeticException thrown if the max path does not fit in a long.
+	 */
+	long getMaxPath();
+	
+	/**
+	 * @return The max path through the rows added so far, however large it is.
+	 */
+	default BigInteger getExactMaxPath() {
+		return BigInteger.valueOf(getMaxPath());
+	}
+}
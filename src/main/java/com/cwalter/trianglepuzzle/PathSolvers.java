@@ -0,0 +1,54 @@
+package com.cwalter.trianglepuzzle;
+
+import java.lang.reflect.Constructor;
+import java.util.function.Supplier;
+
+/**
+ * Creates suppliers for the solvers available to this JVM.
+ */
+public final class PathSolvers {
+	
+	private static final String VECTOR_SOLVER = "com.cwalter.trianglepuzzle.VectorPathSolver";
+	
+	private static final Constructor<? extends PathSolver> VECTOR_CONSTRUCTOR = findVectorConstructor();
+	
+	private PathSolvers() {
+	}
+	
+	/**
+	 * @return Supplier of overflow safe solvers, vectorized if the Vector API is available.
+	 */
+	public static Supplier<PathSolver> adaptive() {
+		if(VECTOR_CONSTRUCTOR == null) {
+			return AdaptivePathSolver::new;
+		}
+		
+		return () -> {
+			try {
+				return VECTOR_CONSTRUCTOR.newInstance();
+			} catch(ReflectiveOperationException ex) {
+				throw new IllegalStateException("Unable to create " + VECTOR_SOLVER + ".", ex);
+			}
+		};
+	}
+	
+	/**
+	 * @return True if solvers from {@link #adaptive()} use the Vector API.
+	 */
+	public static boolean isVectorized() {
+		return VECTOR_CONSTRUCTOR != null;
+	}
+	
+	private static Constructor<? extends PathSolver> findVectorConstructor() {
+		//The class is only present when built with -Pvector and only links when the JVM was
+		//started with --add-modules jdk.incubator.vector.
+		try {
+			Constructor<? extends PathSolver> constructor = Class.forName(VECTOR_SOLVER)
+					.asSubclass(PathSolver.class).getConstructor();
+			constructor.newInstance();
+			return constructor;
+		} catch(ReflectiveOperationException | LinkageError ex) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Reads and parses rows of another reader on a separate thread so the caller can solve one
+ * row while the next ones are being read. Parsed rows are handed over through a bounded ring
+ * of reusable slots. The reading thread blocks when every slot is full and the caller blocks
+ * when every slot is empty.
+ *
+ * Errors raised while reading are rethrown to the caller from {@link #nextRow()} in the
+ * order they occurred. The reading thread always hands over the end of the rows, even when it
+ * fails with an {@link Error}, so the caller is never left waiting.
+ */
+public class PipelinedRowReader extends RowReader {
+	
+	private final RowReader source;
+	
+	private final int[][] slots;
+	
+	private final int[] widths;
+	
+	private final Semaphore free;
+	
+	private final Semaphore filled;
+	
+	private final Thread reader;
+	
+	private volatile Throwable error;
+	
+	private int next;
+	
+	private int current = -1;
+	
+	private boolean done;
+	
+	/**
+	 * @param source Reader whose rows will be read on a separate thread. Closed with this reader.
+	 * @param depth Number of parsed rows which may wait for the caller.
+	 */
+	public PipelinedRowReader(RowReader source, int depth) {
+		if(source == null) {
+			throw new IllegalArgumentException("Source cannot be null.");
+		}
+		
+		if(depth < 1) {
+			throw new IllegalArgumentException("Depth must be positive.");
+		}
+		
+		this.source = source;
+		this.slots = new int[depth][];
+		this.widths = new int[depth];
+		this.free = new Semaphore(depth);
+		this.filled = new Semaphore(0);
+		this.reader = new Thread(this::read, "TrianglePuzzle-reader");
+		this.reader.setDaemon(true);
+		this.reader.start();
+	}
+	
+	private void read() {
+		int slot = 0;
+		int width;
+		int[] row;
+		//True while a slot is taken but not yet handed over.
+		boolean held = false;
+		try {
+			do {
+				free.acquire();
+				held = true;
+				width = source.nextRow();
+				if(width > 0) {
+					row = slots[slot];
+					if(row == null || row.length < width) {
+						row = new int[Math.max(width, row == null ? 0 : row.length << 1)];
+						slots[slot] = row;
+					}
+					System.arraycopy(source.getRow(), 0, row, 0, width);
+				}
+				widths[slot] = width;
+				slot = (slot + 1) % slots.length;
+				held = false;
+				filled.release();
+			} while(width > 0);
+		} catch(InterruptedException ex) {
+			//Closed before every row was read.
+		} catch(Throwable ex) {
+			error = ex;
+		} finally {
+			if(held) {
+				widths[slot] = -1;
+				filled.release();
+			}
+		}
+	}
+	
+	@Override
+	public int nextRow() throws IOException, NumberFormatException {
+		if(done) {
+			return -1;
+		}
+		
+		if(current != -1) {
+			free.release();
+		}
+		
+		try {
+			filled.acquire();
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the next row.", ex);
+		}
+		
+		current = next;
+		next = (next + 1) % slots.length;
+		int width = widths[current];
+		if(width == -1) {
+			done = true;
+			Throwable error = this.error;
+			if(error instanceof IOException) {
+				throw (IOException) error;
+			} else if(error instanceof RuntimeException) {
+				throw (RuntimeException) error;
+			} else if(error instanceof Error) {
+				throw (Error) error;
+			} else if(error != null) {
+				throw new IOException("Reading rows failed.", error);
+			}
+		}
+		return width;
+	}
+	
+	@Override
+	public int[] getRow() {
+		return slots[current];
+	}
+	
+	@Override
+	public void close() throws IOException {
+		reader.interrupt();
+		try {
+			reader.join();
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			source.close();
+		}
+	}
+}
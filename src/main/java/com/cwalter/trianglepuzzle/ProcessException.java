@@ -11,6 +11,10 @@ public class ProcessException extends Exception {
 	public ProcessException(String message, Exception ex) {
 		super(message, ex);
 	}
+	
+	public ProcessException(String message) {
+		super(message);
+	}
 
 	/**
 	 * 
@@ -0,0 +1,382 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * On disk cache of max paths keyed by a hash of the file content, the delimeter and the kind of
+ * solver, so any copy of a file already solved is answered without reading it. A file whose
+ * path, size and modification time are unchanged since it was last hashed is not hashed again.
+ *
+ * The cache is a small index file in its own directory. It is kept in memory and only read
+ * again once another process has replaced it. Changes hold a lock on the directory, both within
+ * this JVM and across JVMs sharing it, and replace the index atomically. A hit only reorders
+ * the index in memory, the order is saved with the next change. The least recently used
+ * results are evicted beyond the maximum entry count.
+ */
+public class ResultCache {
+	
+	private static final String INDEX = "results.idx";
+	
+	private static final String LOCK = "results.lock";
+	
+	private static final Map<String, Shared> SHARED = new ConcurrentHashMap<>();
+	
+	private final File directory;
+	
+	private final int maxEntries;
+	
+	private final Shared shared;
+	
+	private final AtomicLong hits = new AtomicLong();
+	
+	private final AtomicLong misses = new AtomicLong();
+	
+	private final AtomicLong hashes = new AtomicLong();
+	
+	/**
+	 * @param directory Directory holding the cache, created if it does not exist.
+	 * @param maxEntries Most results kept before the least recently used are evicted.
+	 * @throws IOException thrown if the directory cannot be created.
+	 */
+	public ResultCache(File directory, int maxEntries) throws IOException {
+		if(directory == null) {
+			throw new IllegalArgumentException("Directory cannot be null.");
+		}
+		
+		if(maxEntries < 1) {
+			throw new IllegalArgumentException("MaxEntries must be positive.");
+		}
+		
+		Files.createDirectories(directory.toPath());
+		this.directory = directory.getCanonicalFile();
+		this.maxEntries = maxEntries;
+		this.shared = SHARED.computeIfAbsent(this.directory.getPath(), path -> new Shared());
+	}
+	
+	/**
+	 * Identifies the content of a file, hashing it only if its path, size or modification time
+	 * changed since it was last hashed.
+	 * 
+	 * @param fileName Name of the file.
+	 * @return Hash of the file's content.
+	 * @throws IOException thrown if the file or the cache cannot be read.
+	 */
+	public long fingerprint(String fileName) throws IOException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		File file = new File(fileName).getCanonicalFile();
+		long size = file.length();
+		long modified = file.lastModified();
+		String path = file.getPath();
+		synchronized(shared) {
+			refresh();
+			PathEntry entry = shared.index.paths.get(path);
+			if(entry != null && entry.size == size && entry.modified == modified) {
+				return entry.hash;
+			}
+		}
+		
+		long hash;
+		try(FileChannel channel = new FileInputStream(file).getChannel()) {
+			hash = ContentHash.hash(channel);
+		}
+		hashes.incrementAndGet();
+		
+		//Only remember the hash if the file did not change while it was hashed.
+		if(file.length() == size && file.lastModified() == modified) {
+			update(index -> {
+				index.paths.remove(path);
+				index.paths.put(path, new PathEntry(size, modified, hash));
+			});
+		}
+		return hash;
+	}
+	
+	/**
+	 * @param fingerprint Hash of the file's content from {@link #fingerprint(String)}.
+	 * @param delimeter Delimeter the file is split on.
+	 * @param solver Kind of solver the file is solved with.
+	 * @return Max path cached for the content or null if it has not been solved.
+	 * @throws IOException thrown if the cache cannot be read.
+	 */
+	public BigInteger get(long fingerprint, String delimeter, String solver) throws IOException {
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(solver == null) {
+			throw new IllegalArgumentException("Solver cannot be null.");
+		}
+		
+		String key = key(fingerprint, delimeter, solver);
+		synchronized(shared) {
+			refresh();
+			Index index = shared.index;
+			BigInteger maxPath = index.results.get(key);
+			if(maxPath == null) {
+				misses.incrementAndGet();
+				return null;
+			}
+			
+			//Reinserting moves the entry to the most recently used end.
+			index.results.remove(key);
+			index.results.put(key, maxPath);
+			hits.incrementAndGet();
+			return maxPath;
+		}
+	}
+	
+	/**
+	 * @param fingerprint Hash of the file's content from {@link #fingerprint(String)}.
+	 * @param delimeter Delimeter the file is split on.
+	 * @param solver Kind of solver the file was solved with.
+	 * @param maxPath Max path of the file.
+	 * @throws IOException thrown if the cache cannot be written.
+	 */
+	public void put(long fingerprint, String delimeter, String solver, BigInteger maxPath) throws IOException {
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(solver == null) {
+			throw new IllegalArgumentException("Solver cannot be null.");
+		}
+		
+		if(maxPath == null) {
+			throw new IllegalArgumentException("MaxPath cannot be null.");
+		}
+		
+		String key = key(fingerprint, delimeter, solver);
+		update(index -> {
+			index.results.remove(key);
+			index.results.put(key, maxPath);
+		});
+	}
+	
+	/**
+	 * @return Number of results found by {@link #get(long, String, String)}.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+	
+	/**
+	 * @return Number of results not found by {@link #get(long, String, String)}.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+	
+	/**
+	 * @return Number of files {@link #fingerprint(String)} had to read and hash.
+	 */
+	public long getHashes() {
+		return hashes.get();
+	}
+	
+	/**
+	 * Reads the index again if another process replaced it since it was last read or written.
+	 * The caller holds the monitor of the shared index.
+	 */
+	private void refresh() throws IOException {
+		String stamp = stamp();
+		if(!Objects.equals(stamp, shared.stamp)) {
+			shared.index = readIndex();
+			shared.stamp = stamp;
+		}
+	}
+	
+	/**
+	 * Applies a change to the latest index while holding the directory lock and saves it.
+	 */
+	private void update(Consumer<Index> change) throws IOException {
+		synchronized(shared) {
+			FileLock lock = lock();
+			try {
+				refresh();
+				change.accept(shared.index);
+				evict(shared.index);
+				writeIndex(shared.index);
+				shared.stamp = stamp();
+			} finally {
+				lock.release();
+			}
+		}
+	}
+	
+	/**
+	 * The index is always replaced by a new file, so its file key changes with every write on
+	 * file systems which have them.
+	 * 
+	 * @return Identity, size and modification time of the index file, null if there is none.
+	 */
+	private String stamp() throws IOException {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(new File(directory, INDEX).toPath(), BasicFileAttributes.class);
+			return attributes.fileKey() + " " + attributes.size() + " " + attributes.lastModifiedTime();
+		} catch(NoSuchFileException ex) {
+			return null;
+		}
+	}
+	
+	private void evict(Index index) {
+		Iterator<BigInteger> results = index.results.values().iterator();
+		while(index.results.size() > maxEntries) {
+			results.next();
+			results.remove();
+		}
+		
+		//Paths are only worth keeping for a bounded number of files too.
+		Iterator<PathEntry> paths = index.paths.values().iterator();
+		while(index.paths.size() > maxEntries) {
+			paths.next();
+			paths.remove();
+		}
+	}
+	
+	private static String key(long fingerprint, String delimeter, String solver) {
+		StringBuilder key = new StringBuilder(Long.toHexString(fingerprint));
+		appendHex(key.append(':'), delimeter);
+		appendHex(key.append(':'), solver);
+		return key.toString();
+	}
+	
+	private static void appendHex(StringBuilder key, String value) {
+		for(byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+	}
+	
+	private FileLock lock() throws IOException {
+		@SuppressWarnings("resource")
+		FileChannel channel = new RandomAccessFile(new File(directory, LOCK), "rw").getChannel();
+		try {
+			return new ClosingLock(channel, channel.lock());
+		} catch(IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Index lines are "R key maxPath" for results, least recently used first, and
+	 * "P size modified hash path" for fingerprinted files.
+	 */
+	private Index readIndex() throws IOException {
+		Index index = new Index();
+		File file = new File(directory, INDEX);
+		if(!file.exists()) {
+			return index;
+		}
+		
+		String[] parts;
+		for(String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+			try {
+				if(line.startsWith("R ")) {
+					parts = line.split(" ", 3);
+					index.results.put(parts[1], new BigInteger(parts[2]));
+				} else if(line.startsWith("P ")) {
+					parts = line.split(" ", 5);
+					index.paths.put(parts[4], new PathEntry(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseUnsignedLong(parts[3], 16)));
+				}
+			} catch(NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+				//A damaged line only loses its own entry.
+			}
+		}
+		return index;
+	}
+	
+	private void writeIndex(Index index) throws IOException {
+		List<String> lines = new ArrayList<>(index.results.size() + index.paths.size());
+		for(Map.Entry<String, BigInteger> entry : index.results.entrySet()) {
+			lines.add("R " + entry.getKey() + " " + entry.getValue());
+		}
+		for(Map.Entry<String, PathEntry> entry : index.paths.entrySet()) {
+			PathEntry path = entry.getValue();
+			lines.add("P " + path.size + " " + path.modified + " " + Long.toHexString(path.hash) + " " + entry.getKey());
+		}
+		
+		File temp = new File(directory, INDEX + ".tmp");
+		Files.write(temp.toPath(), lines, StandardCharsets.UTF_8);
+		Files.move(temp.toPath(), new File(directory, INDEX).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	private static class Shared {
+		
+		private Index index = new Index();
+		
+		//Stamp of the index file the index was last read from or written to.
+		private String stamp;
+	}
+	
+	private static class Index {
+		
+		private final LinkedHashMap<String, BigInteger> results = new LinkedHashMap<>();
+		
+		private final LinkedHashMap<String, PathEntry> paths = new LinkedHashMap<>();
+	}
+	
+	private static class PathEntry {
+		
+		private final long size;
+		
+		private final long modified;
+		
+		private final long hash;
+		
+		PathEntry(long size, long modified, long hash) {
+			this.size = size;
+			this.modified = modified;
+			this.hash = hash;
+		}
+	}
+	
+	/**
+	 * Lock which also closes the channel of the lock file when released.
+	 */
+	private static class ClosingLock extends FileLock {
+		
+		private final FileLock lock;
+		
+		ClosingLock(FileChannel channel, FileLock lock) {
+			super(channel, lock.position(), lock.size(), lock.isShared());
+			this.lock = lock;
+		}
+		
+		@Override
+		public boolean isValid() {
+			return lock.isValid();
+		}
+		
+		@Override
+		public void release() throws IOException {
+			try {
+				lock.release();
+			} finally {
+				channel().close();
+			}
+		}
+	}
+}
@@ -0,0 +1,228 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the max path of a file along with the route taken, without keeping every row.
+ *
+ * The forward pass keeps a checkpoint of the best paths, and the byte offset of the next row,
+ * every k rows. k doubles whenever there would be more than k checkpoints so k stays close to
+ * the square root of the number of rows. The route is then rebuilt one segment at a time from
+ * the bottom, re-reading only the rows between two checkpoints. Memory used is about
+ * O(N * sqrt(N)) for N rows instead of the O(N^2) needed to keep every row.
+ *
+ * Sums are accumulated as longs.
+ */
+public class RouteFinder {
+	
+	private static final int INITIAL_INTERVAL = 16;
+	
+	private final PrintStream err;
+	
+	/**
+	 * @param err Stream errors will be printed to.
+	 */
+	public RouteFinder(PrintStream err) {
+		if(err == null) {
+			throw new IllegalArgumentException("err cannot be null");
+		}
+		
+		this.err = err;
+	}
+	
+	/**
+	 * Finds the route from the channel's current position. The channel is not closed.
+	 * 
+	 * @param channel File to read rows from. Seeked to re-read segments of the file.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return The max path and its route. The max path is 0 with no rows if the file is
+	 * empty and -1 with no rows if an error is encountered.
+	 * @throws IOException thrown if there is an error reading the file.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 * @throws ArithmeticException thrown if a path does not fit in a long.
+	 */
+	public PathRoute findRoute(FileChannel channel, String delimeter) throws IOException, NumberFormatException {
+		if(channel == null) {
+			throw new IllegalArgumentException("Channel cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		RowReader rows = new ChannelRowReader(channel, delimeter);
+		int width = rows.nextRow();
+		if(width == -1) {
+			err.println("Reader has no content.");
+			return new PathRoute(0, new int[0], new int[0]);
+		}
+		
+		if(width != 1) {
+			throw new NumberFormatException("First row must contain a single value.");
+		}
+		
+		int interval = INITIAL_INTERVAL;
+		List<Checkpoint> checkpoints = new ArrayList<>();
+		long[] previous = new long[INITIAL_INTERVAL];
+		long[] current = new long[INITIAL_INTERVAL];
+		long[] swap;
+		previous[0] = rows.getRow()[0];
+		checkpoints.add(new Checkpoint(0, rows.getPosition(), previous, 1));
+		
+		int row = 0;
+		while((width = rows.nextRow()) != -1) {
+			if(width != row + 2) {
+				err.println("File does not expand by one record per row as expected.");
+				return new PathRoute(-1, new int[0], new int[0]);
+			}
+			
+			if(width > current.length) {
+				current = new long[width << 1];
+				swap = new long[width << 1];
+				System.arraycopy(previous, 0, swap, 0, width - 1);
+				previous = swap;
+			}
+			
+			computeRow(previous, current, rows.getRow(), width);
+			swap = previous;
+			previous = current;
+			current = swap;
+			row++;
+			
+			if(row % interval == 0) {
+				checkpoints.add(new Checkpoint(row, rows.getPosition(), previous, width));
+				if(checkpoints.size() > interval) {
+					interval <<= 1;
+					thin(checkpoints, interval);
+				}
+			}
+		}
+		
+		int lastRow = row;
+		int column = 0;
+		for(int i = 1; i <= lastRow; i++) {
+			if(previous[i] > previous[column]) {
+				column = i;
+			}
+		}
+		long maxPath = previous[column];
+		
+		int[] columns = new int[lastRow + 1];
+		int[] values = new int[lastRow + 1];
+		int end = lastRow;
+		Checkpoint checkpoint;
+		for(int s = checkpoints.size() - 1; s >= 0; s--) {
+			checkpoint = checkpoints.get(s);
+			column = rebuildSegment(channel, delimeter, checkpoint, end, column, columns, values);
+			end = checkpoint.row;
+		}
+		columns[0] = column;
+		values[0] = (int) checkpoints.get(0).maxPaths[0];
+		return new PathRoute(maxPath, columns, values);
+	}
+	
+	/**
+	 * Re-reads the rows after a checkpoint up to end and walks the route back up through them.
+	 * 
+	 * @return Column of the route on the checkpoint's row.
+	 */
+	private int rebuildSegment(FileChannel channel, String delimeter, Checkpoint checkpoint, int end, int column,
+			int[] columns, int[] values) throws IOException {
+		int count = end - checkpoint.row;
+		if(count == 0) {
+			return column;
+		}
+		
+		long[][] maxPaths = new long[count + 1][];
+		int[][] rowValues = new int[count][];
+		maxPaths[0] = checkpoint.maxPaths;
+		
+		channel.position(checkpoint.offset);
+		RowReader rows = new ChannelRowReader(channel, delimeter);
+		int width;
+		for(int i = 1; i <= count; i++) {
+			width = rows.nextRow();
+			if(width != checkpoint.row + i + 1) {
+				throw new IOException("File changed while its route was being rebuilt.");
+			}
+			
+			maxPaths[i] = new long[width];
+			rowValues[i - 1] = new int[width];
+			System.arraycopy(rows.getRow(), 0, rowValues[i - 1], 0, width);
+			computeRow(maxPaths[i - 1], maxPaths[i], rowValues[i - 1], width);
+		}
+		
+		int row;
+		long[] parents;
+		for(int i = count; i >= 1; i--) {
+			row = checkpoint.row + i;
+			columns[row] = column;
+			values[row] = rowValues[i - 1][column];
+			
+			//Only one parent on the edges, otherwise the better parent, right on ties.
+			parents = maxPaths[i - 1];
+			if(column == row) {
+				column--;
+			} else if(column > 0 && parents[column - 1] > parents[column]) {
+				column--;
+			}
+		}
+		return column;
+	}
+	
+	/**
+	 * Same recurrence as {@link AdaptivePathSolver} in long lanes.
+	 * 
+	 * @throws ArithmeticException thrown if a sum overflows.
+	 */
+	private static void computeRow(long[] previous, long[] current, int[] values, int width) {
+		long parent = Math.max(previous[0], 0);
+		long sum = parent + values[0];
+		long overflow = (parent ^ sum) & (values[0] ^ sum);
+		current[0] = sum;
+		for(int i = 1; i < width - 1; i++) {
+			parent = Math.max(previous[i - 1], previous[i]);
+			sum = parent + values[i];
+			overflow |= (parent ^ sum) & (values[i] ^ sum);
+			current[i] = sum;
+		}
+		parent = Math.max(previous[width - 2], 0);
+		sum = parent + values[width - 1];
+		overflow |= (parent ^ sum) & (values[width - 1] ^ sum);
+		current[width - 1] = sum;
+		
+		if(overflow < 0) {
+			throw new ArithmeticException("Path does not fit in a long.");
+		}
+	}
+	
+	private static void thin(List<Checkpoint> checkpoints, int interval) {
+		int kept = 0;
+		for(Checkpoint checkpoint : checkpoints) {
+			if(checkpoint.row % interval == 0) {
+				checkpoints.set(kept++, checkpoint);
+			}
+		}
+		checkpoints.subList(kept, checkpoints.size()).clear();
+	}
+	
+	private static class Checkpoint {
+		
+		private final int row;
+		
+		private final long offset;
+		
+		private final long[] maxPaths;
+		
+		Checkpoint(int row, long offset, long[] maxPaths, int width) {
+			this.row = row;
+			this.offset = offset;
+			this.maxPaths = new long[width];
+			System.arraycopy(maxPaths, 0, this.maxPaths, 0, width);
+		}
+	}
+}
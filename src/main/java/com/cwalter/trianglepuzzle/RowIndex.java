@@ -0,0 +1,422 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Byte offsets of every k-th row of a plain text triangle, kept in a sidecar file next to it so
+ * any range of rows can be read without reading the rows before it. Row r always holds r + 1
+ * values so nothing else needs to be stored.
+ *
+ * Rows are found by scanning for line terminators without parsing, a line counts as a row if it
+ * holds a digit. Lines which are not valid rows are reported when the range holding them is read.
+ * The sidecar is only trusted while the file keeps the size and modification time it was
+ * indexed at.
+ */
+public class RowIndex {
+
+	public static final int DEFAULT_INTERVAL = 1024;
+	
+	private static final int MAGIC = 0x58444952;
+	
+	private static final int VERSION = 1;
+	
+	private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+	
+	private final String fileName;
+	
+	private final int interval;
+	
+	private final int rowCount;
+	
+	private final long size;
+	
+	private final long lastModified;
+	
+	private final long[] offsets;
+	
+	private RowIndex(String fileName, int interval, int rowCount, long size, long lastModified, long[] offsets) {
+		this.fileName = fileName;
+		this.interval = interval;
+		this.rowCount = rowCount;
+		this.size = size;
+		this.lastModified = lastModified;
+		this.offsets = offsets;
+	}
+	
+	/**
+	 * @param fileName Name of the input.
+	 * @return Sidecar file holding the index of the input.
+	 */
+	public static File sidecarFor(String fileName) {
+		return new File(fileName + ".ridx");
+	}
+	
+	/**
+	 * Loads the index of a file if it is still current and its interval divides the one given,
+	 * otherwise indexes the file again and saves the new index. An index which cannot be saved,
+	 * as in a read only directory, is still returned.
+	 *
+	 * @param fileName Name of a plain text triangle.
+	 * @param interval Number of rows between indexed offsets. Ranges starting at a multiple of it
+	 * are read without reading any row before them.
+	 * @param err Stream a failure to save the index is printed to.
+	 * @return Index of the file.
+	 * @throws IOException thrown if there is an error reading the file.
+	 */
+	public static RowIndex open(String fileName, int interval, PrintStream err) throws IOException {
+		if(err == null) {
+			throw new IllegalArgumentException("Err cannot be null.");
+		}
+		
+		RowIndex index = load(fileName);
+		//A coarser index would start every range up to its own interval before the range.
+		if(index == null || !index.serves(interval)) {
+			index = build(fileName, interval);
+			try {
+				index.save();
+			} catch(IOException ex) {
+				err.println("Unable to save index of '" + fileName + "': " + ex.getMessage());
+			}
+		}
+		return index;
+	}
+	
+	/**
+	 * Indexes a file without saving the index.
+	 *
+	 * @param fileName Name of a plain text triangle.
+	 * @param interval Number of rows between indexed offsets.
+	 * @return Index of the file.
+	 * @throws IOException thrown if there is an error reading the file or it is not plain text.
+	 */
+	public static RowIndex build(String fileName, int interval) throws IOException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(interval < 1) {
+			throw new IllegalArgumentException("Interval must be positive.");
+		}
+		
+		File file = new File(fileName);
+		long lastModified = file.lastModified();
+		try(FileChannel channel = new FileInputStream(file).getChannel()) {
+			if(BinaryTriangleFormat.isBinary(channel) || InputChannels.isCompressed(fileName, channel)) {
+				throw new IOException("Only plain text files can be indexed.");
+			}
+			
+			long size = channel.size();
+			long[] offsets = new long[16];
+			int indexed = 0;
+			int rows = 0;
+			long lineStart = 0;
+			long offset = 0;
+			boolean hasDigit = false;
+			ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+			byte[] bytes = buffer.array();
+			int read;
+			byte b;
+			while((read = channel.read(buffer)) != -1) {
+				for(int i = 0; i < read; i++) {
+					b = bytes[i];
+					if(b == '\n' || b == '\r') {
+						if(hasDigit) {
+							if(rows % interval == 0) {
+								if(indexed == offsets.length) {
+									offsets = Arrays.copyOf(offsets, indexed << 1);
+								}
+								offsets[indexed++] = lineStart;
+							}
+							rows++;
+							hasDigit = false;
+						}
+						lineStart = offset + i + 1;
+					} else if(b >= '0' && b <= '9') {
+						hasDigit = true;
+					}
+				}
+				offset += read;
+				buffer.clear();
+			}
+			
+			if(hasDigit) {
+				if(rows % interval == 0) {
+					if(indexed == offsets.length) {
+						offsets = Arrays.copyOf(offsets, indexed + 1);
+					}
+					offsets[indexed++] = lineStart;
+				}
+				rows++;
+			}
+			return new RowIndex(fileName, interval, rows, size, lastModified, Arrays.copyOf(offsets, indexed));
+		}
+	}
+	
+	/**
+	 * @param fileName Name of an indexed file.
+	 * @return Index saved for the file, null if there is none or the file has changed since.
+	 * @throws IOException thrown if the sidecar exists but cannot be read.
+	 */
+	public static RowIndex load(String fileName) throws IOException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		File file = new File(fileName);
+		File sidecar = sidecarFor(fileName);
+		if(!sidecar.isFile()) {
+			return null;
+		}
+		
+		CRC32 crc = new CRC32();
+		try(DataInputStream in = new DataInputStream(new CheckedInputStream(new BufferedInputStream(new FileInputStream(sidecar)), crc))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return null;
+			}
+			
+			int interval = in.readInt();
+			int rowCount = in.readInt();
+			long size = in.readLong();
+			long lastModified = in.readLong();
+			if(interval < 1 || rowCount < 0 || size != file.length() || lastModified != file.lastModified()) {
+				return null;
+			}
+			
+			long[] offsets = new long[(int) ((rowCount + (long) interval - 1) / interval)];
+			long offset = 0;
+			for(int i = 0; i < offsets.length; i++) {
+				offset += readVarLong(in);
+				offsets[i] = offset;
+			}
+			
+			long expected = crc.getValue();
+			if(in.readLong() != expected) {
+				throw new IOException("Index '" + sidecar + "' is damaged.");
+			}
+			return new RowIndex(fileName, interval, rowCount, size, lastModified, offsets);
+		}
+	}
+	
+	/**
+	 * Writes the index to the sidecar of its file, replacing any index already there. Each save
+	 * writes its own temporary file so indexes saved at once by several threads or processes
+	 * never mix, the last one moved into place wins.
+	 *
+	 * @throws IOException thrown if there is an error writing the sidecar.
+	 */
+	public void save() throws IOException {
+		File sidecar = sidecarFor(fileName).getAbsoluteFile();
+		Path temp = Files.createTempFile(sidecar.getParentFile().toPath(), sidecar.getName() + ".", ".tmp");
+		try {
+			write(temp.toFile());
+			Files.move(temp, sidecar.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	private void write(File temp) throws IOException {
+		CRC32 crc = new CRC32();
+		try(DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(temp)), crc))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(interval);
+			out.writeInt(rowCount);
+			out.writeLong(size);
+			out.writeLong(lastModified);
+			//Offsets only ever grow so the gaps between them are stored as varints.
+			long previous = 0;
+			for(long offset : offsets) {
+				writeVarLong(out, offset - previous);
+				previous = offset;
+			}
+			out.flush();
+			out.writeLong(crc.getValue());
+		}
+	}
+	
+	/**
+	 * @return True while the file keeps the size and modification time it was indexed at.
+	 */
+	public boolean isCurrent() {
+		File file = new File(fileName);
+		return file.length() == size && file.lastModified() == lastModified;
+	}
+	
+	/**
+	 * @return Number of rows in the file.
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+	
+	/**
+	 * @param interval Number of rows between the first rows of the ranges to be read.
+	 * @return True if every such range starts at an indexed offset.
+	 */
+	public boolean serves(int interval) {
+		return interval % this.interval == 0;
+	}
+	
+	/**
+	 * @return Number of rows between indexed offsets.
+	 */
+	public int getInterval() {
+		return interval;
+	}
+	
+	/**
+	 * @param row Index of a row.
+	 * @return Byte offset of the closest indexed row at or before the row.
+	 */
+	public long getOffset(int row) {
+		checkRow(row);
+		return offsets[row / interval];
+	}
+	
+	/**
+	 * Reads a range of rows. At most interval - 1 rows before the range are read to reach it.
+	 * Each row is checked to have the width its place in the triangle calls for.
+	 *
+	 * @param firstRow Index of the first row to read.
+	 * @param count Number of rows to read.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return Reader supplying exactly the rows of the range, row r holding r + 1 values.
+	 * @throws IOException thrown if the file cannot be opened or the rows before the range cannot
+	 * be read.
+	 * @throws NumberFormatException thrown if a row before the range cannot be parsed.
+	 */
+	public RowReader openRows(int firstRow, int count, String delimeter) throws IOException, NumberFormatException {
+		if(firstRow < 0 || count < 0 || (long) firstRow + count > rowCount) {
+			throw new IllegalArgumentException("Rows " + firstRow + " to " + ((long) firstRow + count) + " are outside of the " + rowCount + " rows indexed.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		FileChannel channel = new FileInputStream(fileName).getChannel();
+		try {
+			int row = firstRow - firstRow % interval;
+			if(count > 0) {
+				channel.position(getOffset(firstRow));
+			} else {
+				row = firstRow;
+			}
+			
+			RangeRowReader range = new RangeRowReader(new ChannelRowReader(channel, delimeter), row, firstRow + count);
+			while(range.getRowNumber() < firstRow) {
+				range.nextRow();
+			}
+			return range;
+		} catch(IOException | RuntimeException ex) {
+			channel.close();
+			throw ex;
+		}
+	}
+	
+	private void checkRow(int row) {
+		if(row < 0 || row >= rowCount) {
+			throw new IllegalArgumentException("Row " + row + " is outside of the " + rowCount + " rows indexed.");
+		}
+	}
+	
+	private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+	
+	private static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		int shift = 0;
+		int b;
+		do {
+			if(shift > 63) {
+				throw new IOException("Index offset is too long.");
+			}
+			b = in.readUnsignedByte();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while((b & 0x80) != 0);
+		return value;
+	}
+	
+	/**
+	 * Stops after a number of rows and checks each row has the width its place in the
+	 * triangle calls for, which catches a file edited without changing its size.
+	 */
+	private static class RangeRowReader extends RowReader {
+		
+		private final RowReader rows;
+		
+		private final int endRow;
+		
+		private int row;
+		
+		RangeRowReader(RowReader rows, int row, int endRow) {
+			this.rows = rows;
+			this.row = row;
+			this.endRow = endRow;
+		}
+		
+		/**
+		 * @return Index of the row the next call to {@link #nextRow()} reads.
+		 */
+		int getRowNumber() {
+			return row;
+		}
+		
+		@Override
+		public int nextRow() throws IOException, NumberFormatException {
+			if(row == endRow) {
+				return -1;
+			}
+			
+			int width = rows.nextRow();
+			if(width == -1) {
+				throw new IOException("File ended at row " + row + " before the " + endRow + " rows indexed.");
+			}
+			
+			if(width != row + 1) {
+				throw new IOException("Row " + row + " does not match the index, expected " + (row + 1) + " values but found " + width + ".");
+			}
+			row++;
+			return width;
+		}
+		
+		@Override
+		public int[] getRow() {
+			return rows.getRow();
+		}
+		
+		@Override
+		public long getPosition() {
+			return rows.getPosition();
+		}
+		
+		@Override
+		public void close() throws IOException {
+			rows.close();
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Supplies the rows of a triangle one at a time. Rows without any values are skipped.
+ * The array returned by {@link #getRow()} is reused between rows.
+ */
+public abstract class RowReader implements Closeable {
+
+	protected final RowTokenizer tokenizer;
+	
+	/**
+	 * @param delimeter Value that we should be splitting each line on.
+	 */
+	protected RowReader(String delimeter) {
+		this.tokenizer = new RowTokenizer(delimeter);
+	}
+	
+	/**
+	 * For readers which do not parse rows themselves. Such readers must override
+	 * {@link #getRow()}.
+	 */
+	protected RowReader() {
+		this.tokenizer = null;
+	}
+	
+	/**
+	 * Advances to the next row.
+	 *
+	 * @return Number of values in the row or -1 if there are no more rows.
+	 * @throws IOException thrown if there is an error reading the input.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 */
+	public abstract int nextRow() throws IOException, NumberFormatException;
+	
+	/**
+	 * @return Values of the current row. Only the count returned by {@link #nextRow()} is valid.
+	 */
+	public int[] getRow() {
+		return tokenizer.getValues();
+	}
+	
+	/**
+	 * @return Byte offset in the input just after the current row, where the next row starts.
+	 * -1 if the reader does not track byte offsets.
+	 */
+	public long getPosition() {
+		return -1;
+	}
+}
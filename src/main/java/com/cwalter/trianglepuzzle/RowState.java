@@ -0,0 +1,168 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Long values kept outside the heap and indexed by long, so a row is not limited by the length
+ * of an array and the garbage collector never has to mark it. Values live in equally sized
+ * segments of direct memory, or of a scratch file mapped into memory when the state may be
+ * larger than the memory of the machine. Growing only adds segments, nothing is copied.
+ *
+ * Direct memory is limited by -XX:MaxDirectMemorySize, mapped segments only by the disk.
+ */
+public final class RowState implements Closeable {
+
+	/**
+	 * Default number of values in each segment, 8MB of memory.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 20;
+	
+	private final int segmentShift;
+	
+	private final int segmentMask;
+	
+	private final List<LongBuffer> segments = new ArrayList<>();
+	
+	private final File scratch;
+	
+	private final FileChannel channel;
+	
+	/**
+	 * @param capacity Number of values the state holds before it has to grow.
+	 * @return State held in direct memory.
+	 */
+	public static RowState allocate(long capacity) {
+		try {
+			return new RowState(capacity, DEFAULT_SEGMENT_SIZE, null);
+		} catch(IOException ex) {
+			throw new IllegalStateException("Direct memory cannot fail with an IOException.", ex);
+		}
+	}
+	
+	/**
+	 * @param capacity Number of values the state holds before it has to grow.
+	 * @param scratch File the state is mapped from. It is created or overwritten and deleted
+	 * when the state is closed.
+	 * @return State held in a mapped file.
+	 * @throws IOException thrown if the file cannot be created or mapped.
+	 */
+	public static RowState map(long capacity, File scratch) throws IOException {
+		if(scratch == null) {
+			throw new IllegalArgumentException("Scratch cannot be null.");
+		}
+		
+		return new RowState(capacity, DEFAULT_SEGMENT_SIZE, scratch);
+	}
+	
+	/**
+	 * @param capacity Number of values the state holds before it has to grow.
+	 * @param segmentSize Number of values in each segment, a power of two.
+	 * @param scratch File the state is mapped from, null to use direct memory.
+	 * @throws IOException thrown if the file cannot be created or mapped.
+	 */
+	RowState(long capacity, int segmentSize, File scratch) throws IOException {
+		if(capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative.");
+		}
+		
+		if(segmentSize < 1 || Integer.bitCount(segmentSize) != 1 || segmentSize > Integer.MAX_VALUE / Long.BYTES) {
+			throw new IllegalArgumentException("SegmentSize must be a power of two no larger than 2^27.");
+		}
+		
+		this.segmentShift = Integer.numberOfTrailingZeros(segmentSize);
+		this.segmentMask = segmentSize - 1;
+		this.scratch = scratch;
+		this.channel = scratch == null ? null : new RandomAccessFile(scratch, "rw").getChannel();
+		try {
+			ensureCapacity(capacity);
+		} catch(IOException | RuntimeException ex) {
+			close();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Adds segments until the state holds at least capacity values. New values are 0.
+	 *
+	 * @param capacity Number of values the state should hold.
+	 * @throws IOException thrown if the scratch file cannot be mapped.
+	 */
+	public void ensureCapacity(long capacity) throws IOException {
+		if(capacity < 0) {
+			throw new IllegalArgumentException("Capacity cannot be negative.");
+		}
+		
+		int segmentSize = segmentMask + 1;
+		while(getCapacity() < capacity) {
+			ByteBuffer bytes;
+			if(channel == null) {
+				bytes = ByteBuffer.allocateDirect(segmentSize * Long.BYTES);
+			} else {
+				bytes = channel.map(FileChannel.MapMode.READ_WRITE, getCapacity() * Long.BYTES, (long) segmentSize * Long.BYTES);
+			}
+			segments.add(bytes.order(ByteOrder.nativeOrder()).asLongBuffer());
+		}
+	}
+	
+	/**
+	 * @return Number of values the state holds.
+	 */
+	public long getCapacity() {
+		return (long) segments.size() << segmentShift;
+	}
+	
+	public long get(long index) {
+		return segments.get((int) (index >>> segmentShift)).get((int) index & segmentMask);
+	}
+	
+	public void set(long index, long value) {
+		segments.get((int) (index >>> segmentShift)).put((int) index & segmentMask, value);
+	}
+	
+	/**
+	 * @return True if the state is held in a mapped scratch file.
+	 */
+	public boolean isMapped() {
+		return channel != null;
+	}
+	
+	/**
+	 * @return Base 2 logarithm of the number of values in each segment.
+	 */
+	int getSegmentShift() {
+		return segmentShift;
+	}
+	
+	/**
+	 * @param segment Index of a segment, index >>> {@link #getSegmentShift()} of its values.
+	 * @return Values of the segment, read and written with absolute gets and puts.
+	 */
+	LongBuffer getSegment(int segment) {
+		return segments.get(segment);
+	}
+	
+	/**
+	 * Releases the segments and deletes the scratch file. Memory is returned once the segments
+	 * are collected.
+	 */
+	@Override
+	public void close() throws IOException {
+		segments.clear();
+		if(channel != null) {
+			channel.close();
+			//A mapping keeps the file open on some platforms, it is removed on exit instead.
+			if(!scratch.delete()) {
+				scratch.deleteOnExit();
+			}
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package com.cwalter.trianglepuzzle;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses the integers of a single row directly from raw bytes into a reusable int array.
+ * No intermediate Strings are created unless a token fails to parse.
+ *
+ * Tokens are split on the delimeter, trimmed of surrounding whitespace and empty tokens are
+ * ignored which matches the behavior of splitting, trimming and parsing each line by hand.
+ * The delimeter is taken literally with the exception of "\\s" and "\\s+" which split
+ * on any run of whitespace.
+ */
+public class RowTokenizer {
+
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private final byte[] delimeter;
+	
+	private final boolean whitespaceRun;
+	
+	private int[] values = new int[DEFAULT_CAPACITY];
+	
+	private ByteBuffer scratch = ByteBuffer.allocate(256);
+	
+	/**
+	 * @param delimeter Value that we should be splitting each line on.
+	 */
+	public RowTokenizer(String delimeter) {
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(delimeter.isEmpty()) {
+			throw new IllegalArgumentException("Delimeter cannot be empty.");
+		}
+		
+		this.whitespaceRun = delimeter.equals("\\s") || delimeter.equals("\\s+");
+		this.delimeter = whitespaceRun ? new byte[0] : delimeter.getBytes(StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * @return Values parsed by the last call to parse. Only the returned count is valid.
+	 */
+	public int[] getValues() {
+		return values;
+	}
+	
+	/**
+	 * Parses the values of a single line which has already been read as characters.
+	 *
+	 * @param line Line to parse, must not contain line terminators.
+	 * @return Number of values parsed into {@link #getValues()}.
+	 * @throws NumberFormatException thrown if a token is not an integer.
+	 */
+	public int parse(CharSequence line) throws NumberFormatException {
+		if(line == null) {
+			throw new IllegalArgumentException("Line cannot be null.");
+		}
+		
+		int length = line.length();
+		if(scratch.capacity() < length * 3) {
+			scratch = ByteBuffer.allocate(length * 3);
+		}
+		
+		int position = 0;
+		char c;
+		for(int i = 0; i < length; i++) {
+			c = line.charAt(i);
+			if(c < 0x80) {
+				scratch.put(position++, (byte) c);
+			} else if(c < 0x800) {
+				scratch.put(position++, (byte) (0xC0 | (c >> 6)));
+				scratch.put(position++, (byte) (0x80 | (c & 0x3F)));
+			} else {
+				//Surrogates are encoded individually, they can never be part of a number.
+				scratch.put(position++, (byte) (0xE0 | (c >> 12)));
+				scratch.put(position++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+				scratch.put(position++, (byte) (0x80 | (c & 0x3F)));
+			}
+		}
+		return parse(scratch, 0, position);
+	}
+	
+	/**
+	 * Parses the values of a single line held in a buffer. The buffer's position and limit are
+	 * not used or modified.
+	 *
+	 * @param buffer Buffer holding the line.
+	 * @param start Index of the first byte of the line.
+	 * @param end Index after the last byte of the line, excluding any line terminator.
+	 * @return Number of values parsed into {@link #getValues()}.
+	 * @throws NumberFormatException thrown if a token is not an integer.
+	 */
+	public int parse(ByteBuffer buffer, int start, int end) throws NumberFormatException {
+		int count = 0;
+		int i = start;
+		int tokenStart;
+		int value;
+		int digit;
+		boolean negative;
+		byte b;
+		while(true) {
+			i = skipWhitespace(buffer, i, end);
+			if(i == end) {
+				return count;
+			}
+			
+			if(matchesDelimeter(buffer, i, end)) {
+				i += delimeter.length;
+				continue;
+			}
+			
+			//Accumulate negatively to cover Integer.MIN_VALUE, same as Integer.parseInt.
+			tokenStart = i;
+			negative = false;
+			b = buffer.get(i);
+			if(b == '-' || b == '+') {
+				negative = b == '-';
+				i++;
+			}
+			
+			if(i == end) {
+				throw invalidToken(buffer, tokenStart, end);
+			}
+			
+			value = 0;
+			do {
+				digit = buffer.get(i) - '0';
+				if(digit < 0 || digit > 9) {
+					throw invalidToken(buffer, tokenStart, end);
+				}
+				
+				if(value < -214748364 || (value == -214748364 && digit > (negative ? 8 : 7))) {
+					throw invalidToken(buffer, tokenStart, end);
+				}
+				value = value * 10 - digit;
+				i++;
+			} while(i < end && !isSeparator(buffer, i, end));
+			
+			if(count == values.length) {
+				int[] grown = new int[values.length << 1];
+				System.arraycopy(values, 0, grown, 0, count);
+				values = grown;
+			}
+			values[count++] = negative ? value : -value;
+			
+			i = skipWhitespace(buffer, i, end);
+			if(i == end) {
+				return count;
+			}
+			
+			if(matchesDelimeter(buffer, i, end)) {
+				i += delimeter.length;
+			} else if(!whitespaceRun) {
+				throw invalidToken(buffer, tokenStart, end);
+			}
+		}
+	}
+	
+	private boolean isSeparator(ByteBuffer buffer, int index, int end) {
+		byte b = buffer.get(index);
+		return (b <= ' ' && b >= 0) || matchesDelimeter(buffer, index, end);
+	}
+	
+	private int skipWhitespace(ByteBuffer buffer, int index, int end) {
+		byte b;
+		while(index < end) {
+			b = buffer.get(index);
+			if(b > ' ' || b < 0 || matchesDelimeter(buffer, index, end)) {
+				break;
+			}
+			index++;
+		}
+		return index;
+	}
+	
+	private boolean matchesDelimeter(ByteBuffer buffer, int index, int end) {
+		if(whitespaceRun || index + delimeter.length > end) {
+			return false;
+		}
+		
+		for(int i = 0; i < delimeter.length; i++) {
+			if(buffer.get(index + i) != delimeter[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private NumberFormatException invalidToken(ByteBuffer buffer, int start, int end) {
+		//Include the rest of the token so the message reads like Integer.parseInt's.
+		int tokenEnd = start;
+		byte b;
+		while(tokenEnd < end && !matchesDelimeter(buffer, tokenEnd, end)) {
+			b = buffer.get(tokenEnd);
+			if(whitespaceRun && b <= ' ' && b >= 0) {
+				break;
+			}
+			tokenEnd++;
+		}
+		
+		while(tokenEnd > start && buffer.get(tokenEnd - 1) <= ' ' && buffer.get(tokenEnd - 1) >= 0) {
+			tokenEnd--;
+		}
+		
+		byte[] token = new byte[tokenEnd - start];
+		for(int i = 0; i < token.length; i++) {
+			token[i] = buffer.get(start + i);
+		}
+		return new NumberFormatException("For input string: \"" + new String(token, StandardCharsets.UTF_8) + "\"");
+	}
+}
@@ -0,0 +1,267 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Solves a file by cutting it into slabs of rows whose {@link SlabTransfer}s are computed at the
+ * same time, either on a pool of threads or by {@link SolverServer}s in other JVMs, and then
+ * applied in order. Slabs are read through a {@link RowIndex} so each one only reads its own rows.
+ * Workers read the file themselves so it must be reachable at the same absolute path.
+ *
+ * A transfer costs about height times the work of solving its rows directly, so slabs pay off
+ * when reading and parsing are the larger cost or there are more cores than the slab is high.
+ */
+public class SlabSolver {
+
+	public static final int DEFAULT_SLAB_HEIGHT = 16;
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private final PrintStream err;
+	
+	private final int slabHeight;
+	
+	private final int threads;
+	
+	private List<String> workers = Collections.emptyList();
+	
+	/**
+	 * Bytes of transfers that may be waiting to be applied. A slab's transfer grows with its first
+	 * row, so fewer slabs are computed ahead as the solve moves down the file.
+	 */
+	long pendingBytes = Runtime.getRuntime().maxMemory() / 4;
+	
+	/**
+	 * @param err Stream errors will be printed to.
+	 * @param slabHeight Number of rows in each slab.
+	 * @param threads Number of slabs computed at once, or by each worker when there are workers.
+	 */
+	public SlabSolver(PrintStream err, int slabHeight, int threads) {
+		if(err == null) {
+			throw new IllegalArgumentException("err cannot be null");
+		}
+		
+		if(slabHeight < 1) {
+			throw new IllegalArgumentException("SlabHeight must be positive.");
+		}
+		
+		if(threads < 1) {
+			throw new IllegalArgumentException("Threads must be positive.");
+		}
+		
+		this.err = err;
+		this.slabHeight = slabHeight;
+		this.threads = threads;
+	}
+	
+	/**
+	 * Has slabs computed by running servers instead of local threads, taking turns between them.
+	 * Servers on other hosts must listen on an address this host can reach, see --bind.
+	 *
+	 * @param workers Host and port of each server as host:port, or only the port for localhost.
+	 * Empty to compute slabs locally.
+	 */
+	public void setWorkers(List<String> workers) {
+		if(workers == null) {
+			throw new IllegalArgumentException("Workers cannot be null.");
+		}
+		
+		List<String> baseUrls = new ArrayList<>();
+		for(String address : workers) {
+			baseUrls.add("http://" + (address.indexOf(':') == -1 ? "localhost:" + address : address));
+		}
+		this.workers = baseUrls;
+	}
+	
+	/**
+	 * @param fileName Name of the file we will be identifying the max path value of. Its row index
+	 * is created next to it if there is none.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return The max path found in the file.
+	 * @throws IOException thrown if there is an error reading the file, reaching a worker or a row
+	 * does not hold the number of values its place calls for.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 */
+	public long solve(String fileName, String delimeter) throws IOException, NumberFormatException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		RowIndex index = RowIndex.open(fileName, slabHeight, err);
+		int rowCount = index.getRowCount();
+		if(rowCount == 0) {
+			err.println("Reader has no content.");
+			return 0;
+		}
+		
+		String path = new File(fileName).getAbsolutePath();
+		int concurrency = workers.isEmpty() ? threads : threads * workers.size();
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+			Thread thread = new Thread(runnable, "TrianglePuzzle-slab");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			//Slabs are computed ahead of the one being applied only while their transfers fit in
+			//pendingBytes, there is always at least one so the solve moves on.
+			ArrayDeque<Future<SlabTransfer>> pending = new ArrayDeque<>();
+			int nextRow = 0;
+			int appliedRow = 0;
+			long heldBytes = 0;
+			int slab = 0;
+			long[] maxPaths = new long[0];
+			while(nextRow < rowCount || !pending.isEmpty()) {
+				while(nextRow < rowCount && pending.size() < concurrency * 2) {
+					int firstRow = nextRow;
+					int height = Math.min(slabHeight, rowCount - firstRow);
+					long bytes = transferBytes(firstRow, height);
+					if(!pending.isEmpty() && heldBytes + bytes > pendingBytes) {
+						break;
+					}
+					heldBytes += bytes;
+					Callable<SlabTransfer> task = workers.isEmpty()
+							? () -> compute(index, firstRow, height, delimeter)
+							: remote(workers.get(slab++ % workers.size()), path, firstRow, height, slabHeight, delimeter);
+					pending.add(executor.submit(task));
+					nextRow += height;
+				}
+				maxPaths = await(pending.poll()).apply(maxPaths);
+				int appliedHeight = Math.min(slabHeight, rowCount - appliedRow);
+				heldBytes -= transferBytes(appliedRow, appliedHeight);
+				appliedRow += appliedHeight;
+			}
+			
+			long maxPath = maxPaths[0];
+			for(long candidate : maxPaths) {
+				maxPath = Math.max(maxPath, candidate);
+			}
+			return maxPath;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Computes the transfer of a slab of a file, as a worker does for a remote solver.
+	 *
+	 * @param index Index of the file.
+	 * @param firstRow Index of the first row of the slab.
+	 * @param height Number of rows in the slab.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return Transfer of the slab.
+	 * @throws IOException thrown if there is an error reading the rows.
+	 * @throws NumberFormatException thrown if there is an error parsing integers.
+	 */
+	static SlabTransfer compute(RowIndex index, int firstRow, int height, String delimeter) throws IOException, NumberFormatException {
+		try(RowReader rows = index.openRows(firstRow, height, delimeter)) {
+			return SlabTransfer.compute(rows, firstRow, height);
+		}
+	}
+	
+	/**
+	 * @return Bytes held by the gains and restarts of a slab's transfer.
+	 */
+	private static long transferBytes(int firstRow, int height) {
+		return ((long) firstRow * (height + 1) + firstRow + height) * Long.BYTES;
+	}
+	
+	private static Callable<SlabTransfer> remote(String baseUrl, String path, int firstRow, int height, int interval, String delimeter) throws IOException {
+		URL url = new URL(baseUrl + "/slab?file=" + URLEncoder.encode(path, "UTF-8")
+				+ "&delimeter=" + URLEncoder.encode(delimeter, "UTF-8")
+				+ "&first=" + firstRow + "&height=" + height + "&interval=" + interval);
+		return () -> {
+			while(true) {
+				HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+				try {
+					//A busy worker asks to be tried again once it has room in its queue.
+					if(connection.getResponseCode() == HttpURLConnection.HTTP_UNAVAILABLE) {
+						readError(connection);
+						Thread.sleep(retryAfterMillis(connection));
+						continue;
+					}
+					
+					if(connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+						throw new IOException("Worker " + baseUrl + " failed slab at row " + firstRow + ": " + readError(connection));
+					}
+					
+					try(DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), BUFFER_SIZE))) {
+						return SlabTransfer.read(in);
+					}
+				} finally {
+					connection.disconnect();
+				}
+			}
+		};
+	}
+	
+	/**
+	 * @return Delay asked for by the Retry-After header in seconds, or a second without one.
+	 */
+	private static long retryAfterMillis(HttpURLConnection connection) {
+		String retryAfter = connection.getHeaderField("Retry-After");
+		if(retryAfter != null) {
+			try {
+				return Math.max(0, Long.parseLong(retryAfter.trim())) * 1000;
+			} catch(NumberFormatException ex) {
+			}
+		}
+		return 1000;
+	}
+	
+	private static String readError(HttpURLConnection connection) throws IOException {
+		InputStream error = connection.getErrorStream();
+		if(error == null) {
+			return "HTTP " + connection.getResponseCode();
+		}
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(InputStream in = error) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while((read = in.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+		}
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8).trim();
+	}
+	
+	private static SlabTransfer await(Future<SlabTransfer> slab) throws IOException {
+		try {
+			return slab.get();
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a slab.", ex);
+		} catch(ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException("Unable to compute slab.", cause);
+		}
+	}
+}
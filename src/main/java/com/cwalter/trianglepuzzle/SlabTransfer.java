@@ -0,0 +1,205 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Max-plus transfer of a slab of consecutive rows. It maps the best paths ending at each position
+ * of the row just above the slab to the best paths ending at each position of its last row, so
+ * slabs can be computed independently and then applied in order.
+ *
+ * A path entering at position i can only leave at positions i to i + height, so only that band
+ * of gains is kept. The edges of a row may start a new path instead of taking a negative parent,
+ * the best of those paths are kept separately as restarts. Sums are accumulated as longs.
+ */
+public class SlabTransfer {
+
+	//Far enough from Long.MIN_VALUE that adding the values of a slab cannot wrap around.
+	private static final long UNREACHABLE = Long.MIN_VALUE / 2;
+	
+	private final int firstRow;
+	
+	private final int height;
+	
+	//Gain from position i above the slab to position i + d of its last row, at i * (height + 1) + d.
+	private final long[] gains;
+	
+	private final long[] restarts;
+	
+	private SlabTransfer(int firstRow, int height, long[] gains, long[] restarts) {
+		this.firstRow = firstRow;
+		this.height = height;
+		this.gains = gains;
+		this.restarts = restarts;
+	}
+	
+	/**
+	 * @param rows Reader positioned at the first row of the slab.
+	 * @param firstRow Index of the first row of the slab, which holds firstRow + 1 values.
+	 * @param height Number of rows in the slab.
+	 * @return Transfer of the slab.
+	 * @throws IOException thrown if there is an error reading the rows or the reader ends early.
+	 * @throws NumberFormatException thrown if there is an error parsing integers or a row does
+	 * not hold the number of values its place calls for.
+	 */
+	public static SlabTransfer compute(RowReader rows, int firstRow, int height) throws IOException, NumberFormatException {
+		if(rows == null) {
+			throw new IllegalArgumentException("Rows cannot be null.");
+		}
+		
+		if(firstRow < 0) {
+			throw new IllegalArgumentException("FirstRow cannot be negative.");
+		}
+		
+		if(height < 1) {
+			throw new IllegalArgumentException("Height must be positive.");
+		}
+		
+		if((long) firstRow * (height + 1) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Slab of " + height + " rows at row " + firstRow + " has too many gains to hold, use shorter slabs.");
+		}
+		
+		int sources = firstRow;
+		int band = height + 1;
+		long[] gains = new long[sources * band];
+		long[] restarts = new long[firstRow + height];
+		for(int i = 0; i < gains.length; i++) {
+			gains[i] = UNREACHABLE;
+		}
+		for(int i = 0; i < restarts.length; i++) {
+			restarts[i] = UNREACHABLE;
+		}
+		
+		int[] values;
+		int width;
+		for(int t = 0; t < height; t++) {
+			width = rows.nextRow();
+			if(width == -1) {
+				throw new IOException("Rows ended " + (height - t) + " rows before the end of the slab.");
+			}
+			
+			int row = firstRow + t;
+			if(width != row + 1) {
+				throw new NumberFormatException("Row " + row + " holds " + width + " values instead of " + (row + 1) + ".");
+			}
+			
+			values = rows.getRow();
+			//Every source has moved t + 1 rows down, each value only depends on the previous
+			//row's value at d and d - 1 so going down from the widest offset updates in place.
+			for(int i = 0, base = 0; i < sources; i++, base += band) {
+				for(int d = t + 1; d >= 0; d--) {
+					long parent;
+					if(t == 0) {
+						parent = 0;
+					} else {
+						parent = d <= t ? gains[base + d] : UNREACHABLE;
+						if(d >= 1 && gains[base + d - 1] > parent) {
+							parent = gains[base + d - 1];
+						}
+					}
+					gains[base + d] = parent == UNREACHABLE ? UNREACHABLE : parent + values[i + d];
+				}
+			}
+			restart(restarts, values, width);
+		}
+		return new SlabTransfer(firstRow, height, gains, restarts);
+	}
+	
+	/**
+	 * Advances the best paths which started on an edge within the slab by one row.
+	 */
+	private static void restart(long[] restarts, int[] values, int width) {
+		long parent;
+		long left = UNREACHABLE;
+		long above;
+		for(int j = 0; j < width; j++) {
+			above = j < width - 1 ? restarts[j] : UNREACHABLE;
+			parent = Math.max(left, above);
+			if(j == 0 || j == width - 1) {
+				parent = Math.max(parent, 0);
+			}
+			left = above;
+			restarts[j] = parent == UNREACHABLE ? UNREACHABLE : parent + values[j];
+		}
+	}
+	
+	/**
+	 * @param maxPaths Best paths ending at each position of the row above the slab, one for
+	 * each of its firstRow values.
+	 * @return Best paths ending at each position of the last row of the slab.
+	 */
+	public long[] apply(long[] maxPaths) {
+		if(maxPaths == null) {
+			throw new IllegalArgumentException("MaxPaths cannot be null.");
+		}
+		
+		if(maxPaths.length != firstRow) {
+			throw new IllegalArgumentException("Slab starting at row " + firstRow + " needs " + firstRow + " paths but was given " + maxPaths.length + ".");
+		}
+		
+		int band = height + 1;
+		long[] result = restarts.clone();
+		long path;
+		long candidate;
+		for(int i = 0, base = 0; i < firstRow; i++, base += band) {
+			path = maxPaths[i];
+			for(int d = 0; d < band; d++) {
+				if(gains[base + d] != UNREACHABLE) {
+					candidate = path + gains[base + d];
+					if(candidate > result[i + d]) {
+						result[i + d] = candidate;
+					}
+				}
+			}
+		}
+		return result;
+	}
+	
+	public int getFirstRow() {
+		return firstRow;
+	}
+	
+	public int getHeight() {
+		return height;
+	}
+	
+	/**
+	 * @param out Output the transfer is written to, read back by {@link #read(DataInput)}.
+	 * @throws IOException thrown if there is an error writing.
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(firstRow);
+		out.writeInt(height);
+		for(long gain : gains) {
+			out.writeLong(gain);
+		}
+		for(long restart : restarts) {
+			out.writeLong(restart);
+		}
+	}
+	
+	/**
+	 * @param in Input holding a transfer written by {@link #write(DataOutput)}.
+	 * @return Transfer read.
+	 * @throws IOException thrown if there is an error reading or the transfer is malformed.
+	 */
+	public static SlabTransfer read(DataInput in) throws IOException {
+		int firstRow = in.readInt();
+		int height = in.readInt();
+		if(firstRow < 0 || height < 1 || (long) firstRow * (height + 1) > Integer.MAX_VALUE) {
+			throw new IOException("Malformed slab of " + height + " rows at row " + firstRow + ".");
+		}
+		
+		long[] gains = new long[firstRow * (height + 1)];
+		for(int i = 0; i < gains.length; i++) {
+			gains[i] = in.readLong();
+		}
+		
+		long[] restarts = new long[firstRow + height];
+		for(int i = 0; i < restarts.length; i++) {
+			restarts[i] = in.readLong();
+		}
+		return new SlabTransfer(firstRow, height, gains, restarts);
+	}
+}
@@ -0,0 +1,167 @@
+package com.cwalter.trianglepuzzle;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Running totals of {@link SolveStats} across every solve in the process. Totals are striped
+ * across threads so concurrent solves, such as a batch or a server, never contend on them.
+ */
+public class SolveMetrics implements SolveMetricsMBean {
+	
+	/**
+	 * Name the shared instance is registered under with the platform MBean server.
+	 */
+	public static final String OBJECT_NAME = "com.cwalter.trianglepuzzle:type=SolveMetrics";
+	
+	private static final SolveMetrics SHARED = new SolveMetrics();
+	
+	private final LongAdder solves = new LongAdder();
+	
+	private final LongAdder rows = new LongAdder();
+	
+	private final LongAdder bytes = new LongAdder();
+	
+	private final LongAdder ioNanos = new LongAdder();
+	
+	private final LongAdder readNanos = new LongAdder();
+	
+	private final LongAdder solveNanos = new LongAdder();
+	
+	private final LongAdder totalNanos = new LongAdder();
+	
+	private final LongAdder allocatedBytes = new LongAdder();
+	
+	private final LongAccumulator peakWidth = new LongAccumulator(Math::max, 0);
+	
+	/**
+	 * @return Instance shared by the whole process, registered with the platform MBean server
+	 * the first time it is requested.
+	 */
+	public static SolveMetrics getShared() {
+		synchronized(SHARED) {
+			try {
+				ObjectName name = new ObjectName(OBJECT_NAME);
+				if(!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+					ManagementFactory.getPlatformMBeanServer().registerMBean(SHARED, name);
+				}
+			} catch(InstanceAlreadyExistsException ex) {
+				//Registered by another class loader, the totals are still kept here.
+			} catch(JMException ex) {
+				throw new IllegalStateException("Unable to register " + OBJECT_NAME + ".", ex);
+			}
+		}
+		return SHARED;
+	}
+	
+	/**
+	 * @param stats Statistics of a finished solve.
+	 */
+	public void record(SolveStats stats) {
+		if(stats == null) {
+			throw new IllegalArgumentException("Stats cannot be null.");
+		}
+		
+		solves.increment();
+		rows.add(stats.getRows());
+		bytes.add(stats.getBytes());
+		ioNanos.add(stats.getIoNanos());
+		readNanos.add(stats.getReadNanos());
+		solveNanos.add(stats.getSolveNanos());
+		totalNanos.add(stats.getTotalNanos());
+		if(stats.getAllocatedBytes() > 0) {
+			allocatedBytes.add(stats.getAllocatedBytes());
+		}
+		peakWidth.accumulate(stats.getPeakWidth());
+	}
+	
+	@Override
+	public long getSolves() {
+		return solves.sum();
+	}
+	
+	@Override
+	public long getRows() {
+		return rows.sum();
+	}
+	
+	@Override
+	public long getBytes() {
+		return bytes.sum();
+	}
+	
+	@Override
+	public long getIoNanos() {
+		return ioNanos.sum();
+	}
+	
+	@Override
+	public long getParseNanos() {
+		return Math.max(0, readNanos.sum() - ioNanos.sum());
+	}
+	
+	@Override
+	public long getSolveNanos() {
+		return solveNanos.sum();
+	}
+	
+	@Override
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+	
+	@Override
+	public int getPeakWidth() {
+		return (int) peakWidth.get();
+	}
+	
+	@Override
+	public long getAllocatedBytes() {
+		return allocatedBytes.sum();
+	}
+	
+	@Override
+	public double getRowsPerSecond() {
+		long nanos = totalNanos.sum();
+		return nanos == 0 ? 0 : rows.sum() * 1e9 / nanos;
+	}
+	
+	@Override
+	public double getBytesPerSecond() {
+		long nanos = totalNanos.sum();
+		return nanos == 0 ? 0 : bytes.sum() * 1e9 / nanos;
+	}
+	
+	@Override
+	public void reset() {
+		solves.reset();
+		rows.reset();
+		bytes.reset();
+		ioNanos.reset();
+		readNanos.reset();
+		solveNanos.reset();
+		totalNanos.reset();
+		allocatedBytes.reset();
+		peakWidth.reset();
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("Solves: %d%n"
+				+ "Rows: %d (%.0f/s)%n"
+				+ "Bytes: %d (%.1f MB/s)%n"
+				+ "Peak width: %d%n"
+				+ "I/O: %.3f ms%n"
+				+ "Parse: %.3f ms%n"
+				+ "Solve: %.3f ms%n"
+				+ "Total: %.3f ms%n"
+				+ "Allocated: %d bytes",
+				getSolves(), getRows(), getRowsPerSecond(), getBytes(), getBytesPerSecond() / (1024 * 1024), getPeakWidth(),
+				getIoNanos() / 1e6, getParseNanos() / 1e6, getSolveNanos() / 1e6, getTotalNanos() / 1e6, getAllocatedBytes());
+	}
+}
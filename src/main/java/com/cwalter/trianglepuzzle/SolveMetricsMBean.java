@@ -0,0 +1,40 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * Totals over every solve recorded by {@link SolveMetrics}, as exposed through JMX.
+ */
+public interface SolveMetricsMBean {
+	
+	long getSolves();
+	
+	long getRows();
+	
+	long getBytes();
+	
+	long getIoNanos();
+	
+	long getParseNanos();
+	
+	long getSolveNanos();
+	
+	long getTotalNanos();
+	
+	int getPeakWidth();
+	
+	long getAllocatedBytes();
+	
+	/**
+	 * @return Rows solved per second of time spent solving.
+	 */
+	double getRowsPerSecond();
+	
+	/**
+	 * @return Bytes read per second of time spent solving.
+	 */
+	double getBytesPerSecond();
+	
+	/**
+	 * Sets every total back to zero.
+	 */
+	void reset();
+}
@@ -0,0 +1,133 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Watches the rows of an asynchronous solve. Between rows it stops the solve once its future
+ * is done, whether cancelled, timed out or completed, and it reports progress every interval.
+ */
+class SolveMonitor {
+
+	//Only completes futures, so a single thread serves every solve.
+	private static final ScheduledThreadPoolExecutor TIMEOUTS = createTimeouts();
+	
+	private final CompletableFuture<?> future;
+	
+	private final Consumer<SolveProgress> progress;
+	
+	private final long intervalNanos;
+	
+	private final long start = System.nanoTime();
+	
+	private long totalBytes = -1;
+	
+	/**
+	 * @param future Future of the solve.
+	 * @param progress Called with the progress of the solve, null to not report it.
+	 * @param intervalNanos Time between progress reports.
+	 */
+	SolveMonitor(CompletableFuture<?> future, Consumer<SolveProgress> progress, long intervalNanos) {
+		this.future = future;
+		this.progress = progress;
+		this.intervalNanos = intervalNanos;
+	}
+	
+	private static ScheduledThreadPoolExecutor createTimeouts() {
+		ScheduledThreadPoolExecutor timeouts = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "TrianglePuzzle-timeouts");
+			thread.setDaemon(true);
+			return thread;
+		});
+		timeouts.setRemoveOnCancelPolicy(true);
+		return timeouts;
+	}
+	
+	/**
+	 * Completes the future with a {@link TimeoutException} once the timeout passes, even if the
+	 * solve is blocked on a read. The solve itself stops at its next row.
+	 */
+	void expireAfter(Duration timeout) {
+		ScheduledFuture<?> expiry = TIMEOUTS.schedule(
+				() -> future.completeExceptionally(new TimeoutException("Solve did not finish within " + timeout + ".")),
+				timeout.toNanos(), TimeUnit.NANOSECONDS);
+		future.whenComplete((result, ex) -> expiry.cancel(false));
+	}
+	
+	/**
+	 * @param totalBytes Size of the file, -1 if it is not known.
+	 */
+	void setTotalBytes(long totalBytes) {
+		this.totalBytes = totalBytes;
+	}
+	
+	/**
+	 * @throws CancellationException thrown if the future is already done.
+	 */
+	void check() {
+		if(future.isDone()) {
+			throw new CancellationException("Solve was cancelled or timed out.");
+		}
+	}
+	
+	/**
+	 * @return Rows which stop the solve by throwing a {@link CancellationException} once the
+	 * future is done.
+	 */
+	RowReader watch(RowReader rows) {
+		return new WatchedRowReader(rows);
+	}
+	
+	private class WatchedRowReader extends RowReader {
+		
+		private final RowReader rows;
+		
+		private long rowCount;
+		
+		private long lastReport = start;
+		
+		WatchedRowReader(RowReader rows) {
+			this.rows = rows;
+		}
+		
+		@Override
+		public int nextRow() throws IOException, NumberFormatException {
+			check();
+			int width = rows.nextRow();
+			if(width != -1) {
+				rowCount++;
+			}
+			
+			if(progress != null) {
+				long now = System.nanoTime();
+				if(width == -1 || now - lastReport >= intervalNanos) {
+					lastReport = now;
+					progress.accept(new SolveProgress(rowCount, rows.getPosition(), totalBytes, now - start));
+				}
+			}
+			return width;
+		}
+		
+		@Override
+		public int[] getRow() {
+			return rows.getRow();
+		}
+		
+		@Override
+		public long getPosition() {
+			return rows.getPosition();
+		}
+		
+		@Override
+		public void close() throws IOException {
+			rows.close();
+		}
+	}
+}
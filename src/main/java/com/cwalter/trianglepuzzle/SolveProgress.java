@@ -0,0 +1,78 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * How far an asynchronous solve has read, as reported to its progress callback.
+ */
+public final class SolveProgress {
+
+	private final long rows;
+	
+	private final long bytes;
+	
+	private final long totalBytes;
+	
+	private final long elapsedNanos;
+	
+	/**
+	 * @param rows Number of rows read so far.
+	 * @param bytes Number of bytes read so far, -1 if the reader does not track them.
+	 * @param totalBytes Size of the file, -1 if it is not known in advance.
+	 * @param elapsedNanos Time since the solve started.
+	 */
+	public SolveProgress(long rows, long bytes, long totalBytes, long elapsedNanos) {
+		this.rows = rows;
+		this.bytes = bytes;
+		this.totalBytes = totalBytes;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	public long getRows() {
+		return rows;
+	}
+	
+	/**
+	 * @return Number of bytes read so far, -1 if the reader does not track them.
+	 */
+	public long getBytes() {
+		return bytes;
+	}
+	
+	/**
+	 * @return Size of the file, -1 for standard input and compressed files.
+	 */
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+	
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	/**
+	 * @return Fraction of the file read between 0 and 1, -1 if it cannot be told.
+	 */
+	public double getFraction() {
+		if(bytes < 0 || totalBytes <= 0) {
+			return -1;
+		}
+		return Math.min(1, (double) bytes / totalBytes);
+	}
+	
+	/**
+	 * Row n holds n values, so the bytes read grow with the square of the rows read and the
+	 * whole file holds about rows * sqrt(totalBytes / bytes) rows.
+	 *
+	 * @return Estimated number of rows in the file, -1 if it cannot be told.
+	 */
+	public long getEstimatedRows() {
+		if(rows == 0 || bytes <= 0 || totalBytes <= 0) {
+			return -1;
+		}
+		return Math.max(rows, Math.round(rows * Math.sqrt((double) totalBytes / bytes)));
+	}
+	
+	@Override
+	public String toString() {
+		return rows + " of about " + getEstimatedRows() + " rows, " + bytes + " of " + totalBytes + " bytes";
+	}
+}
@@ -0,0 +1,219 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Collects the {@link SolveStats} of a single solve by wrapping the channel, reader and solver
+ * it uses. Nothing is wrapped, and nothing measured, unless a recorder is used.
+ */
+class SolveRecorder {
+	
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+	
+	private final long start = System.nanoTime();
+	
+	private final Thread owner = Thread.currentThread();
+	
+	private final long startAllocated = allocatedBytes(owner);
+	
+	private TimedChannel channel;
+	
+	private TimedRowReader reader;
+	
+	private TimedSolver solver;
+	
+	private long inputSize = -1;
+	
+	/**
+	 * @param inputSize Size of the input to report when it is not read through a timed channel.
+	 */
+	void setInputSize(long inputSize) {
+		this.inputSize = inputSize;
+	}
+	
+	ReadableByteChannel time(ReadableByteChannel channel) {
+		this.channel = new TimedChannel(channel);
+		return this.channel;
+	}
+	
+	RowReader time(RowReader rows) {
+		reader = new TimedRowReader(rows);
+		return reader;
+	}
+	
+	PathSolver time(PathSolver solver) {
+		this.solver = new TimedSolver(solver);
+		return this.solver;
+	}
+	
+	/**
+	 * Must only be called once any reading thread has finished with the reader.
+	 * 
+	 * @return Statistics of everything recorded since this recorder was created.
+	 */
+	SolveStats finish() {
+		long total = System.nanoTime() - start;
+		long rows = solver == null ? 0 : solver.rows;
+		long bytes = channel != null ? channel.bytes : reader == null ? 0 : Math.max(0, reader.getPosition());
+		if(bytes <= 0 && inputSize >= 0) {
+			bytes = inputSize;
+		}
+		
+		long allocated = allocatedBytes(owner);
+		if(allocated >= 0 && startAllocated >= 0) {
+			allocated -= startAllocated;
+			if(reader != null && reader.allocated > 0) {
+				allocated += reader.allocated;
+			}
+		} else {
+			allocated = -1;
+		}
+		
+		return new SolveStats(rows, bytes,
+				channel == null ? 0 : channel.nanos,
+				reader == null ? 0 : reader.nanos,
+				solver == null ? 0 : solver.nanos,
+				total,
+				solver == null ? 0 : solver.peakWidth,
+				allocated);
+	}
+	
+	private static long allocatedBytes(Thread thread) {
+		//Only HotSpot and its relatives can report allocations per thread.
+		if(!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+			return -1;
+		}
+		
+		try {
+			return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(thread.getId());
+		} catch(UnsupportedOperationException ex) {
+			return -1;
+		}
+	}
+	
+	private static class TimedChannel implements ReadableByteChannel {
+		
+		private final ReadableByteChannel channel;
+		
+		private long nanos;
+		
+		private long bytes;
+		
+		TimedChannel(ReadableByteChannel channel) {
+			this.channel = channel;
+		}
+		
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			long mark = System.nanoTime();
+			int read = channel.read(dst);
+			nanos += System.nanoTime() - mark;
+			if(read > 0) {
+				bytes += read;
+			}
+			return read;
+		}
+		
+		@Override
+		public boolean isOpen() {
+			return channel.isOpen();
+		}
+		
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Times reading and parsing on whichever thread reads the rows. When that is not the solving
+	 * thread, as with a pipeline, its allocations are counted when it reaches the last row.
+	 */
+	private class TimedRowReader extends RowReader {
+		
+		private final RowReader rows;
+		
+		private long nanos;
+		
+		private long allocated;
+		
+		private long readerAllocated = -1;
+		
+		TimedRowReader(RowReader rows) {
+			this.rows = rows;
+		}
+		
+		@Override
+		public int nextRow() throws IOException, NumberFormatException {
+			Thread thread = Thread.currentThread();
+			if(readerAllocated == -1 && thread != owner) {
+				readerAllocated = allocatedBytes(thread);
+			}
+			
+			long mark = System.nanoTime();
+			int width = rows.nextRow();
+			nanos += System.nanoTime() - mark;
+			if(width == -1 && readerAllocated >= 0) {
+				allocated = allocatedBytes(thread) - readerAllocated;
+				readerAllocated = -2;
+			}
+			return width;
+		}
+		
+		@Override
+		public int[] getRow() {
+			return rows.getRow();
+		}
+		
+		@Override
+		public long getPosition() {
+			return rows.getPosition();
+		}
+		
+		@Override
+		public void close() throws IOException {
+			rows.close();
+		}
+	}
+	
+	private static class TimedSolver implements PathSolver {
+		
+		private final PathSolver solver;
+		
+		private long nanos;
+		
+		private long rows;
+		
+		private int peakWidth;
+		
+		TimedSolver(PathSolver solver) {
+			this.solver = solver;
+		}
+		
+		@Override
+		public void addRow(int[] values, int width) {
+			long mark = System.nanoTime();
+			solver.addRow(values, width);
+			nanos += System.nanoTime() - mark;
+			rows++;
+			if(width > peakWidth) {
+				peakWidth = width;
+			}
+		}
+		
+		@Override
+		public long getMaxPath() {
+			return solver.getMaxPath();
+		}
+		
+		@Override
+		public BigInteger getExactMaxPath() {
+			return solver.getExactMaxPath();
+		}
+	}
+}
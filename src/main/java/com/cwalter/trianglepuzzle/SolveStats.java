@@ -0,0 +1,117 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * Where the time of a single solve went. Reading covers finding and parsing rows, including the
+ * I/O which is also reported on its own when the input is read through a channel. With a
+ * pipeline, reading happens on its own thread and overlaps with solving.
+ */
+public class SolveStats {
+	
+	private final long rows;
+	
+	private final long bytes;
+	
+	private final long ioNanos;
+	
+	private final long readNanos;
+	
+	private final long solveNanos;
+	
+	private final long totalNanos;
+	
+	private final int peakWidth;
+	
+	private final long allocatedBytes;
+	
+	/**
+	 * @param rows Number of rows solved.
+	 * @param bytes Number of bytes of input read.
+	 * @param ioNanos Time spent waiting for input.
+	 * @param readNanos Time spent reading and parsing rows, including ioNanos.
+	 * @param solveNanos Time spent adding rows to the solver.
+	 * @param totalNanos Time from opening the input to the result.
+	 * @param peakWidth Widest row solved.
+	 * @param allocatedBytes Bytes allocated by the solving thread, -1 if the JVM cannot tell.
+	 */
+	public SolveStats(long rows, long bytes, long ioNanos, long readNanos, long solveNanos, long totalNanos, int peakWidth, long allocatedBytes) {
+		this.rows = rows;
+		this.bytes = bytes;
+		this.ioNanos = ioNanos;
+		this.readNanos = readNanos;
+		this.solveNanos = solveNanos;
+		this.totalNanos = totalNanos;
+		this.peakWidth = peakWidth;
+		this.allocatedBytes = allocatedBytes;
+	}
+	
+	public long getRows() {
+		return rows;
+	}
+	
+	public long getBytes() {
+		return bytes;
+	}
+	
+	public long getIoNanos() {
+		return ioNanos;
+	}
+	
+	public long getReadNanos() {
+		return readNanos;
+	}
+	
+	/**
+	 * @return Time spent reading rows other than waiting for input.
+	 */
+	public long getParseNanos() {
+		return Math.max(0, readNanos - ioNanos);
+	}
+	
+	public long getSolveNanos() {
+		return solveNanos;
+	}
+	
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	
+	public int getPeakWidth() {
+		return peakWidth;
+	}
+	
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+	
+	/**
+	 * @return Rows solved per second of the whole solve.
+	 */
+	public double getRowsPerSecond() {
+		return perSecond(rows);
+	}
+	
+	/**
+	 * @return Bytes of input read per second of the whole solve.
+	 */
+	public double getBytesPerSecond() {
+		return perSecond(bytes);
+	}
+	
+	private double perSecond(long count) {
+		return totalNanos == 0 ? 0 : count * 1e9 / totalNanos;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("Rows: %d (%.0f/s)%n"
+				+ "Bytes: %d (%.1f MB/s)%n"
+				+ "Peak width: %d%n"
+				+ "I/O: %.3f ms%n"
+				+ "Parse: %.3f ms%n"
+				+ "Solve: %.3f ms%n"
+				+ "Total: %.3f ms%n"
+				+ "Allocated: %d bytes",
+				rows, getRowsPerSecond(), bytes, getBytesPerSecond() / (1024 * 1024), peakWidth,
+				ioNanos / 1e6, getParseNanos() / 1e6, solveNanos / 1e6, totalNanos / 1e6, allocatedBytes);
+	}
+}
@@ -0,0 +1,144 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Thin client for {@link SolverServer}. Files are solved by the server straight from its disk,
+ * standard input is streamed to it as the request body.
+ */
+public class SolverClient {
+	
+	private static final int BUFFER_SIZE = 64 * 1024;
+	
+	private final PrintStream err;
+	
+	private final String baseUrl;
+	
+	/**
+	 * @param err Stream errors will be printed to.
+	 * @param address Host and port of the server as host:port, or only the port for localhost.
+	 */
+	public SolverClient(PrintStream err, String address) {
+		if(err == null) {
+			throw new IllegalArgumentException("err cannot be null");
+		}
+		
+		if(address == null) {
+			throw new IllegalArgumentException("Address cannot be null.");
+		}
+		
+		this.err = err;
+		this.baseUrl = "http://" + (address.indexOf(':') == -1 ? "localhost:" + address : address);
+	}
+	
+	/**
+	 * @param fileName Name of a file, or "-" to send standard input.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return maximum path from a file.
+	 * @throws ProcessException thrown when the server cannot be reached or could not solve the file.
+	 */
+	public BigInteger getExactMaxPathFromFile(String fileName, String delimeter) throws ProcessException {
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		if(fileName.equals(InputChannels.STANDARD_INPUT)) {
+			return getExactMaxPathFromStream(System.in, delimeter);
+		}
+		
+		try {
+			//The server resolves names against its own working directory.
+			String path = new File(fileName).getAbsolutePath();
+			HttpURLConnection connection = open("file=" + encode(path) + "&delimeter=" + encode(delimeter));
+			return readResponse(connection);
+		} catch(IOException ex) {
+			err.println("Unable to reach solver at " + baseUrl + ": " + ex.getMessage());
+			throw new ProcessException("Unable to reach solver.", ex);
+		}
+	}
+	
+	/**
+	 * @param in Stream holding the triangle, sent as it is read.
+	 * @param delimeter Value that we should be splitting each line on.
+	 * @return maximum path of the triangle.
+	 * @throws ProcessException thrown when the server cannot be reached or could not solve the triangle.
+	 */
+	public BigInteger getExactMaxPathFromStream(InputStream in, String delimeter) throws ProcessException {
+		if(in == null) {
+			throw new IllegalArgumentException("In cannot be null.");
+		}
+		
+		if(delimeter == null) {
+			throw new IllegalArgumentException("Delimeter cannot be null.");
+		}
+		
+		try {
+			HttpURLConnection connection = open("delimeter=" + encode(delimeter));
+			connection.setRequestMethod("POST");
+			connection.setDoOutput(true);
+			connection.setChunkedStreamingMode(BUFFER_SIZE);
+			try(OutputStream out = connection.getOutputStream()) {
+				byte[] buffer = new byte[BUFFER_SIZE];
+				int read;
+				while((read = in.read(buffer)) != -1) {
+					out.write(buffer, 0, read);
+				}
+			}
+			return readResponse(connection);
+		} catch(IOException ex) {
+			err.println("Unable to reach solver at " + baseUrl + ": " + ex.getMessage());
+			throw new ProcessException("Unable to reach solver.", ex);
+		}
+	}
+	
+	private HttpURLConnection open(String query) throws IOException {
+		return (HttpURLConnection) new URL(baseUrl + "/solve?" + query).openConnection();
+	}
+	
+	private BigInteger readResponse(HttpURLConnection connection) throws IOException, ProcessException {
+		int status = connection.getResponseCode();
+		InputStream body = status == 200 ? connection.getInputStream() : connection.getErrorStream();
+		String text = body == null ? "" : read(body).trim();
+		if(status != 200) {
+			err.println(text);
+			throw new ProcessException("Solver returned status " + status + ".");
+		}
+		
+		try {
+			return new BigInteger(text);
+		} catch(NumberFormatException ex) {
+			err.println("Unexpected response from solver: " + text);
+			throw new ProcessException("Unexpected response from solver.", ex);
+		}
+	}
+	
+	private static String read(InputStream in) throws IOException {
+		try(InputStream body = in) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int read;
+			while((read = body.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+			return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		}
+	}
+	
+	private static String encode(String value) throws IOException {
+		return URLEncoder.encode(value, "UTF-8");
+	}
+}
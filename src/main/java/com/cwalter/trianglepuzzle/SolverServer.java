@@ -0,0 +1,364 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Keeps a warm JVM answering max path requests over HTTP, so small triangles do not pay for
+ * JVM startup and a cold JIT on every run.
+ *
+ * POST /solve solves the triangle in the request body, which is parsed as it arrives and may be
+ * gzip compressed. GET /solve?file=PATH solves a file on the server's disk. Both accept a
+ * delimeter parameter and answer with the max path on a single line. GET /health answers OK and
+ * GET /stats reports request counts and latencies. GET /slab?file=PATH&first=R&height=H answers
+ * the binary {@link SlabTransfer} of those rows for a {@link SlabSolver}, with an optional
+ * interval parameter giving the height of every slab but the last. The row index of each file
+ * is built or loaded once and kept for as long as the file is unchanged and fine enough for the
+ * slabs requested.
+ *
+ * Requests with a file parameter read any file the server process can read, so the server
+ * should only listen on addresses reachable from trusted hosts.
+ *
+ * Solves and slabs are handled on a fixed number of threads behind a bounded queue. Once the
+ * queue is full they are answered 503 with a Retry-After header, while /health and /stats are
+ * answered on the accepting thread so they still respond under load.
+ */
+public class SolverServer implements Closeable {
+	
+	private static final String DEFAULT_DELIMETER = " ";
+	
+	private static final String RETRY_AFTER_SECONDS = "1";
+	
+	private final HttpServer server;
+	
+	private final ThreadPoolExecutor executor;
+	
+	private final Supplier<? extends PathSolver> solvers;
+	
+	private final LatencyStats latency = new LatencyStats();
+	
+	private final AtomicLong requests = new AtomicLong();
+	
+	private final AtomicLong errors = new AtomicLong();
+	
+	private final AtomicLong rejected = new AtomicLong();
+	
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	private final ConcurrentHashMap<String, RowIndex> indexes = new ConcurrentHashMap<>();
+	
+	private final ConcurrentHashMap<String, Object> indexLocks = new ConcurrentHashMap<>();
+	
+	private ResultCache resultCache;
+	
+	private SolveMetrics metrics;
+	
+	/**
+	 * @param address Address to listen on. Port 0 picks a free port.
+	 * @param threads Number of requests solved at once.
+	 * @param queueCapacity Number of requests allowed to wait for a thread.
+	 * @param solvers Creates the solver used for each triangle analyzed.
+	 * @throws IOException thrown if the address cannot be bound.
+	 */
+	public SolverServer(InetSocketAddress address, int threads, int queueCapacity, Supplier<? extends PathSolver> solvers) throws IOException {
+		if(address == null) {
+			throw new IllegalArgumentException("Address cannot be null.");
+		}
+		
+		if(threads < 1) {
+			throw new IllegalArgumentException("Threads must be positive.");
+		}
+		
+		if(queueCapacity < 1) {
+			throw new IllegalArgumentException("QueueCapacity must be positive.");
+		}
+		
+		if(solvers == null) {
+			throw new IllegalArgumentException("solvers cannot be null");
+		}
+		
+		this.solvers = solvers;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "TrianglePuzzle-server-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		//Without an executor of its own the server runs handlers on its accepting thread, which
+		//only hands solves to the pool.
+		this.server = HttpServer.create(address, queueCapacity);
+		this.server.createContext("/solve", pooled(this::solve));
+		this.server.createContext("/slab", pooled(this::slab));
+		this.server.createContext("/health", exchange -> respond(exchange, 200, "OK"));
+		this.server.createContext("/stats", exchange -> respond(exchange, 200, getStats()));
+	}
+	
+	/**
+	 * @param resultCache See {@link PathAnalyzer#setResultCache(ResultCache)}.
+	 */
+	public void setResultCache(ResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+	
+	/**
+	 * @param metrics See {@link PathAnalyzer#setMetrics(SolveMetrics)}.
+	 */
+	public void setMetrics(SolveMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	public void start() {
+		server.start();
+	}
+	
+	/**
+	 * @return Port the server is listening on.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+	
+	/**
+	 * @return Latency of every solve request handled.
+	 */
+	public LatencyStats getLatency() {
+		return latency;
+	}
+	
+	/**
+	 * @return Counters and latencies as name=value lines.
+	 */
+	public String getStats() {
+		StringBuilder stats = new StringBuilder();
+		stats.append("requests=").append(requests.get()).append('\n')
+			.append("errors=").append(errors.get()).append('\n')
+			.append("rejected=").append(rejected.get()).append('\n')
+			.append("inFlight=").append(inFlight.get()).append('\n')
+			.append("queued=").append(executor.getQueue().size()).append('\n')
+			.append("latencyMeanMicros=").append(latency.getMeanNanos() / 1000).append('\n')
+			.append("latencyP50Micros=").append(percentileMicros(50)).append('\n')
+			.append("latencyP99Micros=").append(percentileMicros(99)).append('\n')
+			.append("latencyMaxMicros=").append(latency.getMaxNanos() / 1000);
+		SolveMetrics metrics = this.metrics;
+		if(metrics != null) {
+			stats.append('\n')
+				.append("rowsPerSecond=").append((long) metrics.getRowsPerSecond()).append('\n')
+				.append("bytesPerSecond=").append((long) metrics.getBytesPerSecond()).append('\n')
+				.append("ioMicros=").append(metrics.getIoNanos() / 1000).append('\n')
+				.append("parseMicros=").append(metrics.getParseNanos() / 1000).append('\n')
+				.append("solveMicros=").append(metrics.getSolveNanos() / 1000).append('\n')
+				.append("peakWidth=").append(metrics.getPeakWidth()).append('\n')
+				.append("allocatedBytes=").append(metrics.getAllocatedBytes());
+		}
+		return stats.toString();
+	}
+	
+	private long percentileMicros(double percentile) {
+		return latency.getPercentileNanos(percentile) / 1000;
+	}
+	
+	/**
+	 * Runs a handler on the pool, or answers 503 right away when its queue is full.
+	 */
+	private HttpHandler pooled(HttpHandler handler) {
+		return exchange -> {
+			try {
+				executor.execute(() -> {
+					try {
+						handler.handle(exchange);
+					} catch(IOException | RuntimeException ex) {
+						exchange.close();
+					}
+				});
+			} catch(RejectedExecutionException ex) {
+				rejected.incrementAndGet();
+				exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+				respond(exchange, 503, "Server is busy, retry later.");
+			}
+		};
+	}
+	
+	private void solve(HttpExchange exchange) throws IOException {
+		long start = System.nanoTime();
+		requests.incrementAndGet();
+		inFlight.incrementAndGet();
+		try {
+			Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+			String delimeter = parameters.getOrDefault("delimeter", DEFAULT_DELIMETER);
+			ByteArrayOutputStream errorOutput = new ByteArrayOutputStream();
+			PathAnalyzer analyzer = new PathAnalyzer(new PrintStream(new ByteArrayOutputStream()), newPrintStream(errorOutput), solvers);
+			analyzer.setResultCache(resultCache);
+			analyzer.setMetrics(metrics);
+			
+			BigInteger maxPath;
+			try {
+				if(exchange.getRequestMethod().equals("POST")) {
+					try(InputStream body = exchange.getRequestBody()) {
+						maxPath = analyzer.getExactMaxPathFromStream(body, delimeter);
+					}
+				} else if(exchange.getRequestMethod().equals("GET") && parameters.containsKey("file")) {
+					IngestionMode mode = parameters.containsKey("mmap") ? IngestionMode.MAPPED : IngestionMode.STREAM;
+					maxPath = analyzer.getExactMaxPathFromFile(parameters.get("file"), delimeter, mode);
+				} else {
+					errors.incrementAndGet();
+					respond(exchange, 400, "POST a triangle or GET with a file parameter.");
+					return;
+				}
+			} catch(ProcessException | IOException | RuntimeException ex) {
+				errors.incrementAndGet();
+				respond(exchange, 400, errorText(errorOutput, ex.getMessage()));
+				return;
+			}
+			
+			if(maxPath.equals(BigInteger.valueOf(-1))) {
+				errors.incrementAndGet();
+				respond(exchange, 422, errorText(errorOutput, "Unable to solve triangle."));
+				return;
+			}
+			respond(exchange, 200, maxPath.toString());
+		} finally {
+			inFlight.decrementAndGet();
+			latency.record(System.nanoTime() - start);
+		}
+	}
+	
+	/**
+	 * Computes the {@link SlabTransfer} of rows first to first + height of a file for a
+	 * {@link SlabSolver}, sent back in its binary form.
+	 */
+	private void slab(HttpExchange exchange) throws IOException {
+		long start = System.nanoTime();
+		requests.incrementAndGet();
+		inFlight.incrementAndGet();
+		try {
+			Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+			ByteArrayOutputStream transfer = new ByteArrayOutputStream();
+			try {
+				String fileName = parameters.get("file");
+				if(fileName == null) {
+					throw new IllegalArgumentException("GET with file, first and height parameters.");
+				}
+				
+				int firstRow = Integer.parseInt(parameters.getOrDefault("first", "-1"));
+				int height = Integer.parseInt(parameters.getOrDefault("height", "0"));
+				//Slabs all start at multiples of the solver's height, the last one may be shorter.
+				int interval = Integer.parseInt(parameters.getOrDefault("interval", String.valueOf(height)));
+				RowIndex index = indexFor(fileName, interval);
+				
+				try(DataOutputStream out = new DataOutputStream(transfer)) {
+					SlabSolver.compute(index, firstRow, height, parameters.getOrDefault("delimeter", DEFAULT_DELIMETER)).write(out);
+				}
+			} catch(IOException | RuntimeException ex) {
+				errors.incrementAndGet();
+				respond(exchange, 400, String.valueOf(ex.getMessage()));
+				return;
+			}
+			
+			exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+			exchange.sendResponseHeaders(200, transfer.size());
+			try(OutputStream out = exchange.getResponseBody()) {
+				transfer.writeTo(out);
+			}
+		} finally {
+			inFlight.decrementAndGet();
+			latency.record(System.nanoTime() - start);
+		}
+	}
+	
+	/**
+	 * Scans a file at most once while it is unchanged, however many slabs of it are requested at
+	 * once. Files are locked one at a time so slabs of other files are not held up.
+	 */
+	private RowIndex indexFor(String fileName, int interval) throws IOException {
+		String path = new File(fileName).getAbsolutePath();
+		interval = Math.max(1, interval);
+		RowIndex index = indexes.get(path);
+		if(index != null && index.isCurrent() && index.serves(interval)) {
+			return index;
+		}
+		
+		synchronized(indexLocks.computeIfAbsent(path, key -> new Object())) {
+			index = indexes.get(path);
+			if(index == null || !index.isCurrent() || !index.serves(interval)) {
+				index = RowIndex.open(path, interval, System.err);
+				indexes.put(path, index);
+			}
+			return index;
+		}
+	}
+	
+	private static String errorText(ByteArrayOutputStream errorOutput, String message) {
+		String output = new String(errorOutput.toByteArray(), StandardCharsets.UTF_8).trim();
+		return output.isEmpty() ? String.valueOf(message) : output;
+	}
+	
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = (body + "\n").getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try(OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+	
+	private static Map<String, String> parameters(String query) throws UnsupportedEncodingException {
+		Map<String, String> parameters = new HashMap<>();
+		if(query == null || query.isEmpty()) {
+			return parameters;
+		}
+		
+		int equals;
+		for(String pair : query.split("&")) {
+			equals = pair.indexOf('=');
+			if(equals == -1) {
+				parameters.put(URLDecoder.decode(pair, "UTF-8"), "");
+			} else {
+				parameters.put(URLDecoder.decode(pair.substring(0, equals), "UTF-8"), URLDecoder.decode(pair.substring(equals + 1), "UTF-8"));
+			}
+		}
+		return parameters;
+	}
+	
+	private static PrintStream newPrintStream(ByteArrayOutputStream bytes) {
+		try {
+			return new PrintStream(bytes, true, "UTF-8");
+		} catch(UnsupportedEncodingException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+	
+	/**
+	 * Stops accepting requests and waits up to a second for those in progress.
+	 */
+	@Override
+	public void close() {
+		server.stop(1);
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,189 @@
+package com.cwalter.trianglepuzzle;
+
+/**
+ * Solver which keeps the best k distinct path totals instead of only the best one.
+ *
+ * Every position holds a lane of up to k distinct totals sorted from best to worst. The lane of
+ * a position is the merge of its parents' lanes, cut off after k distinct totals, plus the value
+ * of the position. Memory used is O(width * k) and rows are still processed in a single pass.
+ *
+ * Like the other solvers a position on the edge never takes a negative parent, so a path running
+ * down an edge drops a negative total and the best total is the same as
+ * {@link DefaultPathSolver#getMaxPath()}. Totals are accumulated as longs.
+ */
+public class TopPathsSolver implements PathSolver {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private final int k;
+	
+	private long[] previousLanes;
+	
+	private long[] currentLanes;
+	
+	private int[] previousCounts;
+	
+	private int[] currentCounts;
+	
+	private int width;
+	
+	/**
+	 * @param k Number of distinct totals to keep.
+	 */
+	public TopPathsSolver(int k) {
+		if(k < 1) {
+			throw new IllegalArgumentException("k must be positive.");
+		}
+		
+		this.k = k;
+		previousLanes = new long[DEFAULT_CAPACITY * k];
+		currentLanes = new long[DEFAULT_CAPACITY * k];
+		previousCounts = new int[DEFAULT_CAPACITY];
+		currentCounts = new int[DEFAULT_CAPACITY];
+	}
+	
+	@Override
+	public void addRow(int[] values, int width) {
+		if(width > currentCounts.length) {
+			grow(width);
+		}
+		
+		if(this.width == 0) {
+			previousLanes[0] = values[0];
+			previousCounts[0] = 1;
+			this.width = width;
+			return;
+		}
+		
+		long overflow = copyLane(0, 0, values[0]);
+		for(int i = 1; i < width - 1; i++) {
+			overflow |= mergeLanes(i - 1, i, i, values[i]);
+		}
+		overflow |= copyLane(width - 2, width - 1, values[width - 1]);
+		if(overflow < 0) {
+			throw new ArithmeticException("Path does not fit in a long.");
+		}
+		
+		long[] swapLanes = previousLanes;
+		previousLanes = currentLanes;
+		currentLanes = swapLanes;
+		int[] swapCounts = previousCounts;
+		previousCounts = currentCounts;
+		currentCounts = swapCounts;
+		this.width = width;
+	}
+	
+	/**
+	 * Copies the lane of the single parent of an edge position, which only holds one path.
+	 * 
+	 * @return Value whose sign bit is set if any total overflowed.
+	 */
+	private long copyLane(int parent, int position, long value) {
+		int from = parent * k;
+		int to = position * k;
+		int count = previousCounts[parent];
+		long overflow = 0;
+		long next;
+		long total;
+		for(int i = 0; i < count; i++) {
+			next = Math.max(previousLanes[from + i], 0);
+			total = next + value;
+			overflow |= (next ^ total) & (value ^ total);
+			currentLanes[to + i] = total;
+		}
+		currentCounts[position] = count;
+		return overflow;
+	}
+	
+	/**
+	 * Merges two sorted lanes, dropping duplicates, until k totals are taken.
+	 * 
+	 * @return Value whose sign bit is set if any total overflowed.
+	 */
+	private long mergeLanes(int left, int right, int position, long value) {
+		int a = left * k;
+		int aEnd = a + previousCounts[left];
+		int b = right * k;
+		int bEnd = b + previousCounts[right];
+		int to = position * k;
+		int count = 0;
+		long overflow = 0;
+		long next;
+		long total;
+		while(count < k && (a < aEnd || b < bEnd)) {
+			if(b == bEnd || (a < aEnd && previousLanes[a] > previousLanes[b])) {
+				next = previousLanes[a++];
+			} else if(a == aEnd || previousLanes[b] > previousLanes[a]) {
+				next = previousLanes[b++];
+			} else {
+				next = previousLanes[a++];
+				b++;
+			}
+			
+			total = next + value;
+			overflow |= (next ^ total) & (value ^ total);
+			currentLanes[to + count++] = total;
+		}
+		currentCounts[position] = count;
+		return overflow;
+	}
+	
+	private void grow(int width) {
+		int capacity = currentCounts.length;
+		while(capacity < width) {
+			capacity <<= 1;
+		}
+		
+		long[] grownLanes = new long[capacity * k];
+		System.arraycopy(previousLanes, 0, grownLanes, 0, this.width * k);
+		previousLanes = grownLanes;
+		currentLanes = new long[capacity * k];
+		int[] grownCounts = new int[capacity];
+		System.arraycopy(previousCounts, 0, grownCounts, 0, this.width);
+		previousCounts = grownCounts;
+		currentCounts = new int[capacity];
+	}
+	
+	/**
+	 * @return Up to k distinct path totals of the rows added so far, best first.
+	 */
+	public long[] getTopPaths() {
+		//Repeatedly take the best total below the last one taken across every lane.
+		long[] top = new long[k];
+		int[] heads = new int[width];
+		int count = 0;
+		int best;
+		int lane;
+		while(count < k) {
+			best = -1;
+			for(int i = 0; i < width; i++) {
+				lane = i * k;
+				while(heads[i] < previousCounts[i] && count > 0 && previousLanes[lane + heads[i]] >= top[count - 1]) {
+					heads[i]++;
+				}
+				
+				if(heads[i] < previousCounts[i] && (best == -1 || previousLanes[lane + heads[i]] > previousLanes[best * k + heads[best]])) {
+					best = i;
+				}
+			}
+			
+			if(best == -1) {
+				break;
+			}
+			top[count++] = previousLanes[best * k + heads[best]];
+		}
+		
+		long[] result = new long[count];
+		System.arraycopy(top, 0, result, 0, count);
+		return result;
+	}
+	
+	@Override
+	public long getMaxPath() {
+		long maxPath = previousLanes[0];
+		for(int i = 1; i < width; i++) {
+			maxPath = Math.max(maxPath, previousLanes[i * k]);
+		}
+		return maxPath;
+	}
+}
@@ -0,0 +1,476 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes large triangles for load testing. Every row draws from its own random generator seeded
+ * from the seed and the row number, so rows are generated in parallel chunks and the output is
+ * byte for byte the same whatever the number of threads.
+ */
+public class TriangleGenerator {
+	
+	/**
+	 * How values are drawn, each up to but not including the bound in magnitude.
+	 */
+	public enum Distribution {
+		
+		/**
+		 * Evenly from 0 up to the bound.
+		 */
+		UNIFORM,
+		
+		/**
+		 * Evenly from the negated bound up to the bound.
+		 */
+		SIGNED,
+		
+		/**
+		 * Mostly small values with a long tail towards the bound.
+		 */
+		EXPONENTIAL
+	}
+	
+	/**
+	 * Format the triangle is written in.
+	 */
+	public enum Format {
+		
+		TEXT,
+		
+		GZIP,
+		
+		/**
+		 * {@link BinaryEncoding#FIXED} binary triangle.
+		 */
+		BINARY,
+		
+		/**
+		 * {@link BinaryEncoding#DELTA_VARINT} binary triangle.
+		 */
+		VARINT
+	}
+	
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	
+	//Values generated per chunk handed to a thread.
+	private static final int CHUNK_VALUES = 1 << 20;
+	
+	private static final int BUFFER_SIZE = 4 * 1024 * 1024;
+	
+	//Longest run of whitespace added at once.
+	private static final int MAX_NOISE = 4;
+	
+	private final long seed;
+	
+	private Distribution distribution = Distribution.UNIFORM;
+	
+	private int bound = 100;
+	
+	private String delimeter = " ";
+	
+	private double noise;
+	
+	private int threads = Runtime.getRuntime().availableProcessors();
+	
+	/**
+	 * @param seed Seed every row is derived from.
+	 */
+	public TriangleGenerator(long seed) {
+		this.seed = seed;
+	}
+	
+	/**
+	 * @param distribution How values are drawn.
+	 * @param bound Exclusive bound on the magnitude of values.
+	 */
+	public void setValues(Distribution distribution, int bound) {
+		if(distribution == null) {
+			throw new IllegalArgumentException("Distribution cannot be null.");
+		}
+		
+		if(bound < 1) {
+			throw new IllegalArgumentException("Bound must be positive.");
+		}
+		
+		this.distribution = distribution;
+		this.bound = bound;
+	}
+	
+	/**
+	 * @param delimeter Written between values of text triangles. "\\s" and "\\s+" write a space.
+	 */
+	public void setDelimeter(String delimeter) {
+		if(delimeter == null || delimeter.isEmpty()) {
+			throw new IllegalArgumentException("Delimeter cannot be null or empty.");
+		}
+		
+		this.delimeter = delimeter.equals("\\s") || delimeter.equals("\\s+") ? " " : delimeter;
+	}
+	
+	/**
+	 * Adds stray whitespace to text triangles which the readers must skip: runs of spaces and
+	 * tabs around delimeters and lines, blank lines and CRLF line endings.
+	 * 
+	 * @param noise Chance from 0 to 1 of whitespace being added at each opportunity.
+	 */
+	public void setNoise(double noise) {
+		if(!(noise >= 0 && noise <= 1)) {
+			throw new IllegalArgumentException("Noise must be between 0 and 1.");
+		}
+		
+		this.noise = noise;
+	}
+	
+	/**
+	 * @param threads Number of threads generating rows. Does not change the output.
+	 */
+	public void setThreads(int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException("Threads must be positive.");
+		}
+		
+		this.threads = threads;
+	}
+	
+	/**
+	 * @param rows Number of rows.
+	 * @param fileName Name of the file to write, replaced if it exists.
+	 * @param format Format the triangle is written in.
+	 * @throws IOException thrown if there is an error writing the file.
+	 */
+	public void write(int rows, String fileName, Format format) throws IOException {
+		if(rows < 0) {
+			throw new IllegalArgumentException("Rows cannot be negative.");
+		}
+		
+		if(fileName == null) {
+			throw new IllegalArgumentException("FileName cannot be null.");
+		}
+		
+		if(format == null) {
+			throw new IllegalArgumentException("Format cannot be null.");
+		}
+		
+		RandomAccessFile file = new RandomAccessFile(fileName, "rw");
+		file.setLength(0);
+		FileChannel channel = file.getChannel();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "TrianglePuzzle-generator");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			if(format == Format.BINARY || format == Format.VARINT) {
+				writeBinary(rows, channel, format == Format.BINARY ? BinaryEncoding.FIXED : BinaryEncoding.DELTA_VARINT, executor);
+			} else if(format == Format.GZIP) {
+				try(OutputStream out = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) {
+					writeText(rows, Channels.newChannel(out), executor);
+				}
+			} else {
+				writeText(rows, channel, executor);
+			}
+		} finally {
+			executor.shutdownNow();
+			channel.close();
+		}
+	}
+	
+	private void writeText(int rows, WritableByteChannel channel, ExecutorService executor) throws IOException {
+		Deque<Future<ByteBuffer>> chunks = new ArrayDeque<>();
+		int row = 1;
+		int end;
+		while(row <= rows || !chunks.isEmpty()) {
+			//Keep every thread busy with one chunk queued behind it.
+			while(row <= rows && chunks.size() < threads * 2) {
+				end = chunkEnd(row, rows);
+				final int first = row;
+				final int last = end;
+				chunks.add(executor.submit(() -> textChunk(first, last)));
+				row = end + 1;
+			}
+			
+			ByteBuffer chunk = await(chunks.poll());
+			while(chunk.hasRemaining()) {
+				channel.write(chunk);
+			}
+		}
+	}
+	
+	private void writeBinary(int rows, FileChannel channel, BinaryEncoding encoding, ExecutorService executor) throws IOException {
+		Deque<Future<int[]>> chunks = new ArrayDeque<>();
+		Deque<Integer> firstRows = new ArrayDeque<>();
+		int[] values = new int[16];
+		int row = 1;
+		int end;
+		try(BinaryTriangleWriter writer = new BinaryTriangleWriter(channel, encoding)) {
+			while(row <= rows || !chunks.isEmpty()) {
+				while(row <= rows && chunks.size() < threads * 2) {
+					end = chunkEnd(row, rows);
+					final int first = row;
+					final int last = end;
+					chunks.add(executor.submit(() -> valueChunk(first, last)));
+					firstRows.add(first);
+					row = end + 1;
+				}
+				
+				int[] chunk = await(chunks.poll());
+				int width = firstRows.poll();
+				for(int offset = 0; offset < chunk.length; offset += width++) {
+					if(values.length < width) {
+						values = new int[width * 2];
+					}
+					System.arraycopy(chunk, offset, values, 0, width);
+					writer.addRow(values, width);
+				}
+			}
+		}
+	}
+	
+	private static int chunkEnd(int row, int rows) {
+		long values = 0;
+		int end = row;
+		while(end < rows && values + end < CHUNK_VALUES) {
+			values += end++;
+		}
+		return end;
+	}
+	
+	private static <T> T await(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while generating rows.", ex);
+		} catch(ExecutionException ex) {
+			throw new IOException("Unable to generate rows: " + ex.getCause().getMessage(), ex.getCause());
+		}
+	}
+	
+	private int[] valueChunk(int first, int last) {
+		int[] values = new int[(int) (((long) first + last) * (last - first + 1) / 2)];
+		int offset = 0;
+		for(int row = first; row <= last; row++) {
+			SplittableRandom random = randomFor(row);
+			for(int i = 0; i < row; i++) {
+				values[offset++] = nextValue(random);
+			}
+		}
+		return values;
+	}
+	
+	private ByteBuffer textChunk(int first, int last) {
+		byte[] separator = delimeter.getBytes(StandardCharsets.UTF_8);
+		TextBuffer text = new TextBuffer(BUFFER_SIZE / 4);
+		int[] values = new int[last];
+		for(int row = first; row <= last; row++) {
+			SplittableRandom random = randomFor(row);
+			//Values are drawn before any noise, so noise never changes the triangle itself.
+			for(int i = 0; i < row; i++) {
+				values[i] = nextValue(random);
+			}
+			
+			//Each value takes at most 11 bytes plus a separator and two runs of noise.
+			text.ensure((long) row * (11 + separator.length + 2 * MAX_NOISE) + 16);
+			if(noisy(random)) {
+				if(random.nextBoolean()) {
+					text.put((byte) ' ');
+				}
+				text.put((byte) '\n');
+			}
+			whitespace(random, text);
+			for(int i = 0; i < row; i++) {
+				if(i > 0) {
+					whitespace(random, text);
+					text.put(separator);
+					whitespace(random, text);
+				}
+				text.putInt(values[i]);
+			}
+			whitespace(random, text);
+			if(noisy(random)) {
+				text.put((byte) '\r');
+			}
+			text.put((byte) '\n');
+		}
+		return ByteBuffer.wrap(text.bytes, 0, text.length);
+	}
+	
+	private boolean noisy(SplittableRandom random) {
+		return noise > 0 && random.nextDouble() < noise;
+	}
+	
+	private void whitespace(SplittableRandom random, TextBuffer text) {
+		for(int i = 0; i < MAX_NOISE && noisy(random); i++) {
+			text.put(random.nextBoolean() ? (byte) ' ' : (byte) '\t');
+		}
+	}
+	
+	private SplittableRandom randomFor(int row) {
+		//Mix the row into the seed the way SplittableRandom mixes its own seeds.
+		long z = seed + row * GOLDEN_GAMMA;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return new SplittableRandom(z ^ (z >>> 31));
+	}
+	
+	private int nextValue(SplittableRandom random) {
+		switch(distribution) {
+			case SIGNED:
+				return random.nextInt(bound) * (random.nextBoolean() ? 1 : -1);
+			case EXPONENTIAL:
+				//Mean of a tenth of the bound, capped below the bound.
+				double value = -Math.log(1 - random.nextDouble()) * bound / 10;
+				return (int) Math.min(bound - 1, value);
+			default:
+				return random.nextInt(bound);
+		}
+	}
+	
+	/**
+	 * Generator entry point. Arguments are --rows=N and the output file name, optionally with
+	 * --seed=S, --bound=B, --distribution=uniform|signed|exponential, --delimeter=D, --noise=P,
+	 * --format=text|gzip|binary|varint and --threads=T.
+	 * 
+	 * @param args Arguments given to the command line.
+	 */
+	public static void main(String... args) {
+		String fileName = null;
+		int rows = -1;
+		long seed = 0;
+		int bound = 100;
+		Distribution distribution = Distribution.UNIFORM;
+		String delimeter = " ";
+		double noise = 0;
+		int threads = Runtime.getRuntime().availableProcessors();
+		Format format = Format.TEXT;
+		TriangleGenerator generator;
+		try {
+			String value;
+			for(String arg : args) {
+				value = arg.substring(arg.indexOf('=') + 1);
+				if(arg.startsWith("--rows=")) {
+					rows = Integer.parseInt(value);
+				} else if(arg.startsWith("--seed=")) {
+					seed = Long.parseLong(value);
+				} else if(arg.startsWith("--bound=")) {
+					bound = Integer.parseInt(value);
+				} else if(arg.startsWith("--distribution=")) {
+					distribution = Distribution.valueOf(value.toUpperCase(Locale.ROOT));
+				} else if(arg.startsWith("--delimeter=")) {
+					delimeter = value;
+				} else if(arg.startsWith("--noise=")) {
+					noise = Double.parseDouble(value);
+				} else if(arg.startsWith("--format=")) {
+					format = Format.valueOf(value.toUpperCase(Locale.ROOT));
+				} else if(arg.startsWith("--threads=")) {
+					threads = Integer.parseInt(value);
+				} else if(arg.startsWith("--") || fileName != null) {
+					throw new IllegalArgumentException("Unknown option '" + arg + "'.");
+				} else {
+					fileName = arg;
+				}
+			}
+			
+			if(rows < 0 || fileName == null) {
+				throw new IllegalArgumentException("Please provide --rows=N and the name of the file to write.");
+			}
+			
+			generator = new TriangleGenerator(seed);
+			generator.setValues(distribution, bound);
+			generator.setDelimeter(delimeter);
+			generator.setNoise(noise);
+			generator.setThreads(threads);
+		} catch(IllegalArgumentException ex) {
+			//Also covers numbers and names which fail to parse.
+			System.err.println(ex.getMessage());
+			return;
+		}
+		
+		try {
+			long start = System.nanoTime();
+			generator.write(rows, fileName, format);
+			System.out.println("Wrote " + rows + " rows to '" + fileName + "' in " + (System.nanoTime() - start) / 1000000 + " ms");
+		} catch(IOException ex) {
+			System.err.println("Error writing file '" + fileName + "' : " + ex.getMessage());
+		}
+	}
+	
+	/**
+	 * Growable bytes of text written directly, without the bounds checks of a ByteBuffer put.
+	 */
+	private static class TextBuffer {
+		
+		private byte[] bytes;
+		
+		private int length;
+		
+		TextBuffer(int capacity) {
+			this.bytes = new byte[capacity];
+		}
+		
+		void ensure(long needed) {
+			if(bytes.length - length >= needed) {
+				return;
+			}
+			
+			long capacity = bytes.length;
+			while(capacity - length < needed) {
+				capacity <<= 1;
+			}
+			
+			if(capacity > Integer.MAX_VALUE - 8) {
+				throw new IllegalStateException("Row is too wide to generate as text.");
+			}
+			
+			byte[] grown = new byte[(int) capacity];
+			System.arraycopy(bytes, 0, grown, 0, length);
+			bytes = grown;
+		}
+		
+		void put(byte b) {
+			bytes[length++] = b;
+		}
+		
+		void put(byte[] b) {
+			System.arraycopy(b, 0, bytes, length, b.length);
+			length += b.length;
+		}
+		
+		void putInt(int value) {
+			if(value < 0) {
+				bytes[length++] = '-';
+			} else {
+				value = -value;
+			}
+			
+			//Digits are produced from the negative value so Integer.MIN_VALUE needs no special case.
+			int digits = 1;
+			for(int rest = value / 10; rest != 0; rest /= 10) {
+				digits++;
+			}
+			
+			int index = length + digits;
+			length = index;
+			do {
+				bytes[--index] = (byte) ('0' - value % 10);
+				value /= 10;
+			} while(value != 0);
+		}
+	}
+}
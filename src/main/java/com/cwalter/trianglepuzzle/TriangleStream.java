@@ -0,0 +1,266 @@
+package com.cwalter.trianglepuzzle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incremental solver for triangles whose rows are produced one at a time. Rows are pushed as
+ * they become available instead of being pulled from a reader, and the max path through the
+ * rows pushed so far can be read at any time without scanning the last row again.
+ *
+ * The state can be forked to explore different continuations of the same rows. Each push is
+ * checked to be one value wider than the last, the same as when reading a file. Sums are
+ * accumulated as longs, with the same edge handling as {@link DefaultPathSolver}.
+ *
+ * Not thread safe.
+ */
+public class TriangleStream {
+	
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	private final String delimeter;
+	
+	private final RowTokenizer tokenizer;
+	
+	private long[] previousMaxPaths;
+	
+	private long[] currentMaxPaths;
+	
+	//Int rows are widened into this so they are added by the same loop as long rows.
+	private long[] widened = new long[DEFAULT_CAPACITY];
+	
+	private int width;
+	
+	private long maxPath;
+	
+	public TriangleStream() {
+		this(" ");
+	}
+	
+	/**
+	 * @param delimeter Value that rows pushed as bytes are split on.
+	 */
+	public TriangleStream(String delimeter) {
+		this.tokenizer = new RowTokenizer(delimeter);
+		this.delimeter = delimeter;
+		this.previousMaxPaths = new long[DEFAULT_CAPACITY];
+		this.currentMaxPaths = new long[DEFAULT_CAPACITY];
+	}
+	
+	private TriangleStream(TriangleStream source) {
+		this.delimeter = source.delimeter;
+		this.tokenizer = new RowTokenizer(source.delimeter);
+		this.previousMaxPaths = new long[source.previousMaxPaths.length];
+		this.currentMaxPaths = new long[source.previousMaxPaths.length];
+		System.arraycopy(source.previousMaxPaths, 0, previousMaxPaths, 0, source.width);
+		this.width = source.width;
+		this.maxPath = source.maxPath;
+	}
+	
+	/**
+	 * Adds the next row.
+	 * 
+	 * @param values Values of the row.
+	 * @param width Number of valid values in the row.
+	 * @throws IllegalArgumentException thrown if the row is not one value wider than the last.
+	 * @throws ArithmeticException thrown if a sum overflows. The row is not added.
+	 */
+	public void push(int[] values, int width) {
+		if(values == null) {
+			throw new IllegalArgumentException("Values cannot be null.");
+		}
+		
+		int length = Math.max(0, Math.min(width, values.length));
+		if(length > widened.length) {
+			int capacity = widened.length;
+			while(capacity < length) {
+				capacity <<= 1;
+			}
+			widened = new long[capacity];
+		}
+		
+		for(int i = 0; i < length; i++) {
+			widened[i] = values[i];
+		}
+		add(widened, values.length, width);
+	}
+	
+	/**
+	 * Adds the next row.
+	 * 
+	 * @param values Values of the row.
+	 * @param width Number of valid values in the row.
+	 * @throws IllegalArgumentException thrown if the row is not one value wider than the last.
+	 * @throws ArithmeticException thrown if a sum overflows. The row is not added.
+	 */
+	public void push(long[] values, int width) {
+		if(values == null) {
+			throw new IllegalArgumentException("Values cannot be null.");
+		}
+		
+		add(values, values.length, width);
+	}
+	
+	/**
+	 * @param length Number of values the caller passed, which may be fewer than values holds.
+	 */
+	private void add(long[] values, int length, int width) {
+		prepare(length, width);
+		if(width == 1) {
+			start(values[0]);
+			return;
+		}
+		
+		long[] previous = previousMaxPaths;
+		long[] current = currentMaxPaths;
+		long value = values[0];
+		long parent = Math.max(previous[0], 0);
+		long sum = value + parent;
+		long overflow = (value ^ sum) & (parent ^ sum);
+		long rowMax = sum;
+		current[0] = sum;
+		for(int i = 1; i < width - 1; i++) {
+			value = values[i];
+			parent = Math.max(previous[i - 1], previous[i]);
+			sum = value + parent;
+			overflow |= (value ^ sum) & (parent ^ sum);
+			rowMax = Math.max(rowMax, sum);
+			current[i] = sum;
+		}
+		value = values[width - 1];
+		parent = Math.max(previous[width - 2], 0);
+		sum = value + parent;
+		overflow |= (value ^ sum) & (parent ^ sum);
+		rowMax = Math.max(rowMax, sum);
+		current[width - 1] = sum;
+		finish(width, overflow, rowMax);
+	}
+	
+	/**
+	 * Parses and adds the next row. Rows without any values are ignored.
+	 * 
+	 * @param bytes Bytes holding a single line of text.
+	 * @param offset Index of the first byte of the line.
+	 * @param length Number of bytes in the line, excluding any line terminator.
+	 * @throws NumberFormatException thrown if a value is not an integer.
+	 * @throws IllegalArgumentException thrown if the row is not one value wider than the last.
+	 * @throws ArithmeticException thrown if a sum overflows. The row is not added.
+	 */
+	public void push(byte[] bytes, int offset, int length) throws NumberFormatException {
+		if(bytes == null) {
+			throw new IllegalArgumentException("Bytes cannot be null.");
+		}
+		
+		if(offset < 0 || length < 0 || offset + length > bytes.length) {
+			throw new IndexOutOfBoundsException("Slice is outside of bytes.");
+		}
+		
+		int width = tokenizer.parse(ByteBuffer.wrap(bytes), offset, offset + length);
+		if(width > 0) {
+			push(tokenizer.getValues(), width);
+		}
+	}
+	
+	private void prepare(int length, int width) {
+		if(width > length) {
+			throw new IllegalArgumentException("Width cannot be larger than values.");
+		}
+		
+		if(width != this.width + 1) {
+			throw new IllegalArgumentException("Row does not expand by one record per row as expected.");
+		}
+		
+		if(width > currentMaxPaths.length) {
+			int capacity = currentMaxPaths.length;
+			while(capacity < width) {
+				capacity <<= 1;
+			}
+			
+			long[] grown = new long[capacity];
+			System.arraycopy(previousMaxPaths, 0, grown, 0, this.width);
+			previousMaxPaths = grown;
+			currentMaxPaths = new long[capacity];
+		}
+	}
+	
+	private void start(long value) {
+		previousMaxPaths[0] = value;
+		maxPath = value;
+		width = 1;
+	}
+	
+	private void finish(int width, long overflow, long rowMax) {
+		if(overflow < 0) {
+			throw new ArithmeticException("Path does not fit in a long.");
+		}
+		
+		long[] swap = previousMaxPaths;
+		previousMaxPaths = currentMaxPaths;
+		currentMaxPaths = swap;
+		this.width = width;
+		this.maxPath = rowMax;
+	}
+	
+	/**
+	 * @return Max path through the rows pushed so far, 0 if no rows have been pushed.
+	 */
+	public long getMaxPath() {
+		return maxPath;
+	}
+	
+	/**
+	 * @return Number of rows pushed so far, which is also the width of the last row.
+	 */
+	public int getRowCount() {
+		return width;
+	}
+	
+	/**
+	 * @return Copy of the best path ending at each position of the last row, enough to
+	 * {@link #restore(long[], String)} this stream later.
+	 */
+	public long[] getMaxPaths() {
+		long[] maxPaths = new long[width];
+		System.arraycopy(previousMaxPaths, 0, maxPaths, 0, width);
+		return maxPaths;
+	}
+	
+	/**
+	 * Recreates a stream from the state of its last row.
+	 * 
+	 * @param maxPaths Best path ending at each position of the last row, from {@link #getMaxPaths()}.
+	 * @param delimeter Value that rows pushed as bytes are split on.
+	 * @return Stream ready for the row after the one the state belongs to.
+	 */
+	public static TriangleStream restore(long[] maxPaths, String delimeter) {
+		if(maxPaths == null) {
+			throw new IllegalArgumentException("MaxPaths cannot be null.");
+		}
+		
+		TriangleStream stream = new TriangleStream(delimeter);
+		if(maxPaths.length == 0) {
+			return stream;
+		}
+		
+		int capacity = DEFAULT_CAPACITY;
+		while(capacity < maxPaths.length) {
+			capacity <<= 1;
+		}
+		stream.previousMaxPaths = new long[capacity];
+		stream.currentMaxPaths = new long[capacity];
+		System.arraycopy(maxPaths, 0, stream.previousMaxPaths, 0, maxPaths.length);
+		long maxPath = maxPaths[0];
+		for(int i = 1; i < maxPaths.length; i++) {
+			maxPath = Math.max(maxPath, maxPaths[i]);
+		}
+		stream.width = maxPaths.length;
+		stream.maxPath = maxPath;
+		return stream;
+	}
+	
+	/**
+	 * @return Independent copy of this stream. Rows pushed to either do not affect the other.
+	 */
+	public TriangleStream fork() {
+		return new TriangleStream(this);
+	}
+}
@@ -0,0 +1,64 @@
+package com.cwalter.trianglepuzzle;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class AdaptivePathSolverTests {
+
+	private static void addRows(PathSolver solver, int rows, int value) {
+		int[] values = new int[rows];
+		for(int width = 1; width <= rows; width++) {
+			for(int i = 0; i < width; i++) {
+				values[i] = value;
+			}
+			solver.addRow(values, width);
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_SmallValues_StaysOnIntLanes() {
+		//Arrange
+		AdaptivePathSolver solver = new AdaptivePathSolver(1);
+		
+		//Act
+		solver.addRow(new int[] { 5 }, 1);
+		solver.addRow(new int[] { 9, 6 }, 2);
+		solver.addRow(new int[] { 4, 6, 8 }, 3);
+		solver.addRow(new int[] { 0, 7, 1, 5 }, 4);
+		
+		//Assert
+		assertEquals(27, solver.getMaxPath());
+		assertEquals(32, solver.getLaneWidth());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_IntOverflow_MovesToLongLanes() {
+		//Arrange
+		AdaptivePathSolver solver = new AdaptivePathSolver();
+		
+		//Act
+		addRows(solver, 10, Integer.MAX_VALUE);
+		
+		//Assert
+		assertEquals(10L * Integer.MAX_VALUE, solver.getMaxPath());
+		assertEquals(64, solver.getLaneWidth());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_NegativeIntOverflow_MovesToLongLanes() {
+		//Arrange
+		AdaptivePathSolver solver = new AdaptivePathSolver();
+		
+		//Act
+		addRows(solver, 3, Integer.MIN_VALUE);
+		
+		//Assert
+		assertEquals(Integer.MIN_VALUE, solver.getMaxPath());
+		assertEquals(64, solver.getLaneWidth());
+	}
+}
@@ -0,0 +1,109 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
+
+public class BatchAnalyzerTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File write(String name, String content) throws IOException {
+		File file = new File(folder.getRoot(), name);
+		file.getParentFile().mkdirs();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return file;
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_ZeroMaxOpenFiles_ThrowsIllegalArgumentException() {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		
+		try {
+			//Act
+			new BatchAnalyzer(outStream, errorStream, AdaptivePathSolver::new, 0, 1024);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void analyze_BadFilesAmongGoodFiles_ReturnsResultsInOrder() throws IOException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		BatchAnalyzer batch = new BatchAnalyzer(outStream, errorStream, AdaptivePathSolver::new, 2, 1024 * 1024);
+		
+		String good = write("good.txt", "5\n9 6\n4 6 8\n0 7 1 5").getPath();
+		String bad = write("bad.txt", "1\nstring two").getPath();
+		String missing = new File(folder.getRoot(), "missing.txt").getPath();
+		String other = write("other.txt", "1\n2 3").getPath();
+		
+		//Act
+		List<BatchResult> results = batch.analyze(Arrays.asList(good, bad, missing, other), " ", IngestionMode.STREAM);
+		
+		//Assert
+		assertEquals(4, results.size());
+		assertEquals(BigInteger.valueOf(27), results.get(0).getMaxPath());
+		assertFalse(results.get(1).isSuccess());
+		assertFalse(results.get(2).isSuccess());
+		assertEquals(other, results.get(3).getFileName());
+		assertEquals(BigInteger.valueOf(4), results.get(3).getMaxPath());
+		
+		InOrder inOrder = inOrder(outStream);
+		inOrder.verify(outStream).println(good + ": Max path of '27' found");
+		inOrder.verify(outStream).println(other + ": Max path of '4' found");
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void expand_DirectoryAndGlob_ReturnsSortedFiles() throws IOException, ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		BatchAnalyzer batch = new BatchAnalyzer(outStream, errorStream, AdaptivePathSolver::new, 2, 1024 * 1024);
+		
+		File b = write("dir/b.txt", "1");
+		File a = write("dir/a.txt", "1");
+		File c = write("glob/c.tri", "1");
+		write("glob/d.txt", "1");
+		File single = write("single.txt", "1");
+		String pattern = new File(folder.getRoot(), "glob").getPath() + File.separator + "*.tri";
+		
+		//Act
+		List<String> fileNames = batch.expand(Arrays.asList(single.getPath(), a.getParent(), pattern));
+		
+		//Assert
+		assertEquals(Arrays.asList(single.getPath(), a.getPath(), b.getPath(), c.getPath()), fileNames);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void estimateMemory_LargerFile_IsLarger() {
+		assertTrue(BatchAnalyzer.estimateMemory(1L << 30) > BatchAnalyzer.estimateMemory(1L << 10));
+	}
+}
@@ -0,0 +1,229 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BinaryRowReaderTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File write(int[][] rows, BinaryEncoding encoding) throws IOException {
+		File file = folder.newFile();
+		try(BinaryTriangleWriter writer = new BinaryTriangleWriter(new RandomAccessFile(file, "rw").getChannel(), encoding)) {
+			for(int[] row : rows) {
+				writer.addRow(row, row.length);
+			}
+		}
+		return file;
+	}
+	
+	private static BinaryRowReader reader(File file) throws IOException {
+		return new BinaryRowReader(new RandomAccessFile(file, "r").getChannel());
+	}
+	
+	private static int[][] triangle(int rowCount, int bound, long seed) {
+		Random random = new Random(seed);
+		int[][] rows = new int[rowCount][];
+		for(int row = 0; row < rowCount; row++) {
+			rows[row] = new int[row + 1];
+			for(int i = 0; i <= row; i++) {
+				rows[row][i] = bound == 0 ? random.nextInt() : random.nextInt(bound * 2) - bound;
+			}
+		}
+		return rows;
+	}
+	
+	private static void assertRows(int[][] expected, File file) throws IOException {
+		try(BinaryRowReader rows = reader(file)) {
+			assertEquals(expected.length, rows.getRowCount());
+			for(int[] row : expected) {
+				assertEquals(row.length, rows.nextRow());
+				for(int i = 0; i < row.length; i++) {
+					assertEquals(row[i], rows.getRow()[i]);
+				}
+			}
+			assertEquals(-1, rows.nextRow());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_NullChannel_ThrowsIllegalArgumentException() throws IOException {
+		try {
+			//Act
+			new BinaryRowReader(null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void addRow_RowDoesNotExpand_ThrowsIllegalArgumentException() throws IOException {
+		try(BinaryTriangleWriter writer = new BinaryTriangleWriter(new RandomAccessFile(folder.newFile(), "rw").getChannel(), BinaryEncoding.FIXED)) {
+			writer.addRow(new int[] { 5 }, 1);
+			try {
+				//Act
+				writer.addRow(new int[] { 1, 2, 3 }, 3);
+				
+				//Assert
+				fail("IllegalArgumentException not thrown.");
+			} catch(IllegalArgumentException ex) {
+			}
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_EveryValueWidth_RoundTrips() throws IOException {
+		for(int bound : new int[] { 100, 30000, 0 }) {
+			int[][] rows = triangle(300, bound, bound);
+			assertRows(rows, write(rows, BinaryEncoding.FIXED));
+			assertRows(rows, write(rows, BinaryEncoding.DELTA_VARINT));
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_ExtremeValues_RoundTrips() throws IOException {
+		//Arrange
+		int[][] rows = { { Integer.MIN_VALUE }, { Integer.MAX_VALUE, Integer.MIN_VALUE }, { 0, -1, Integer.MAX_VALUE } };
+		
+		//Act, Assert
+		assertRows(rows, write(rows, BinaryEncoding.FIXED));
+		assertRows(rows, write(rows, BinaryEncoding.DELTA_VARINT));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_EmptyTriangle_ReturnsMinusOne() throws IOException {
+		assertRows(new int[0][], write(new int[0][], BinaryEncoding.FIXED));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_CorruptPayload_ThrowsIOException() throws IOException {
+		//Arrange
+		File file = write(triangle(20, 100, 1), BinaryEncoding.FIXED);
+		try(FileChannel channel = new RandomAccessFile(file, "rw").getChannel()) {
+			channel.write(java.nio.ByteBuffer.wrap(new byte[] { 127 }), channel.size() - 1);
+		}
+		
+		try(BinaryRowReader rows = reader(file)) {
+			//Act
+			rows.nextRow();
+			
+			//Assert
+			fail("IOException not thrown.");
+		} catch(IOException ex) {
+			assertTrue(ex.getMessage().contains("checksum"));
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_Truncated_ThrowsIOException() throws IOException {
+		//Arrange
+		File file = write(triangle(20, 100, 1), BinaryEncoding.DELTA_VARINT);
+		try(FileChannel channel = new RandomAccessFile(file, "rw").getChannel()) {
+			channel.truncate(channel.size() - 5);
+		}
+		
+		try(BinaryRowReader rows = reader(file)) {
+			//Act
+			rows.nextRow();
+			
+			//Assert
+			fail("IOException not thrown.");
+		} catch(IOException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void convertFile_TextFile_SolvesBinaryFile() throws IOException, ProcessException {
+		//Arrange
+		PathAnalyzer analyzer = new PathAnalyzer(mock(PrintStream.class), mock(PrintStream.class));
+		File text = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(text)) {
+			out.write("5\n9 6\n4 6 8\n0 7 1 5\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		File binary = new File(folder.getRoot(), "triangle.bin");
+		
+		//Act
+		long rows = analyzer.convertFile(text.getPath(), " ", binary.getPath(), BinaryEncoding.DELTA_VARINT);
+		
+		//Assert
+		assertEquals(4, rows);
+		assertTrue(BinaryTriangleFormat.isBinary(new RandomAccessFile(binary, "r").getChannel()));
+		assertEquals(27, analyzer.getMaxPathFromFile(binary.getPath(), " "));
+		assertEquals(27, analyzer.getMaxPathFromFile(binary.getPath(), " ", IngestionMode.MAPPED));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void convertFile_RowDoesNotExpand_ThrowsProcessException() throws IOException {
+		//Arrange
+		PrintStream err = mock(PrintStream.class);
+		PathAnalyzer analyzer = new PathAnalyzer(mock(PrintStream.class), err);
+		File text = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(text)) {
+			out.write("5\n9 6 1\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		
+		try {
+			//Act
+			analyzer.convertFile(text.getPath(), " ", new File(folder.getRoot(), "bad.bin").getPath(), BinaryEncoding.FIXED);
+			
+			//Assert
+			fail("ProcessException not thrown.");
+		} catch(ProcessException ex) {
+			verify(err).println("File does not expand by one record per row as expected.");
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void convertFile_MalformedFile_LeavesNoBinaryFile() throws IOException, ProcessException {
+		//Arrange
+		PathAnalyzer analyzer = new PathAnalyzer(mock(PrintStream.class), mock(PrintStream.class));
+		File text = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(text)) {
+			out.write("5\n9 6\n4 x 8\n0 7 1 5\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		File binary = new File(folder.getRoot(), "triangle.bin");
+		File previous = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(previous)) {
+			out.write("1\n2 3\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		analyzer.convertFile(previous.getPath(), " ", binary.getPath(), BinaryEncoding.FIXED);
+		
+		try {
+			//Act
+			analyzer.convertFile(text.getPath(), " ", binary.getPath(), BinaryEncoding.FIXED);
+			
+			//Assert
+			fail("ProcessException not thrown.");
+		} catch(ProcessException ex) {
+		}
+		assertEquals("earlier conversion is kept", 4, analyzer.getMaxPathFromFile(binary.getPath(), " "));
+		assertEquals("no temporary file is left", 3, folder.getRoot().list().length);
+	}
+}
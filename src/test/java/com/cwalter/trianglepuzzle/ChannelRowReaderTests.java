@@ -0,0 +1,70 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class ChannelRowReaderTests {
+
+	private static ChannelRowReader reader(String content) {
+		return new ChannelRowReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)), " ");
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_NullChannel_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new ChannelRowReader((java.nio.channels.ReadableByteChannel) null, " ");
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void nextRow_Empty_ReturnsMinusOne() throws IOException {
+		assertEquals(-1, reader("").nextRow());
+		assertEquals(-1, reader(" \n\r\n  ").nextRow());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void nextRow_MixedLineEndings_SkipsBlankLines() throws IOException {
+		//Arrange
+		ChannelRowReader rows = reader("\n 5\r\n\r\n9 6\r4 6 8");
+		
+		//Act, Assert
+		assertEquals(1, rows.nextRow());
+		assertEquals(5, rows.getRow()[0]);
+		assertEquals(2, rows.nextRow());
+		assertEquals(6, rows.getRow()[1]);
+		assertEquals(3, rows.nextRow());
+		assertEquals(8, rows.getRow()[2]);
+		assertEquals(-1, rows.nextRow());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void nextRow_LineLargerThanBuffer_ReturnsRow() throws IOException {
+		//Arrange
+		StringBuilder content = new StringBuilder("1\n");
+		for(int i = 0; i < 50000; i++) {
+			content.append(i).append(' ');
+		}
+		ChannelRowReader rows = reader(content.toString());
+		
+		//Act, Assert
+		assertEquals(1, rows.nextRow());
+		assertEquals(50000, rows.nextRow());
+		assertEquals(49999, rows.getRow()[49999]);
+		assertEquals(-1, rows.nextRow());
+	}
+}
@@ -0,0 +1,260 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class CheckpointedSolverTests {
+
+	private static final String TRIANGLE = "5\n9 6\n4 6 8\n0 7 1 5\n";
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File file(String content) throws IOException {
+		File file = folder.newFile();
+		write(file, content, false);
+		return file;
+	}
+	
+	private static void write(File file, String content, boolean append) throws IOException {
+		try(FileOutputStream out = new FileOutputStream(file, append)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_InvalidArguments_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new CheckpointedSolver(null, 1);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+		
+		try {
+			//Act
+			new CheckpointedSolver(mock(PrintStream.class), 0);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_NoCheckpoint_SolvesAndSavesCheckpoint() throws IOException {
+		//Arrange
+		CheckpointedSolver solver = new CheckpointedSolver(mock(PrintStream.class), 2);
+		File file = file(TRIANGLE);
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(27, maxPath);
+		assertEquals(0, solver.getRowsResumed());
+		assertEquals(4, solver.getRowsSolved());
+		assertTrue(CheckpointedSolver.sidecarFor(file.getPath()).isFile());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_RowsAppended_SolvesOnlyNewRows() throws IOException {
+		//Arrange
+		CheckpointedSolver solver = new CheckpointedSolver(mock(PrintStream.class), 100);
+		File file = file(TRIANGLE);
+		solver.solve(file.getPath(), " ");
+		write(file, "1 1 1 1 9\n", true);
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(33, maxPath);
+		assertEquals(4, solver.getRowsResumed());
+		assertEquals(1, solver.getRowsSolved());
+		assertEquals(33, solver.solve(file.getPath(), " "));
+		assertEquals(0, solver.getRowsSolved());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_InterruptedRun_ResumesFromCheckpoint() throws IOException {
+		//Arrange
+		CheckpointedSolver solver = new CheckpointedSolver(mock(PrintStream.class), 2);
+		File file = file("5\n9 6\n4 6 8\n0 7 x 5\n");
+		try {
+			solver.solve(file.getPath(), " ");
+			fail("NumberFormatException not thrown.");
+		} catch(NumberFormatException ex) {
+		}
+		
+		try(RandomAccessFile fixed = new RandomAccessFile(file, "rw")) {
+			fixed.seek(TRIANGLE.indexOf("1 5"));
+			fixed.write('1');
+		}
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(27, maxPath);
+		assertEquals(2, solver.getRowsResumed());
+		assertEquals(2, solver.getRowsSolved());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_FileRewritten_StartsOver() throws IOException {
+		//Arrange
+		CheckpointedSolver solver = new CheckpointedSolver(mock(PrintStream.class), 1);
+		File file = file(TRIANGLE);
+		solver.solve(file.getPath(), " ");
+		write(file, "1\n2 3\n4 5 6\n7 8 9 1\n", false);
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(19, maxPath);
+		assertEquals(0, solver.getRowsResumed());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_EarlyRowEditedKeepingLengthAndTail_StartsOver() throws IOException {
+		//Arrange
+		CheckpointedSolver solver = new CheckpointedSolver(mock(PrintStream.class), 1000);
+		StringBuilder triangle = new StringBuilder();
+		for(int row = 1; row <= 100; row++) {
+			for(int i = 0; i < row; i++) {
+				triangle.append(i == 0 ? "" : " ").append(1);
+			}
+			triangle.append('\n');
+		}
+		File file = file(triangle.toString());
+		solver.solve(file.getPath(), " ");
+		long lastModified = file.lastModified();
+		try(RandomAccessFile edited = new RandomAccessFile(file, "rw")) {
+			edited.seek(2);
+			edited.write('9');
+		}
+		assertTrue(file.setLastModified(lastModified - 10000));
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(108, maxPath);
+		assertEquals(0, solver.getRowsResumed());
+		assertEquals(100, solver.getRowsSolved());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_SidecarNotWritable_SolvesAndReportsError() throws IOException {
+		//Arrange
+		PrintStream err = mock(PrintStream.class);
+		CheckpointedSolver solver = new CheckpointedSolver(err, 1);
+		File file = file(TRIANGLE);
+		File sidecar = CheckpointedSolver.sidecarFor(file.getPath());
+		assertTrue(new File(sidecar, "blocked").mkdirs());
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(27, maxPath);
+		assertEquals(4, solver.getRowsSolved());
+		verify(err, times(4)).println(startsWith("Unable to save checkpoint '" + sidecar + "'"));
+		assertEquals(2, folder.getRoot().list().length);
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_UnterminatedLastRow_DoesNotResumeInsideIt() throws IOException {
+		//Arrange
+		CheckpointedSolver solver = new CheckpointedSolver(mock(PrintStream.class), 100);
+		File file = file("5\n9 6\n4 6");
+		solver.solve(file.getPath(), " ");
+		write(file, " 8\n", true);
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(20, maxPath);
+		assertEquals(0, solver.getRowsResumed());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_DamagedCheckpoint_StartsOver() throws IOException {
+		//Arrange
+		PrintStream err = mock(PrintStream.class);
+		CheckpointedSolver solver = new CheckpointedSolver(err, 1);
+		File file = file(TRIANGLE);
+		solver.solve(file.getPath(), " ");
+		File sidecar = CheckpointedSolver.sidecarFor(file.getPath());
+		try(RandomAccessFile damaged = new RandomAccessFile(sidecar, "rw")) {
+			damaged.seek(damaged.length() - 12);
+			damaged.write(0x7F);
+		}
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(27, maxPath);
+		assertEquals(0, solver.getRowsResumed());
+		verify(err).println("Checkpoint '" + sidecar + "' is damaged, starting over.");
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_RowDoesNotExpand_ReturnsMinusOne() throws IOException {
+		//Arrange
+		PrintStream err = mock(PrintStream.class);
+		CheckpointedSolver solver = new CheckpointedSolver(err, 1);
+		
+		//Act
+		long maxPath = solver.solve(file("5\n9 6 1\n").getPath(), " ");
+		
+		//Assert
+		assertEquals(-1, maxPath);
+		verify(err).println("File does not expand by one record per row as expected.");
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void restore_MaxPaths_ContinuesStream() {
+		//Arrange
+		TriangleStream stream = new TriangleStream();
+		stream.push(new int[] { 5 }, 1);
+		stream.push(new int[] { 9, 6 }, 2);
+		
+		//Act
+		TriangleStream restored = TriangleStream.restore(stream.getMaxPaths(), " ");
+		restored.push(new int[] { 4, 6, 8 }, 3);
+		
+		//Assert
+		assertEquals(20, restored.getMaxPath());
+		assertEquals(3, restored.getRowCount());
+	}
+}
@@ -0,0 +1,131 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class ChunkedRowReaderTests {
+
+	private static final String TRIANGLE = "5\n9 6\r\n\n  \n4 6 8\r0 7 1 5\n\n12 -3 4 +5 6";
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File file(String content) throws IOException {
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return file;
+	}
+	
+	private ChunkedRowReader reader(File file, int threads, int chunkSize, int maxBlocks) throws IOException {
+		return new ChunkedRowReader(new RandomAccessFile(file, "r").getChannel(), " ", threads, chunkSize, maxBlocks);
+	}
+	
+	private static void assertSameRows(File file, RowReader actual) throws IOException {
+		try(RowReader expected = new ChannelRowReader(new FileInputStream(file).getChannel(), " ")) {
+			int width;
+			do {
+				width = expected.nextRow();
+				assertEquals(width, actual.nextRow());
+				for(int i = 0; i < width; i++) {
+					assertEquals(expected.getRow()[i], actual.getRow()[i]);
+				}
+				if(width != -1) {
+					assertEquals(expected.getPosition(), actual.getPosition());
+				}
+			} while(width != -1);
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_EveryChunkSize_ReturnsSameRowsAsChannelRowReader() throws IOException {
+		//Arrange
+		File file = file(TRIANGLE);
+		
+		for(int chunkSize = 1; chunkSize <= TRIANGLE.length() + 1; chunkSize++) {
+			//Act, Assert
+			try(RowReader rows = reader(file, 3, chunkSize, 2)) {
+				assertSameRows(file, rows);
+			}
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_LinesLongerThanChunks_ReturnsSameRowsAsChannelRowReader() throws IOException {
+		//Arrange
+		StringBuilder text = new StringBuilder();
+		for(int row = 0; row < 300; row++) {
+			for(int column = 0; column <= row * 20; column++) {
+				text.append(column == 0 ? "" : " ").append((row * 31 + column) % 1000);
+			}
+			text.append('\n');
+		}
+		File file = file(text.toString());
+		
+		//Act, Assert
+		try(RowReader rows = reader(file, 2, 1000, 1)) {
+			assertSameRows(file, rows);
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_EmptyFile_ReturnsMinusOne() throws IOException {
+		try(RowReader rows = reader(file(""), 2, 16, 2)) {
+			assertEquals(-1, rows.nextRow());
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_InvalidToken_ThrowsNumberFormatException() throws IOException {
+		try(RowReader rows = reader(file("5\n9 6\n4 x 8\n"), 2, 4, 2)) {
+			assertEquals(1, rows.nextRow());
+			assertEquals(2, rows.nextRow());
+			
+			//Act
+			rows.nextRow();
+			
+			//Assert
+			fail("NumberFormatException was not thrown.");
+		} catch(NumberFormatException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_InvalidArguments_ThrowsIllegalArgumentException() throws IOException {
+		try {
+			//Act
+			new ChunkedRowReader(null, " ");
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathFromFile_Chunked_FindsMaxPath() throws IOException, ProcessException {
+		//Arrange
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(System.out, System.err);
+		
+		//Act, Assert
+		assertEquals(27, pathAnalyzer.getMaxPathFromFile(file("5\n9 6\n4 6 8\n0 7 1 5\n").getPath(), " ", IngestionMode.CHUNKED));
+	}
+}
@@ -0,0 +1,176 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class CommandLineOptionsTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void parse_FlagsAndFile_ReturnsOptions() {
+		//Act
+		CommandLineOptions options = CommandLineOptions.parse("--mmap", "file.txt", "--pipeline");
+		
+		//Assert
+		assertEquals(Arrays.asList("file.txt"), options.getFileNames());
+		assertEquals(IngestionMode.MAPPED, options.getMode());
+		assertTrue(options.getPipelineDepth() > 0);
+		assertFalse(options.isBatch());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_Chunked_ReturnsOptions() {
+		//Act, Assert
+		assertEquals(IngestionMode.CHUNKED, CommandLineOptions.parse("--chunked", "file.txt").getMode());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_Slabs_ReturnsOptions() {
+		//Act
+		CommandLineOptions options = CommandLineOptions.parse("--workers=9000,host:9001", "file.txt");
+		
+		//Assert
+		assertEquals(SlabSolver.DEFAULT_SLAB_HEIGHT, options.getSlabHeight());
+		assertEquals(Arrays.asList("9000", "host:9001"), options.getWorkers());
+		assertEquals(8, CommandLineOptions.parse("--slabs=8", "file.txt").getSlabHeight());
+		assertEquals(0, CommandLineOptions.parse("file.txt").getSlabHeight());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_OffHeap_ReturnsOptions() {
+		//Act
+		CommandLineOptions options = CommandLineOptions.parse("--scratch=/tmp/rows", "file.txt");
+		
+		//Assert
+		assertTrue(options.isOffHeap());
+		assertEquals("/tmp/rows", options.getScratchDirectory());
+		assertTrue(CommandLineOptions.parse("--off-heap", "file.txt").isOffHeap());
+		assertNull(CommandLineOptions.parse("--off-heap", "file.txt").getScratchDirectory());
+		assertFalse(CommandLineOptions.parse("file.txt").isOffHeap());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_Analyze_ReturnsOptions() {
+		//Act
+		CommandLineOptions options = CommandLineOptions.parse("--analyze=min,count", "--bins=4", "file.txt");
+		
+		//Assert
+		assertEquals(EnumSet.of(PathAggregate.MIN, PathAggregate.MAX_COUNT), options.getAggregates());
+		assertEquals(4, options.getBins());
+		assertEquals(EnumSet.allOf(PathAggregate.class), CommandLineOptions.parse("--analyze", "file.txt").getAggregates());
+		assertTrue(CommandLineOptions.parse("file.txt").getAggregates().isEmpty());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_UnknownAggregate_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			CommandLineOptions.parse("--analyze=median", "file.txt");
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_Stats_ReturnsOptions() {
+		//Act
+		CommandLineOptions options = CommandLineOptions.parse("--stats", "file.txt");
+		
+		//Assert
+		assertTrue(options.isStats());
+		assertFalse(CommandLineOptions.parse("file.txt").isStats());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_Index_ReturnsOptions() {
+		//Act, Assert
+		assertEquals(RowIndex.DEFAULT_INTERVAL, CommandLineOptions.parse("--index", "file.txt").getIndexInterval());
+		assertEquals(16, CommandLineOptions.parse("--index=16", "file.txt").getIndexInterval());
+		assertEquals(0, CommandLineOptions.parse("file.txt").getIndexInterval());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_BatchWithManyFiles_ReturnsOptions() {
+		//Act
+		CommandLineOptions options = CommandLineOptions.parse("--batch", "a", "b", "--max-open-files=3", "--max-memory-mb=2");
+		
+		//Assert
+		assertEquals(Arrays.asList("a", "b"), options.getFileNames());
+		assertEquals(3, options.getMaxOpenFiles());
+		assertEquals(2L * 1024 * 1024, options.getMaxMemory());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_ConvertAndCache_ReturnsOptions() {
+		//Act
+		CommandLineOptions plain = CommandLineOptions.parse("a.txt");
+		CommandLineOptions options = CommandLineOptions.parse("--convert=a.bin", "--varint", "a.txt", "--cache=dir");
+		
+		//Assert
+		assertNull(plain.getConvertFileName());
+		assertEquals(BinaryEncoding.FIXED, plain.getEncoding());
+		assertEquals("a.bin", options.getConvertFileName());
+		assertEquals(BinaryEncoding.DELTA_VARINT, options.getEncoding());
+		assertNull(plain.getCacheDirectory());
+		assertEquals("dir", options.getCacheDirectory());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_ServerAndClient_ReturnsOptions() {
+		//Act
+		CommandLineOptions server = CommandLineOptions.parse("--server=8080");
+		CommandLineOptions bound = CommandLineOptions.parse("--server=8080", "--bind=0.0.0.0");
+		CommandLineOptions client = CommandLineOptions.parse("--connect=host:8080", "-");
+		
+		//Assert
+		assertEquals(8080, server.getServerPort());
+		assertTrue(server.getFileNames().isEmpty());
+		assertNull(server.getBindAddress());
+		assertEquals("0.0.0.0", bound.getBindAddress());
+		assertEquals("host:8080", client.getConnectAddress());
+		assertEquals(Arrays.asList("-"), client.getFileNames());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_UnknownOption_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			CommandLineOptions.parse("--unknown", "file.txt");
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_InvalidNumber_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			CommandLineOptions.parse("--batch", "--max-open-files=0", "file.txt");
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+}
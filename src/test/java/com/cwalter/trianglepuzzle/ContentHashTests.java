@@ -0,0 +1,77 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class ContentHashTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void hash_KnownValues_MatchesXxHash64() {
+		assertEquals(0xEF46DB3751D8E999L, ContentHash.hash(new byte[0]));
+		assertEquals(0x44BC2CF5AD770999L, ContentHash.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+		assertEquals(0xFBCEA83C8A378BF1L, ContentHash.hash("Nobody inspects the spammish repetition".getBytes(StandardCharsets.US_ASCII)));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void hash_Channel_MatchesBytes() throws IOException {
+		//Arrange
+		byte[] bytes = new byte[3 * 1024 * 1024 + 45];
+		new Random(7).nextBytes(bytes);
+		
+		//Act
+		long hash = ContentHash.hash(Channels.newChannel(new ByteArrayInputStream(bytes)));
+		
+		//Assert
+		assertEquals(ContentHash.hash(bytes), hash);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void update_ChunksAcrossSavedState_MatchesBytes() throws IOException {
+		//Arrange
+		byte[] bytes = new byte[1000];
+		new Random(11).nextBytes(bytes);
+		ContentHash.Digest digest = new ContentHash.Digest();
+		digest.update(ByteBuffer.wrap(bytes, 0, 7));
+		digest.update(ByteBuffer.wrap(bytes, 7, 300));
+		ByteArrayOutputStream state = new ByteArrayOutputStream();
+		digest.write(new DataOutputStream(state));
+		
+		//Act
+		ContentHash.Digest restored = new ContentHash.Digest(new DataInputStream(new ByteArrayInputStream(state.toByteArray())));
+		restored.update(ByteBuffer.wrap(bytes, 307, 693));
+		
+		//Assert
+		assertEquals(ContentHash.hash(Arrays.copyOf(bytes, 307)), digest.getValue());
+		assertEquals(ContentHash.hash(bytes), restored.getValue());
+		assertEquals(1000, restored.getLength());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void hash_NullBytes_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			ContentHash.hash((byte[]) null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.cwalter.trianglepuzzle;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class DefaultPathSolverTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_ZeroCapacity_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new DefaultPathSolver(0);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_SingleRow_ReturnsValue() {
+		//Arrange
+		DefaultPathSolver solver = new DefaultPathSolver();
+		
+		//Act
+		solver.addRow(new int[] { 42 }, 1);
+		
+		//Assert
+		assertEquals(42, solver.getMaxPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_GrowsPastCapacity_ReturnsMaxPath() {
+		//Arrange
+		DefaultPathSolver solver = new DefaultPathSolver(1);
+		
+		//Act
+		solver.addRow(new int[] { 5 }, 1);
+		solver.addRow(new int[] { 9, 6 }, 2);
+		solver.addRow(new int[] { 4, 6, 8 }, 3);
+		solver.addRow(new int[] { 0, 7, 1, 5 }, 4);
+		
+		//Assert
+		assertEquals(27, solver.getMaxPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_NegativeParentOnEdge_CountsAsZero() {
+		//Arrange
+		DefaultPathSolver solver = new DefaultPathSolver();
+		
+		//Act
+		solver.addRow(new int[] { -10 }, 1);
+		solver.addRow(new int[] { 1, 2 }, 2);
+		
+		//Assert
+		assertEquals(2, solver.getMaxPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void addRow_ReusedValues_DoesNotChangeResult() {
+		//Arrange
+		DefaultPathSolver solver = new DefaultPathSolver();
+		int[] values = { 1, 0, 0 };
+		
+		//Act
+		solver.addRow(values, 1);
+		values[0] = 2;
+		values[1] = 3;
+		solver.addRow(values, 2);
+		
+		//Assert
+		assertEquals(4, solver.getMaxPath());
+	}
+}
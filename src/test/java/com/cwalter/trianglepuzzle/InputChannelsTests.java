@@ -0,0 +1,213 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class InputChannelsTests {
+
+	private static final String TRIANGLE = "5\n9 6\n4 6 8\n0 7 1 5\n";
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private static byte[] gzip(String content) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(OutputStream out = new GZIPOutputStream(bytes)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return bytes.toByteArray();
+	}
+	
+	private static byte[] deflate(String content) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(OutputStream out = new DeflaterOutputStream(bytes)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return bytes.toByteArray();
+	}
+	
+	private static String readAll(ReadableByteChannel channel) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(ReadableByteChannel input = channel) {
+			byte[] buffer = new byte[7];
+			java.io.InputStream in = Channels.newInputStream(input);
+			int read;
+			while((read = in.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+		}
+		return new String(bytes.toByteArray(), StandardCharsets.US_ASCII);
+	}
+	
+	private static ReadableByteChannel channel(byte[] bytes) {
+		return Channels.newChannel(new ByteArrayInputStream(bytes));
+	}
+	
+	private File file(byte[] bytes) throws IOException {
+		return file(folder.newFile(), bytes);
+	}
+	
+	private static File file(File file, byte[] bytes) throws IOException {
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(bytes);
+		}
+		return file;
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void decode_NullChannel_ThrowsIllegalArgumentException() throws IOException {
+		try {
+			//Act
+			InputChannels.decode(null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void decode_PlainText_ReplaysHeader() throws IOException {
+		assertEquals(TRIANGLE, readAll(InputChannels.decode(channel(TRIANGLE.getBytes(StandardCharsets.US_ASCII)))));
+		assertEquals("7", readAll(InputChannels.decode(channel(new byte[] { '7' }))));
+		assertEquals("", readAll(InputChannels.decode(channel(new byte[0]))));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void decode_Gzip_Decompresses() throws IOException {
+		assertEquals(TRIANGLE, readAll(InputChannels.decode(channel(gzip(TRIANGLE)))));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void decode_Deflate_Decompresses() throws IOException {
+		assertEquals(TRIANGLE, readAll(InputChannels.decode(channel(deflate(TRIANGLE)), true)));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void decode_TextPassingZlibCheck_ReplaysText() throws IOException {
+		//"80" is 0x3830, a multiple of 31 with the deflate method in its low nibble.
+		assertEquals("80\n1 2\n", readAll(InputChannels.decode(channel("80\n1 2\n".getBytes(StandardCharsets.US_ASCII)))));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void isZlibName_Extensions() {
+		assertTrue(InputChannels.isZlibName("triangle.zz"));
+		assertTrue(InputChannels.isZlibName("triangle.ZLIB"));
+		assertFalse(InputChannels.isZlibName("triangle.txt"));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void decode_LargerThanBlocks_Decompresses() throws IOException {
+		//Arrange
+		StringBuilder content = new StringBuilder();
+		for(int i = 0; i < 200000; i++) {
+			content.append(i).append(i % 10 == 0 ? '\n' : ' ');
+		}
+		
+		//Act, Assert
+		assertEquals(content.toString(), readAll(InputChannels.decode(channel(gzip(content.toString())))));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void read_CorruptGzip_ThrowsIOException() throws IOException {
+		//Arrange
+		byte[] bytes = gzip(TRIANGLE);
+		bytes[bytes.length - 3] ^= 0x55;
+		
+		try {
+			//Act
+			readAll(InputChannels.decode(channel(bytes)));
+			
+			//Assert
+			fail("IOException not thrown.");
+		} catch(IOException ex) {
+		}
+	}
+	
+	@Test(timeout = 10000)
+	@Category(UnitTests.class)
+	public void read_DecoderThrowsError_RethrowsError() throws IOException {
+		//Arrange
+		InputStream decoded = mock(InputStream.class);
+		when(decoded.read(any(byte[].class), anyInt(), anyInt())).thenThrow(new StackOverflowError("Broken decoder."));
+		
+		try(InflatingChannel channel = new InflatingChannel(decoded)) {
+			//Act
+			readAll(channel);
+			
+			//Assert
+			fail("StackOverflowError not thrown.");
+		} catch(StackOverflowError ex) {
+			assertEquals("Broken decoder.", ex.getMessage());
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void isCompressed_File_DoesNotMovePosition() throws IOException {
+		try(FileChannel plain = new RandomAccessFile(file(TRIANGLE.getBytes(StandardCharsets.US_ASCII)), "r").getChannel();
+				FileChannel compressed = new RandomAccessFile(file(gzip(TRIANGLE)), "r").getChannel()) {
+			assertFalse(InputChannels.isCompressed(plain));
+			assertTrue(InputChannels.isCompressed(compressed));
+			assertEquals(0, plain.position());
+			assertEquals(0, compressed.position());
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getExactMaxPathFromFile_CompressedFile_ReturnsMaxPath() throws IOException, ProcessException {
+		//Arrange
+		PathAnalyzer analyzer = new PathAnalyzer(mock(PrintStream.class), mock(PrintStream.class));
+		File gzipFile = file(gzip(TRIANGLE));
+		File deflateFile = file(folder.newFile("triangle.zz"), deflate(TRIANGLE));
+		
+		//Act, Assert
+		assertEquals(27, analyzer.getMaxPathFromFile(gzipFile.getPath(), " "));
+		assertEquals(27, analyzer.getMaxPathFromFile(gzipFile.getPath(), " ", IngestionMode.MAPPED));
+		assertEquals(27, analyzer.getMaxPathFromFile(deflateFile.getPath(), " "));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getExactMaxPathFromFile_TextPassingZlibCheck_ReadsAsText() throws IOException, ProcessException {
+		//Arrange
+		PrintStream err = mock(PrintStream.class);
+		PathAnalyzer analyzer = new PathAnalyzer(mock(PrintStream.class), err);
+		File file = file("80\n1 2\n".getBytes(StandardCharsets.US_ASCII));
+		
+		//Act, Assert
+		assertEquals(82, analyzer.getMaxPathFromFile(file.getPath(), " "));
+		assertEquals(82, analyzer.getMaxPathFromFile(file.getPath(), " ", IngestionMode.MAPPED));
+		verify(err, never()).println(anyString());
+	}
+}
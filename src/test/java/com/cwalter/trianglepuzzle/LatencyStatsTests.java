@@ -0,0 +1,48 @@
+package com.cwalter.trianglepuzzle;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class LatencyStatsTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void getPercentileNanos_Recorded_ReturnsBucketBound() {
+		//Arrange
+		LatencyStats stats = new LatencyStats();
+		for(int i = 0; i < 99; i++) {
+			stats.record(1000);
+		}
+		stats.record(1000000);
+		
+		//Act, Assert
+		assertEquals(100, stats.getCount());
+		assertEquals((99 * 1000 + 1000000) / 100, stats.getMeanNanos());
+		assertEquals(1000000, stats.getMaxNanos());
+		assertEquals(1023, stats.getPercentileNanos(50));
+		assertEquals(1023, stats.getPercentileNanos(99));
+		assertEquals(1000000, stats.getPercentileNanos(100));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getPercentileNanos_Empty_ReturnsZero() {
+		assertEquals(0, new LatencyStats().getPercentileNanos(99));
+		assertEquals(0, new LatencyStats().getMeanNanos());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getPercentileNanos_InvalidPercentile_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new LatencyStats().getPercentileNanos(0);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class MappedRowReaderTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private MappedRowReader reader(String content, int windowSize) throws IOException {
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return new MappedRowReader(new RandomAccessFile(file, "r").getChannel(), " ", windowSize);
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_EmptyFile_ReturnsMinusOne() throws IOException {
+		try(MappedRowReader rows = reader("", 16)) {
+			assertEquals(-1, rows.nextRow());
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_RowsSpanWindows_ReturnsRows() throws IOException {
+		//Arrange, Act, Assert
+		try(MappedRowReader rows = reader("5\n9 6\r\n\n4 6 8\n0 7 1 5", 4)) {
+			assertEquals(1, rows.nextRow());
+			assertEquals(5, rows.getRow()[0]);
+			assertEquals(2, rows.nextRow());
+			assertEquals(6, rows.getRow()[1]);
+			assertEquals(3, rows.nextRow());
+			assertEquals(8, rows.getRow()[2]);
+			assertEquals(4, rows.nextRow());
+			assertEquals(5, rows.getRow()[3]);
+			assertEquals(-1, rows.nextRow());
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void nextRow_InvalidToken_ThrowsNumberFormatException() throws IOException {
+		try(MappedRowReader rows = reader("5\n9 x\n", 4)) {
+			assertEquals(1, rows.nextRow());
+			
+			//Act
+			rows.nextRow();
+			
+			//Assert
+			fail("NumberFormatException was not thrown.");
+		} catch(NumberFormatException ex) {
+		}
+	}
+}
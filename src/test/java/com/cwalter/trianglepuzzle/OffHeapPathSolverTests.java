@@ -0,0 +1,96 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class OffHeapPathSolverTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	//Signed values exercise the edges, which never take a negative parent.
+	private static long solve(PathSolver solver, long seed, int rows) {
+		Random random = new Random(seed);
+		int[] values = new int[rows];
+		for(int width = 1; width <= rows; width++) {
+			for(int i = 0; i < width; i++) {
+				values[i] = random.nextInt(2001) - 1000;
+			}
+			solver.addRow(values, width);
+		}
+		return solver.getMaxPath();
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_SmallSegments_MatchesAdaptivePathSolver() throws IOException {
+		for(long seed = 1; seed <= 5; seed++) {
+			try(OffHeapPathSolver solver = new OffHeapPathSolver(null, 4)) {
+				//Act, Assert
+				assertEquals("seed " + seed, solve(new AdaptivePathSolver(), seed, 50), solve(solver, seed, 50));
+			}
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPath_ScratchDirectory_MatchesAdaptivePathSolver() throws IOException {
+		//Arrange
+		OffHeapPathSolver solver = new OffHeapPathSolver(folder.getRoot(), 8);
+		
+		//Act
+		long maxPath = solve(solver, 42, 70);
+		
+		//Assert
+		assertEquals(solve(new AdaptivePathSolver(), 42, 70), maxPath);
+		assertEquals(2, folder.getRoot().list().length);
+		solver.close();
+		assertEquals(0, folder.getRoot().list().length);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_SampleTriangle_FindsMaxPath() throws IOException {
+		try(OffHeapPathSolver solver = new OffHeapPathSolver()) {
+			//Act
+			solver.addRow(new int[] { 5 }, 1);
+			solver.addRow(new int[] { 9, 6 }, 2);
+			solver.addRow(new int[] { 4, 6, 8 }, 3);
+			solver.addRow(new int[] { 0, 7, 1, 5 }, 4);
+			
+			//Assert
+			assertEquals(27, solver.getMaxPath());
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathFromFile_ScratchDirectory_FindsMaxPathAndDeletesScratchFiles() throws IOException, ProcessException {
+		//Arrange
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write("5\n9 6\n4 6 8\n0 7 1 5\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		File scratch = folder.newFolder();
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(mock(PrintStream.class), mock(PrintStream.class), () -> new OffHeapPathSolver(scratch));
+		
+		//Act
+		long maxPath = pathAnalyzer.getMaxPathFromFile(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(27, maxPath);
+		assertEquals(0, scratch.list().length);
+	}
+}
@@ -0,0 +1,83 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class ParallelPathSolverTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_NullPool_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new ParallelPathSolver(null, 16);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_ThresholdBelowTwo_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new ParallelPathSolver(ForkJoinPool.commonPool(), 1);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(SlowTests.class)
+	public void getMaxPath_WideRows_MatchesDefaultPathSolver() {
+		//Arrange
+		ForkJoinPool pool = new ForkJoinPool(4);
+		ParallelPathSolver parallel = new ParallelPathSolver(pool, 2);
+		DefaultPathSolver sequential = new DefaultPathSolver();
+		Random random = new Random(42);
+		int[] values = new int[20000];
+		
+		//Act
+		for(int width = 1; width <= values.length; width++) {
+			values[width - 1] = random.nextInt(200) - 100;
+			parallel.addRow(values, width);
+			sequential.addRow(values, width);
+		}
+		pool.shutdown();
+		
+		//Assert
+		assertEquals(sequential.getMaxPath(), parallel.getMaxPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_IntOverflowInWideRows_MatchesAdaptivePathSolver() {
+		//Arrange
+		ForkJoinPool pool = new ForkJoinPool(4);
+		ParallelPathSolver parallel = new ParallelPathSolver(pool, 2);
+		AdaptivePathSolver sequential = new AdaptivePathSolver();
+		int[] values = new int[12000];
+		
+		//Act
+		for(int width = 1; width <= values.length; width++) {
+			values[width - 1] = width % 7 == 0 ? -width : Integer.MAX_VALUE / 30000 * (width % 5);
+			parallel.addRow(values, width);
+			sequential.addRow(values, width);
+		}
+		pool.shutdown();
+		
+		//Assert
+		assertTrue(sequential.getMaxPath() > Integer.MAX_VALUE);
+		assertEquals(sequential.getMaxPath(), parallel.getMaxPath());
+		assertEquals(64, parallel.getLaneWidth());
+	}
+}
@@ -0,0 +1,187 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.EnumSet;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class PathAnalysisTests {
+
+	private static int[][] triangle(long seed, int rows, int bound) {
+		SplittableRandom random = new SplittableRandom(seed);
+		int[][] triangle = new int[rows][];
+		for(int row = 0; row < rows; row++) {
+			triangle[row] = new int[row + 1];
+			for(int column = 0; column <= row; column++) {
+				triangle[row][column] = random.nextInt(-bound, bound + 1);
+			}
+		}
+		return triangle;
+	}
+	
+	private static PathReport analyze(int[][] triangle, int bins) {
+		PathAnalysis analysis = new PathAnalysis(EnumSet.allOf(PathAggregate.class), bins);
+		for(int[] row : triangle) {
+			analysis.addRow(row, row.length);
+		}
+		return analysis.getReport();
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getReport_RandomTriangles_MatchesEveryPath() {
+		for(long seed = 0; seed < 50; seed++) {
+			//Arrange
+			int rows = 1 + (int) (seed % 12);
+			int[][] triangle = triangle(seed, rows, seed % 2 == 0 ? 3 : 50);
+			long max = Long.MIN_VALUE;
+			long min = Long.MAX_VALUE;
+			long count = 0;
+			long[] bottom = new long[rows];
+			for(int i = 0; i < rows; i++) {
+				bottom[i] = Long.MIN_VALUE;
+			}
+			
+			//Every path is a choice of going left or right on each row after the first. Best totals
+			//drop a negative total while the path runs down an edge.
+			for(int choices = 0; choices < 1 << (rows - 1); choices++) {
+				long real = triangle[0][0];
+				long total = real;
+				int column = 0;
+				for(int row = 1; row < rows; row++) {
+					column += (choices >> (row - 1)) & 1;
+					real += triangle[row][column];
+					boolean edge = column == 0 || column == row;
+					total = triangle[row][column] + (edge ? Math.max(total, 0) : total);
+				}
+				min = Math.min(min, real);
+				bottom[column] = Math.max(bottom[column], total);
+				if(total > max) {
+					max = total;
+					count = 1;
+				} else if(total == max) {
+					count++;
+				}
+			}
+			
+			//Act
+			PathReport report = analyze(triangle, 4);
+			
+			//Assert
+			assertEquals(rows, report.getRowCount());
+			assertEquals(max, report.getMaxPath());
+			assertEquals(min, report.getMinPath());
+			assertEquals("seed " + seed, count, report.getMaxPathCount());
+			long low = Long.MAX_VALUE;
+			for(long total : bottom) {
+				low = Math.min(low, total);
+			}
+			long[] histogram = new long[4];
+			for(long total : bottom) {
+				histogram[(int) ((total - low) / report.getHistogramBinWidth())]++;
+			}
+			assertEquals(low, report.getHistogramLow());
+			assertArrayEquals(histogram, report.getHistogram());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_NegativeValues_MatchesDefaultPathSolver() {
+		for(long seed = 0; seed < 20; seed++) {
+			//Arrange
+			int[][] triangle = triangle(seed, 1 + (int) (seed % 15), 100);
+			PathAnalysis analysis = new PathAnalysis(EnumSet.of(PathAggregate.MAX), 1);
+			DefaultPathSolver solver = new DefaultPathSolver();
+			
+			//Act
+			for(int[] row : triangle) {
+				analysis.addRow(row, row.length);
+				solver.addRow(row, row.length);
+			}
+			
+			//Assert
+			assertEquals("seed " + seed, solver.getMaxPath(), analysis.getMaxPath());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getReport_NegativeEdge_DropsNegativeTotal() {
+		//Arrange
+		int[][] triangle = { { -10 }, { -5, 3 }, { 4, 1, 2 } };
+		
+		//Act
+		PathReport report = analyze(triangle, 1);
+		
+		//Assert
+		assertEquals(5, report.getMaxPath());
+		assertEquals(-14, report.getMinPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getReport_FlatTriangle_CountsEveryPath() {
+		//Arrange
+		int[][] triangle = new int[40][];
+		for(int row = 0; row < triangle.length; row++) {
+			triangle[row] = new int[row + 1];
+		}
+		
+		//Act
+		PathReport report = analyze(triangle, 2);
+		
+		//Assert
+		assertEquals(1L << 39, report.getMaxPathCount());
+		assertArrayEquals(new long[] { 40, 0 }, report.getHistogram());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getReport_ManyPaths_CountStopsAtLongMax() {
+		//Arrange
+		int[][] triangle = new int[70][];
+		for(int row = 0; row < triangle.length; row++) {
+			triangle[row] = new int[row + 1];
+		}
+		
+		//Act, Assert
+		assertEquals(Long.MAX_VALUE, analyze(triangle, 1).getMaxPathCount());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getReport_AggregateNotChosen_ThrowsIllegalStateException() {
+		//Arrange
+		PathAnalysis analysis = new PathAnalysis(EnumSet.of(PathAggregate.MIN), 1);
+		analysis.addRow(new int[] { 5 }, 1);
+		analysis.addRow(new int[] { 9, 6 }, 2);
+		PathReport report = analysis.getReport();
+		
+		//Act, Assert
+		assertEquals(11, report.getMinPath());
+		try {
+			report.getMaxPathCount();
+			
+			//Assert
+			fail("IllegalStateException not thrown.");
+		} catch(IllegalStateException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_NoAggregates_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new PathAnalysis(EnumSet.noneOf(PathAggregate.class), 1);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+}
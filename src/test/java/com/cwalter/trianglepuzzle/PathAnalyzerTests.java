@@ -1,8 +1,22 @@
 package com.cwalter.trianglepuzzle;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -53,6 +67,21 @@ public class PathAnalyzerTests {
 		}
 	}
 	
+	@Test
+	@Category(UnitTests.class)
+	public void Main_OnlyFlags_ThrowsIllegalArgumentException() {
+		//Arrange
+		try {
+			
+			//Act
+			PathAnalyzer.main("--mmap");
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
 	@Test
 	@Category(UnitTests.class)
 	public void Constructor_NullOutStream_ThrowsIllegalArgumentException() {
@@ -85,6 +114,23 @@ public class PathAnalyzerTests {
 		}
 	}
 	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_NullSolvers_ThrowsIllegalArgumentException() {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		try {
+			
+			//Act
+			new PathAnalyzer(outStream, errorStream, null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
 	@Test
 	@Category(UnitTests.class)
 	public void getNext_NullReader_ThrowsIllegalArgumentException() throws IOException {
@@ -430,6 +476,41 @@ public class PathAnalyzerTests {
 		}
 	}
 	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPathFromReader_CustomSolver_ReturnsSolverResult() throws IOException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		final PathSolver solver = Mockito.mock(PathSolver.class);
+		when(solver.getExactMaxPath()).thenReturn(BigInteger.valueOf(99));
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream, () -> solver);
+		
+		BufferedReader reader = Mockito.mock(BufferedReader.class);
+		when(reader.readLine()).thenReturn("1", "2 3", null);
+		
+		//Act, Assert
+		assertEquals(99, pathAnalyzer.getMaxPathFromReader(reader, " "));
+		verify(solver, times(1)).addRow(any(int[].class), eq(1));
+		verify(solver, times(1)).addRow(any(int[].class), eq(2));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPathFromReader_RowDoesNotExpand_ReturnsMinusOne() throws IOException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		BufferedReader reader = Mockito.mock(BufferedReader.class);
+		when(reader.readLine()).thenReturn("1", "2 3", "4 5", null);
+		
+		//Act, Assert
+		assertEquals(-1, pathAnalyzer.getMaxPathFromReader(reader, " "));
+		verify(errorStream, times(1)).println(anyString());
+	}
+	
 	@Test
 	@Category(UnitTests.class)
 	public void getMaxPathFromFile_NullFile_ThrowsIllegalArgumentException() throws ProcessException {
@@ -520,6 +601,245 @@ public class PathAnalyzerTests {
 		verify(errorStream, never()).println(anyString());
 	}
 	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPathFromFile_NullMode_ThrowsIllegalArgumentException() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		try {
+			//Act
+			pathAnalyzer.getMaxPathFromFile(file4Row, " ", null);
+			
+			//Assert
+			fail("IllegalArgumentException was not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathFromFile_100RowFileMapped() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		String delimeter = " ";
+		
+		//Act, Assert
+		assertEquals(732506, pathAnalyzer.getMaxPathFromFile(file100Row, delimeter, IngestionMode.MAPPED));
+		verify(outStream, never()).println(anyString());
+		verify(errorStream, never()).println(anyString());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathFromFile_Metrics_RecordsStats() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		SolveMetrics metrics = new SolveMetrics();
+		pathAnalyzer.setMetrics(metrics);
+		
+		//Act
+		long maxPath = pathAnalyzer.getMaxPathFromFile(file100Row, " ");
+		
+		//Assert
+		SolveStats stats = pathAnalyzer.getLastStats();
+		assertEquals(732506, maxPath);
+		assertEquals(100, stats.getRows());
+		assertEquals(100, stats.getPeakWidth());
+		assertEquals(new File(file100Row).length(), stats.getBytes());
+		assertTrue(stats.getReadNanos() >= stats.getIoNanos());
+		assertTrue(stats.getTotalNanos() >= stats.getSolveNanos());
+		assertEquals(1, metrics.getSolves());
+		assertEquals(100, metrics.getRows());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathFromFile_MetricsPipelinedMapped_RecordsStats() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		pathAnalyzer.setPipelineDepth(4);
+		pathAnalyzer.setMetrics(new SolveMetrics());
+		
+		//Act
+		long maxPath = pathAnalyzer.getMaxPathFromFile(file100Row, " ", IngestionMode.MAPPED);
+		
+		//Assert
+		assertEquals(732506, maxPath);
+		assertEquals(100, pathAnalyzer.getLastStats().getRows());
+		assertEquals(new File(file100Row).length(), pathAnalyzer.getLastStats().getBytes());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathFromFile_NoMetrics_RecordsNothing() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		//Act
+		pathAnalyzer.getMaxPathFromFile(file4Row, " ");
+		
+		//Assert
+		assertNull(pathAnalyzer.getLastStats());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathFromFile_100RowFilePipelined() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		pathAnalyzer.setPipelineDepth(4);
+		
+		String delimeter = " ";
+		
+		//Act, Assert
+		assertEquals(732506, pathAnalyzer.getMaxPathFromFile(file100Row, delimeter));
+		verify(outStream, never()).println(anyString());
+		verify(errorStream, never()).println(anyString());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPathFromReader_PipelinedMixedIntString_ThrowsNumberFormatException() throws IOException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		pathAnalyzer.setPipelineDepth(4);
+		
+		BufferedReader reader = Mockito.mock(BufferedReader.class);
+		when(reader.readLine()).thenReturn("1", "string two", null);
+		
+		try {
+			//Act
+			pathAnalyzer.getMaxPathFromReader(reader, " ");
+			
+			//Assert
+			fail("NumberFormatException was not thrown.");
+		} catch(NumberFormatException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getMaxPathWithRoute_100RowFile() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		//Act
+		PathRoute route = pathAnalyzer.getMaxPathWithRoute(file100Row, " ");
+		
+		//Assert
+		assertEquals(732506, route.getMaxPath());
+		assertEquals(100, route.getRowCount());
+		verify(errorStream, never()).println(anyString());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPathWithRoute_NonExistentFile_ThrowsProcessException() {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		try {
+			//Act
+			pathAnalyzer.getMaxPathWithRoute("", " ");
+			
+			//Assert
+			fail("ProcessException was not thrown.");
+		} catch(ProcessException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void printRoute_WritesMaxPathAndEachRow() {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		//Act
+		pathAnalyzer.printRoute(new PathRoute(3, new int[] { 0, 1 }, new int[] { 1, 2 }));
+		
+		//Assert
+		verify(outStream, times(3)).println(anyString());
+		verify(errorStream, never()).println(anyString());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void analyzeFile_4RowFile() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		//Act
+		PathReport report = pathAnalyzer.analyzeFile(file4Row, " ", EnumSet.allOf(PathAggregate.class), 2);
+		pathAnalyzer.printReport(report);
+		
+		//Assert
+		assertEquals(4, report.getRowCount());
+		assertEquals(27, report.getMaxPath());
+		assertEquals(18, report.getMinPath());
+		assertEquals(1, report.getMaxPathCount());
+		assertArrayEquals(new long[] { 2, 2 }, report.getHistogram());
+		verify(outStream).println("Max path: 27");
+		verify(outStream).println("Min path: 18");
+		verify(outStream).println("Paths reaching max: 1");
+		verify(outStream).println("  18 to 22: 2");
+		verify(errorStream, never()).println(anyString());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getTopPathsFromFile_4RowFile() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		//Act, Assert
+		assertArrayEquals(new long[] { 27, 25 }, pathAnalyzer.getTopPathsFromFile(file4Row, " ", 2));
+		verify(errorStream, never()).println(anyString());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getTopPathsFromFile_ZeroCount_ThrowsIllegalArgumentException() throws ProcessException {
+		//Arrange
+		PrintStream outStream = Mockito.mock(PrintStream.class);
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(outStream, errorStream);
+		
+		try {
+			//Act
+			pathAnalyzer.getTopPathsFromFile(file4Row, " ", 0);
+			
+			//Assert
+			fail("IllegalArgumentException was not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
 	@Test
 	@Category(UnitTests.class)
 	public void printMaxPath_WritesMaxPath() {
@@ -535,4 +855,99 @@ public class PathAnalyzerTests {
 		verify(errorStream, never()).println(anyString());
 		verify(outStream, times(1)).println(anyString());
 	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getExactMaxPathAsync_100RowFile_CompletesAndReportsProgress() throws Exception {
+		//Arrange
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(Mockito.mock(PrintStream.class), errorStream);
+		pathAnalyzer.setProgressInterval(0);
+		List<SolveProgress> reports = Collections.synchronizedList(new ArrayList<SolveProgress>());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		
+		try {
+			//Act
+			BigInteger maxPath = pathAnalyzer.getExactMaxPathAsync(file100Row, " ", IngestionMode.STREAM, executor,
+					Duration.ofMinutes(1), reports::add).get();
+			
+			//Assert
+			assertEquals(BigInteger.valueOf(732506), maxPath);
+			SolveProgress last = reports.get(reports.size() - 1);
+			assertEquals(100, last.getRows());
+			assertEquals(new File(file100Row).length(), last.getTotalBytes());
+			assertEquals(last.getTotalBytes(), last.getBytes());
+			assertEquals(100, last.getEstimatedRows());
+			assertEquals(101, reports.size());
+			verify(errorStream, never()).println(anyString());
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getExactMaxPathAsync_CancelledDuringSolve_StopsAtNextRow() {
+		//Arrange
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(Mockito.mock(PrintStream.class), Mockito.mock(PrintStream.class));
+		pathAnalyzer.setProgressInterval(0);
+		List<Runnable> tasks = new ArrayList<>();
+		AtomicReference<CompletableFuture<BigInteger>> future = new AtomicReference<>();
+		AtomicLong rows = new AtomicLong();
+		future.set(pathAnalyzer.getExactMaxPathAsync(file100Row, " ", IngestionMode.STREAM, tasks::add, null, progress -> {
+			rows.set(progress.getRows());
+			if(progress.getRows() == 10) {
+				future.get().cancel(true);
+			}
+		}));
+		
+		//Act
+		tasks.get(0).run();
+		
+		//Assert
+		assertTrue(future.get().isCancelled());
+		assertEquals(10, rows.get());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getExactMaxPathAsync_Timeout_CompletesWithTimeoutException() throws InterruptedException {
+		//Arrange
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(Mockito.mock(PrintStream.class), Mockito.mock(PrintStream.class));
+		List<Runnable> tasks = new ArrayList<>();
+		AtomicLong reports = new AtomicLong();
+		CompletableFuture<BigInteger> future = pathAnalyzer.getExactMaxPathAsync(file100Row, " ", IngestionMode.STREAM, tasks::add,
+				Duration.ofMillis(10), progress -> reports.incrementAndGet());
+		
+		try {
+			//Act
+			future.get();
+			
+			//Assert
+			fail("ExecutionException not thrown.");
+		} catch(ExecutionException ex) {
+			assertTrue(ex.getCause() instanceof TimeoutException);
+		}
+		
+		//A solve which only starts after its deadline does not read the file.
+		tasks.get(0).run();
+		assertEquals(0, reports.get());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getExactMaxPathAsync_MissingFile_CompletesWithProcessException() throws InterruptedException {
+		//Arrange
+		PathAnalyzer pathAnalyzer = new PathAnalyzer(Mockito.mock(PrintStream.class), Mockito.mock(PrintStream.class));
+		
+		try {
+			//Act
+			pathAnalyzer.getExactMaxPathAsync(resourcesDir + "missing.txt", " ", Runnable::run).get();
+			
+			//Assert
+			fail("ExecutionException not thrown.");
+		} catch(ExecutionException ex) {
+			assertTrue(ex.getCause() instanceof ProcessException);
+		}
+	}
 }
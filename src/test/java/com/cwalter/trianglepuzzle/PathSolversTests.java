@@ -0,0 +1,40 @@
+package com.cwalter.trianglepuzzle;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class PathSolversTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void adaptive_ReturnsNewSolverEachTime() {
+		//Act
+		PathSolver first = PathSolvers.adaptive().get();
+		PathSolver second = PathSolvers.adaptive().get();
+		
+		//Assert
+		assertNotSame(first, second);
+		assertTrue(first instanceof AdaptivePathSolver);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void adaptive_WideTriangle_MatchesAdaptivePathSolver() {
+		//Arrange
+		PathSolver solver = PathSolvers.adaptive().get();
+		AdaptivePathSolver scalar = new AdaptivePathSolver();
+		int[] values = new int[300];
+		
+		//Act
+		for(int width = 1; width <= values.length; width++) {
+			values[width - 1] = width % 2 == 0 ? Integer.MAX_VALUE - width : width;
+			solver.addRow(values, width);
+			scalar.addRow(values, width);
+		}
+		
+		//Assert
+		assertEquals(scalar.getExactMaxPath(), solver.getExactMaxPath());
+	}
+}
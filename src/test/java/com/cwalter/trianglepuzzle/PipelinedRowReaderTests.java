@@ -0,0 +1,103 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PipelinedRowReaderTests {
+
+	private static RowReader source(String content) {
+		return new ChannelRowReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII)), " ");
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_ZeroDepth_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new PipelinedRowReader(source(""), 0);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void nextRow_MoreRowsThanDepth_ReturnsRowsInOrder() throws IOException {
+		//Arrange
+		StringBuilder content = new StringBuilder();
+		for(int row = 1; row <= 200; row++) {
+			for(int i = 0; i < row; i++) {
+				content.append(row).append(' ');
+			}
+			content.append('\n');
+		}
+		
+		//Act, Assert
+		try(PipelinedRowReader rows = new PipelinedRowReader(source(content.toString()), 2)) {
+			for(int row = 1; row <= 200; row++) {
+				assertEquals(row, rows.nextRow());
+				assertEquals(row, rows.getRow()[0]);
+				assertEquals(row, rows.getRow()[row - 1]);
+			}
+			assertEquals(-1, rows.nextRow());
+			assertEquals(-1, rows.nextRow());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void nextRow_InvalidToken_ThrowsNumberFormatExceptionAfterValidRows() throws IOException {
+		try(PipelinedRowReader rows = new PipelinedRowReader(source("1\n2 x\n"), 4)) {
+			assertEquals(1, rows.nextRow());
+			
+			//Act
+			rows.nextRow();
+			
+			//Assert
+			fail("NumberFormatException was not thrown.");
+		} catch(NumberFormatException ex) {
+		}
+	}
+	
+	@Test(timeout = 10000)
+	@Category(UnitTests.class)
+	public void nextRow_SourceThrowsError_RethrowsError() throws IOException {
+		//Arrange
+		RowReader source = mock(RowReader.class);
+		when(source.nextRow()).thenThrow(new StackOverflowError("Broken source."));
+		
+		try(PipelinedRowReader rows = new PipelinedRowReader(source, 2)) {
+			//Act
+			rows.nextRow();
+			
+			//Assert
+			fail("StackOverflowError was not thrown.");
+		} catch(StackOverflowError ex) {
+			assertEquals("Broken source.", ex.getMessage());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void close_BeforeAllRowsRead_StopsReading() throws IOException {
+		//Arrange
+		StringBuilder content = new StringBuilder();
+		for(int row = 0; row < 1000; row++) {
+			content.append("1\n");
+		}
+		PipelinedRowReader rows = new PipelinedRowReader(source(content.toString()), 1);
+		
+		//Act
+		assertEquals(1, rows.nextRow());
+		rows.close();
+	}
+}
@@ -0,0 +1,174 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ResultCacheTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File file(String content) throws IOException {
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return file;
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_InvalidArguments_ThrowsIllegalArgumentException() throws IOException {
+		try {
+			//Act
+			new ResultCache(null, 1);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+		
+		try {
+			//Act
+			new ResultCache(folder.getRoot(), 0);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void fingerprint_UnchangedFile_HashesOnce() throws IOException {
+		//Arrange
+		ResultCache cache = new ResultCache(folder.newFolder(), 10);
+		File file = file("5\n9 6\n");
+		File copy = file("5\n9 6\n");
+		
+		//Act
+		long first = cache.fingerprint(file.getPath());
+		long second = cache.fingerprint(file.getPath());
+		long third = cache.fingerprint(copy.getPath());
+		
+		//Assert
+		assertEquals(first, second);
+		assertEquals(first, third);
+		assertEquals(2, cache.getHashes());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void get_PutResult_HitsAcrossInstances() throws IOException {
+		//Arrange
+		File directory = folder.newFolder();
+		ResultCache cache = new ResultCache(directory, 10);
+		cache.put(42, " ", "adaptive", BigInteger.valueOf(27));
+		ResultCache other = new ResultCache(directory, 10);
+		
+		//Act, Assert
+		assertEquals(BigInteger.valueOf(27), other.get(42, " ", "adaptive"));
+		assertNull(other.get(42, ",", "adaptive"));
+		assertNull(other.get(42, " ", "off-heap"));
+		assertNull(other.get(43, " ", "adaptive"));
+		assertEquals(1, other.getHits());
+		assertEquals(3, other.getMisses());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void put_BeyondMaxEntries_EvictsLeastRecentlyUsed() throws IOException {
+		//Arrange
+		ResultCache cache = new ResultCache(folder.newFolder(), 2);
+		cache.put(1, " ", "adaptive", BigInteger.ONE);
+		cache.put(2, " ", "adaptive", BigInteger.valueOf(2));
+		cache.get(1, " ", "adaptive");
+		
+		//Act
+		cache.put(3, " ", "adaptive", BigInteger.valueOf(3));
+		
+		//Assert
+		assertEquals(BigInteger.ONE, cache.get(1, " ", "adaptive"));
+		assertNull(cache.get(2, " ", "adaptive"));
+		assertEquals(BigInteger.valueOf(3), cache.get(3, " ", "adaptive"));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void get_Hit_DoesNotRewriteIndex() throws IOException {
+		//Arrange
+		File directory = folder.newFolder();
+		ResultCache cache = new ResultCache(directory, 10);
+		cache.put(1, " ", "adaptive", BigInteger.ONE);
+		cache.put(2, " ", "adaptive", BigInteger.valueOf(2));
+		File index = new File(directory, "results.idx");
+		byte[] saved = Files.readAllBytes(index.toPath());
+		
+		//Act
+		BigInteger maxPath = cache.get(1, " ", "adaptive");
+		
+		//Assert
+		assertEquals(BigInteger.ONE, maxPath);
+		assertArrayEquals(saved, Files.readAllBytes(index.toPath()));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void get_IndexReplacedByAnotherProcess_ReadsItAgain() throws IOException {
+		//Arrange
+		File directory = folder.newFolder();
+		File elsewhere = folder.newFolder();
+		ResultCache cache = new ResultCache(directory, 10);
+		cache.put(1, " ", "adaptive", BigInteger.ONE);
+		assertNull(cache.get(2, " ", "adaptive"));
+		new ResultCache(elsewhere, 10).put(2, " ", "adaptive", BigInteger.valueOf(1234));
+		
+		//Act
+		Files.copy(new File(elsewhere, "results.idx").toPath(), new File(directory, "results.idx").toPath(), StandardCopyOption.REPLACE_EXISTING);
+		
+		//Assert
+		assertEquals(BigInteger.valueOf(1234), cache.get(2, " ", "adaptive"));
+		assertNull(cache.get(1, " ", "adaptive"));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getExactMaxPathFromFile_Cached_DoesNotReadAgain() throws IOException, ProcessException {
+		//Arrange
+		PathSolver solver = mock(PathSolver.class);
+		when(solver.getExactMaxPath()).thenReturn(BigInteger.valueOf(99));
+		@SuppressWarnings("unchecked")
+		java.util.function.Supplier<PathSolver> solvers = mock(java.util.function.Supplier.class);
+		when(solvers.get()).thenReturn(solver);
+		PathAnalyzer analyzer = new PathAnalyzer(mock(PrintStream.class), mock(PrintStream.class), solvers);
+		ResultCache cache = new ResultCache(folder.newFolder(), 10);
+		analyzer.setResultCache(cache);
+		File file = file("5\n9 6\n");
+		
+		//Act
+		BigInteger first = analyzer.getExactMaxPathFromFile(file.getPath(), " ", IngestionMode.STREAM);
+		BigInteger second = analyzer.getExactMaxPathFromFile(file.getPath(), " ", IngestionMode.MAPPED);
+		
+		//Assert
+		assertEquals(BigInteger.valueOf(99), first);
+		assertEquals(BigInteger.valueOf(99), second);
+		//Once to find the kind of solver and once for the only solve.
+		verify(solvers, times(2)).get();
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+	}
+}
@@ -0,0 +1,135 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import static org.mockito.Mockito.*;
+import static org.junit.Assert.*;
+
+public class RouteFinderTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private PathRoute findRoute(String content, PrintStream errorStream) throws IOException {
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		
+		try(FileChannel channel = new RandomAccessFile(file, "r").getChannel()) {
+			return new RouteFinder(errorStream).findRoute(channel, " ");
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_NullErrorStream_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new RouteFinder(null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void findRoute_4Rows_ReturnsRoute() throws IOException {
+		//Arrange
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		
+		//Act
+		PathRoute route = findRoute("5\n9 6\n4 6 8\n0 7 1 5", errorStream);
+		
+		//Assert
+		assertEquals(27, route.getMaxPath());
+		assertEquals(4, route.getRowCount());
+		int[] columns = { 0, 0, 1, 1 };
+		int[] values = { 5, 9, 6, 7 };
+		for(int row = 0; row < 4; row++) {
+			assertEquals(columns[row], route.getColumn(row));
+			assertEquals(values[row], route.getValue(row));
+		}
+		verify(errorStream, never()).println(anyString());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void findRoute_EmptyFile_ReturnsEmptyRoute() throws IOException {
+		//Arrange
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		
+		//Act
+		PathRoute route = findRoute("", errorStream);
+		
+		//Assert
+		assertEquals(0, route.getMaxPath());
+		assertEquals(0, route.getRowCount());
+		verify(errorStream, times(1)).println(anyString());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void findRoute_RowDoesNotExpand_ReturnsMinusOne() throws IOException {
+		//Arrange
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		
+		//Act
+		PathRoute route = findRoute("1\n2 3\n4 5\n", errorStream);
+		
+		//Assert
+		assertEquals(-1, route.getMaxPath());
+		verify(errorStream, times(1)).println(anyString());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void findRoute_ManyRows_RouteAddsUpToMaxPath() throws IOException {
+		//Arrange
+		PrintStream errorStream = Mockito.mock(PrintStream.class);
+		Random random = new Random(7);
+		int rows = 700;
+		StringBuilder content = new StringBuilder();
+		DefaultPathSolver solver = new DefaultPathSolver();
+		int[] values = new int[rows];
+		for(int width = 1; width <= rows; width++) {
+			for(int i = 0; i < width; i++) {
+				values[i] = random.nextInt(100);
+				content.append(values[i]).append(' ');
+			}
+			content.append("\r\n");
+			solver.addRow(values, width);
+		}
+		
+		//Act
+		PathRoute route = findRoute(content.toString(), errorStream);
+		
+		//Assert
+		assertEquals(solver.getMaxPath(), route.getMaxPath());
+		assertEquals(rows, route.getRowCount());
+		long sum = 0;
+		for(int row = 0; row < rows; row++) {
+			sum += route.getValue(row);
+			if(row > 0) {
+				int step = route.getColumn(row) - route.getColumn(row - 1);
+				assertTrue(step == 0 || step == 1);
+			}
+		}
+		assertEquals(route.getMaxPath(), sum);
+	}
+}
@@ -0,0 +1,249 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class RowIndexTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File file(String content) throws IOException {
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(content.getBytes(StandardCharsets.US_ASCII));
+		}
+		return file;
+	}
+	
+	//Row r holds the values r * 10 + c so every value tells where it came from.
+	private static String triangle(int rows, String lineEnd) {
+		StringBuilder text = new StringBuilder();
+		for(int row = 0; row < rows; row++) {
+			for(int column = 0; column <= row; column++) {
+				text.append(column == 0 ? "" : " ").append(row * 10 + column);
+			}
+			text.append(lineEnd);
+			if(row % 3 == 1) {
+				text.append("  ").append(lineEnd);
+			}
+		}
+		return text.toString();
+	}
+	
+	private static void assertRows(RowReader rows, int firstRow, int count) throws IOException {
+		for(int row = firstRow; row < firstRow + count; row++) {
+			assertEquals(row + 1, rows.nextRow());
+			for(int column = 0; column <= row; column++) {
+				assertEquals(row * 10 + column, rows.getRow()[column]);
+			}
+		}
+		assertEquals(-1, rows.nextRow());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void openRows_AnyRange_ReadsOnlyThoseRows() throws IOException {
+		//Arrange
+		File file = file(triangle(20, "\r\n"));
+		RowIndex index = RowIndex.build(file.getPath(), 4);
+		
+		//Act, Assert
+		assertEquals(20, index.getRowCount());
+		for(int firstRow = 0; firstRow < 20; firstRow++) {
+			for(int count = 0; firstRow + count <= 20; count += 3) {
+				try(RowReader rows = index.openRows(firstRow, count, " ")) {
+					assertRows(rows, firstRow, count);
+				}
+			}
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void getOffset_IndexedRows_PointsAtRowStart() throws IOException {
+		//Arrange
+		File file = file("5\n9 6\n4 6 8\n0 7 1 5");
+		
+		//Act
+		RowIndex index = RowIndex.build(file.getPath(), 2);
+		
+		//Assert
+		assertEquals(4, index.getRowCount());
+		assertEquals(0, index.getOffset(0));
+		assertEquals(0, index.getOffset(1));
+		assertEquals(6, index.getOffset(2));
+		assertEquals(6, index.getOffset(3));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void open_Saved_LoadsSidecar() throws IOException {
+		//Arrange
+		File file = file(triangle(50, "\n"));
+		RowIndex built = RowIndex.open(file.getPath(), 8, mock(PrintStream.class));
+		
+		//Act
+		RowIndex loaded = RowIndex.load(file.getPath());
+		
+		//Assert
+		assertTrue(RowIndex.sidecarFor(file.getPath()).isFile());
+		assertNotNull(loaded);
+		assertEquals(built.getRowCount(), loaded.getRowCount());
+		assertEquals(8, loaded.getInterval());
+		for(int row = 0; row < 50; row++) {
+			assertEquals(built.getOffset(row), loaded.getOffset(row));
+		}
+		try(RowReader rows = loaded.openRows(41, 9, " ")) {
+			assertRows(rows, 41, 9);
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void open_SavedIntervalDoesNotDivide_IndexesAgain() throws IOException {
+		//Arrange
+		File file = file(triangle(50, "\n"));
+		RowIndex.open(file.getPath(), 8, mock(PrintStream.class));
+		
+		//Act
+		RowIndex finer = RowIndex.open(file.getPath(), 16, mock(PrintStream.class));
+		RowIndex coarser = RowIndex.open(file.getPath(), 6, mock(PrintStream.class));
+		
+		//Assert
+		assertEquals(8, finer.getInterval());
+		assertEquals(6, coarser.getInterval());
+		assertEquals(6, RowIndex.load(file.getPath()).getInterval());
+		try(RowReader rows = coarser.openRows(12, 6, " ")) {
+			assertRows(rows, 12, 6);
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void open_ConcurrentOpens_AllSucceed() throws Exception {
+		//Arrange
+		File file = file(triangle(200, "\n"));
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<RowIndex>> opens = new ArrayList<>();
+		
+		try {
+			//Act
+			for(int i = 0; i < 160; i++) {
+				opens.add(executor.submit(() -> RowIndex.open(file.getPath(), 4, mock(PrintStream.class))));
+			}
+			
+			//Assert
+			for(Future<RowIndex> open : opens) {
+				assertEquals(200, open.get().getRowCount());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(200, RowIndex.load(file.getPath()).getRowCount());
+		assertTrue(RowIndex.sidecarFor(file.getPath()).isFile());
+		assertEquals("no temporary files left behind", 2, folder.getRoot().list().length);
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void open_SidecarNotWritable_ReturnsIndexAndReportsError() throws IOException {
+		//Arrange
+		File file = file(triangle(20, "\n"));
+		File sidecar = RowIndex.sidecarFor(file.getPath());
+		assertTrue(new File(sidecar, "blocked").mkdirs());
+		PrintStream err = mock(PrintStream.class);
+		
+		//Act
+		RowIndex index = RowIndex.open(file.getPath(), 4, err);
+		
+		//Assert
+		assertEquals(20, index.getRowCount());
+		verify(err).println(startsWith("Unable to save index of '" + file.getPath() + "'"));
+		assertEquals(2, folder.getRoot().list().length);
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void load_FileChanged_ReturnsNull() throws IOException {
+		//Arrange
+		File file = file(triangle(10, "\n"));
+		RowIndex.open(file.getPath(), 4, mock(PrintStream.class));
+		
+		//Act
+		try(FileOutputStream out = new FileOutputStream(file, true)) {
+			out.write(triangle(11, "\n").substring(triangle(10, "\n").length()).getBytes(StandardCharsets.US_ASCII));
+		}
+		
+		//Assert
+		assertNull(RowIndex.load(file.getPath()));
+		assertEquals(11, RowIndex.open(file.getPath(), 4, mock(PrintStream.class)).getRowCount());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void openRows_RowDoesNotMatch_ThrowsIOException() throws IOException {
+		//Arrange
+		File file = file("5\n9 6\n4 6\n0 7 1 5\n");
+		RowIndex index = RowIndex.build(file.getPath(), 4);
+		
+		try(RowReader rows = index.openRows(3, 1, " ")) {
+			//Act
+			rows.nextRow();
+			
+			//Assert
+			fail("IOException not thrown.");
+		} catch(IOException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void openRows_OutsideRange_ThrowsIllegalArgumentException() throws IOException {
+		//Arrange
+		RowIndex index = RowIndex.build(file("5\n9 6\n").getPath(), 4);
+		
+		try {
+			//Act
+			index.openRows(1, 2, " ");
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void build_Binary_ThrowsIOException() throws IOException {
+		//Arrange
+		File text = file("5\n9 6\n");
+		File binary = folder.newFile();
+		BinaryTriangleWriter.convert(text.getPath(), " ", binary.getPath(), BinaryEncoding.FIXED);
+		
+		try {
+			//Act
+			RowIndex.build(binary.getPath(), 4);
+			
+			//Assert
+			fail("IOException not thrown.");
+		} catch(IOException ex) {
+		}
+	}
+}
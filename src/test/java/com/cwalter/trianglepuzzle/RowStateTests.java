@@ -0,0 +1,100 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class RowStateTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	@Test
+	@Category(UnitTests.class)
+	public void set_AcrossSegments_GetReturnsValues() throws IOException {
+		//Arrange
+		try(RowState state = new RowState(10, 4, null)) {
+			//Act
+			for(long i = 0; i < 10; i++) {
+				state.set(i, i * 1000000007L - 5);
+			}
+			
+			//Assert
+			assertEquals(12, state.getCapacity());
+			assertFalse(state.isMapped());
+			for(long i = 0; i < 10; i++) {
+				assertEquals(i * 1000000007L - 5, state.get(i));
+			}
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void ensureCapacity_KeepsValues() throws IOException {
+		//Arrange
+		try(RowState state = new RowState(4, 4, null)) {
+			state.set(3, Long.MIN_VALUE);
+			
+			//Act
+			state.ensureCapacity(9);
+			
+			//Assert
+			assertEquals(12, state.getCapacity());
+			assertEquals(Long.MIN_VALUE, state.get(3));
+			assertEquals(0, state.get(11));
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void map_ScratchFile_HoldsValuesAndIsDeletedOnClose() throws IOException {
+		//Arrange
+		File scratch = new File(folder.getRoot(), "rows");
+		RowState state = new RowState(6, 2, scratch);
+		
+		//Act
+		for(long i = 0; i < 6; i++) {
+			state.set(i, -i);
+		}
+		state.ensureCapacity(8);
+		state.set(7, Long.MAX_VALUE);
+		
+		//Assert
+		assertTrue(state.isMapped());
+		assertEquals(8 * Long.BYTES, scratch.length());
+		for(long i = 0; i < 6; i++) {
+			assertEquals(-i, state.get(i));
+		}
+		assertEquals(Long.MAX_VALUE, state.get(7));
+		state.close();
+		assertFalse(scratch.exists());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_InvalidArguments_ThrowsIllegalArgumentException() throws IOException {
+		try {
+			//Act
+			new RowState(8, 3, null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+		
+		try {
+			//Act
+			RowState.allocate(-1);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package com.cwalter.trianglepuzzle;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class RowTokenizerTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_NullDelimeter_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new RowTokenizer(null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_SingleCharDelimeter_ReturnsValues() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(" ");
+		
+		//Act, Assert
+		assertEquals(3, tokenizer.parse("  24    -234  +7 "));
+		assertEquals(24, tokenizer.getValues()[0]);
+		assertEquals(-234, tokenizer.getValues()[1]);
+		assertEquals(7, tokenizer.getValues()[2]);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_MultiCharDelimeter_ReturnsValues() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(", ");
+		
+		//Act, Assert
+		assertEquals(3, tokenizer.parse("1, 2 ,  , 3"));
+		assertEquals(1, tokenizer.getValues()[0]);
+		assertEquals(2, tokenizer.getValues()[1]);
+		assertEquals(3, tokenizer.getValues()[2]);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_WhitespaceRunDelimeter_ReturnsValues() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer("\\s+");
+		
+		//Act, Assert
+		assertEquals(3, tokenizer.parse("1\t2 \t 3"));
+		assertEquals(3, tokenizer.getValues()[2]);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_ManyValues_GrowsValues() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(" ");
+		StringBuilder line = new StringBuilder();
+		for(int i = 0; i < 100; i++) {
+			line.append(i).append(' ');
+		}
+		
+		//Act, Assert
+		assertEquals(100, tokenizer.parse(line));
+		assertEquals(99, tokenizer.getValues()[99]);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_IntegerLimits_ReturnsValues() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(" ");
+		
+		//Act, Assert
+		assertEquals(2, tokenizer.parse("2147483647 -2147483648"));
+		assertEquals(Integer.MAX_VALUE, tokenizer.getValues()[0]);
+		assertEquals(Integer.MIN_VALUE, tokenizer.getValues()[1]);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_Overflow_ThrowsNumberFormatException() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(" ");
+		
+		try {
+			//Act
+			tokenizer.parse("1 2147483648");
+			
+			//Assert
+			fail("NumberFormatException was not thrown.");
+		} catch(NumberFormatException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_WhitespaceInsideToken_ThrowsNumberFormatException() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(",");
+		
+		try {
+			//Act
+			tokenizer.parse("1,2 3");
+			
+			//Assert
+			fail("NumberFormatException was not thrown.");
+		} catch(NumberFormatException ex) {
+			assertEquals("For input string: \"2 3\"", ex.getMessage());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_LoneSign_ThrowsNumberFormatException() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(" ");
+		
+		try {
+			//Act
+			tokenizer.parse("1 - 2");
+			
+			//Assert
+			fail("NumberFormatException was not thrown.");
+		} catch(NumberFormatException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void parse_ByteBufferRange_ReturnsValues() {
+		//Arrange
+		RowTokenizer tokenizer = new RowTokenizer(" ");
+		ByteBuffer buffer = ByteBuffer.wrap("9 8\n7 6 5".getBytes(StandardCharsets.US_ASCII));
+		
+		//Act, Assert
+		assertEquals(3, tokenizer.parse(buffer, 4, 9));
+		assertEquals(7, tokenizer.getValues()[0]);
+		assertEquals(5, tokenizer.getValues()[2]);
+	}
+}
@@ -0,0 +1,262 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SlabSolverTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	//Signed values exercise the edges, which never take a negative parent.
+	private File triangle(long seed, int rows) throws IOException {
+		File file = folder.newFile();
+		TriangleGenerator generator = new TriangleGenerator(seed);
+		generator.setValues(TriangleGenerator.Distribution.SIGNED, 100);
+		generator.write(rows, file.getPath(), TriangleGenerator.Format.TEXT);
+		return file;
+	}
+	
+	private static long expected(File file) throws ProcessException {
+		return new PathAnalyzer(mock(PrintStream.class), mock(PrintStream.class)).getMaxPathFromFile(file.getPath(), " ");
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_AnySlabHeight_MatchesSequentialSolve() throws IOException, ProcessException {
+		for(long seed = 1; seed <= 6; seed++) {
+			//Arrange
+			File file = triangle(seed, (int) (seed * 7));
+			long expected = expected(file);
+			
+			for(int slabHeight = 1; slabHeight <= 9; slabHeight += 2) {
+				//Act
+				long maxPath = new SlabSolver(mock(PrintStream.class), slabHeight, 3).solve(file.getPath(), " ");
+				
+				//Assert
+				assertEquals("seed " + seed + " slabs of " + slabHeight, expected, maxPath);
+				RowIndex.sidecarFor(file.getPath()).delete();
+			}
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_NoPendingBytes_ComputesOneSlabAtATime() throws IOException, ProcessException {
+		//Arrange
+		File file = triangle(9, 40);
+		SlabSolver solver = new SlabSolver(mock(PrintStream.class), 3, 4);
+		solver.pendingBytes = 0;
+		
+		//Act
+		long maxPath = solver.solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(expected(file), maxPath);
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_Workers_MatchesSequentialSolve() throws IOException, ProcessException {
+		//Arrange
+		File file = triangle(42, 60);
+		try(SolverServer first = new SolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 4, AdaptivePathSolver::new);
+				SolverServer second = new SolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 4, AdaptivePathSolver::new)) {
+			first.start();
+			second.start();
+			SlabSolver solver = new SlabSolver(mock(PrintStream.class), 8, 2);
+			solver.setWorkers(Arrays.asList(String.valueOf(first.getPort()), "localhost:" + second.getPort()));
+			
+			//Act
+			long maxPath = solver.solve(file.getPath(), " ");
+			
+			//Assert
+			assertEquals(expected(file), maxPath);
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void slab_ConcurrentRequestsWithoutSidecar_AllSucceed() throws Exception {
+		//Arrange
+		File file = triangle(9, 40);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Integer>> responses = new ArrayList<>();
+		try(SolverServer server = new SolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 8, 64, AdaptivePathSolver::new)) {
+			server.start();
+			
+			//Act
+			for(int first = 0; first < 40; first += 4) {
+				URL url = new URL("http://localhost:" + server.getPort() + "/slab?file=" + URLEncoder.encode(file.getAbsolutePath(), "UTF-8")
+						+ "&first=" + first + "&height=4");
+				responses.add(executor.submit(() -> {
+					HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+					try {
+						return connection.getResponseCode();
+					} finally {
+						connection.disconnect();
+					}
+				}));
+			}
+			
+			//Assert
+			for(Future<Integer> response : responses) {
+				assertEquals(200, (int) response.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_CoarserSidecarExists_ReindexesAtSlabHeight() throws IOException, ProcessException {
+		//Arrange
+		File file = triangle(7, 50);
+		RowIndex.open(file.getPath(), 1024, mock(PrintStream.class));
+		
+		//Act
+		long maxPath = new SlabSolver(mock(PrintStream.class), 4, 2).solve(file.getPath(), " ");
+		
+		//Assert
+		assertEquals(expected(file), maxPath);
+		assertEquals(4, RowIndex.load(file.getPath()).getInterval());
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_WorkerWithCoarserSidecar_ReindexesAtSlabHeight() throws IOException, ProcessException {
+		//Arrange
+		File file = triangle(8, 30);
+		RowIndex.open(file.getPath(), 1024, mock(PrintStream.class));
+		try(SolverServer server = new SolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 4, AdaptivePathSolver::new)) {
+			server.start();
+			SlabSolver solver = new SlabSolver(mock(PrintStream.class), 4, 2);
+			solver.setWorkers(Collections.singletonList(String.valueOf(server.getPort())));
+			
+			//Act
+			long maxPath = solver.solve(file.getPath(), " ");
+			
+			//Assert
+			assertEquals(expected(file), maxPath);
+			assertEquals(4, RowIndex.load(file.getPath()).getInterval());
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_WorkerFails_ThrowsIOException() throws IOException {
+		//Arrange
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write("5\n9 6\n4 x 8\n".getBytes(StandardCharsets.US_ASCII));
+		}
+		
+		try(SolverServer server = new SolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 4, AdaptivePathSolver::new)) {
+			server.start();
+			SlabSolver solver = new SlabSolver(mock(PrintStream.class), 2, 1);
+			solver.setWorkers(Collections.singletonList(String.valueOf(server.getPort())));
+			
+			//Act
+			solver.solve(file.getPath(), " ");
+			
+			//Assert
+			fail("IOException not thrown.");
+		} catch(IOException ex) {
+			assertTrue(ex.getMessage().contains("For input string"));
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void solve_EmptyFile_ReturnsZero() throws IOException {
+		//Arrange
+		PrintStream err = mock(PrintStream.class);
+		
+		//Act
+		long maxPath = new SlabSolver(err, 4, 1).solve(folder.newFile().getPath(), " ");
+		
+		//Assert
+		assertEquals(0, maxPath);
+		verify(err).println("Reader has no content.");
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void write_Read_RoundTrips() throws IOException {
+		//Arrange
+		File file = triangle(7, 12);
+		RowIndex index = RowIndex.build(file.getPath(), 4);
+		SlabTransfer transfer = SlabSolver.compute(index, 4, 5, " ");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		
+		//Act
+		transfer.write(new DataOutputStream(bytes));
+		SlabTransfer read = SlabTransfer.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		
+		//Assert
+		long[] maxPaths = { 3, -7, 12, 0 };
+		assertEquals(4, read.getFirstRow());
+		assertEquals(5, read.getHeight());
+		assertArrayEquals(transfer.apply(maxPaths), read.apply(maxPaths));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void apply_WrongWidth_ThrowsIllegalArgumentException() throws IOException {
+		//Arrange
+		RowReader rows = mock(RowReader.class);
+		when(rows.nextRow()).thenReturn(3);
+		when(rows.getRow()).thenReturn(new int[] { 1, 2, 3 });
+		SlabTransfer transfer = SlabTransfer.compute(rows, 2, 1);
+		
+		try {
+			//Act
+			transfer.apply(new long[1]);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void compute_TooManyGains_ThrowsIllegalArgumentException() throws IOException {
+		try {
+			//Act
+			SlabTransfer.compute(mock(RowReader.class), 100000, 30000);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.cwalter.trianglepuzzle;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class SolveMetricsTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void record_TwoSolves_SumsTotalsAndKeepsPeakWidth() {
+		//Arrange
+		SolveMetrics metrics = new SolveMetrics();
+		
+		//Act
+		metrics.record(new SolveStats(10, 100, 5, 20, 30, 1000, 10, 64));
+		metrics.record(new SolveStats(4, 40, 1, 2, 3, 1000, 4, -1));
+		
+		//Assert
+		assertEquals(2, metrics.getSolves());
+		assertEquals(14, metrics.getRows());
+		assertEquals(140, metrics.getBytes());
+		assertEquals(6, metrics.getIoNanos());
+		assertEquals(16, metrics.getParseNanos());
+		assertEquals(33, metrics.getSolveNanos());
+		assertEquals(2000, metrics.getTotalNanos());
+		assertEquals(10, metrics.getPeakWidth());
+		assertEquals(64, metrics.getAllocatedBytes());
+		assertEquals(7000000, metrics.getRowsPerSecond(), 0.001);
+		assertEquals(70000000, metrics.getBytesPerSecond(), 0.001);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void reset_Recorded_ZeroesTotals() {
+		//Arrange
+		SolveMetrics metrics = new SolveMetrics();
+		metrics.record(new SolveStats(10, 100, 5, 20, 30, 1000, 10, 64));
+		
+		//Act
+		metrics.reset();
+		
+		//Assert
+		assertEquals(0, metrics.getSolves());
+		assertEquals(0, metrics.getRows());
+		assertEquals(0, metrics.getPeakWidth());
+		assertEquals(0, metrics.getRowsPerSecond(), 0);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void record_Null_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new SolveMetrics().record(null);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getShared_RegistersMBean() throws Exception {
+		//Arrange
+		SolveMetrics metrics = SolveMetrics.getShared();
+		
+		//Act
+		ObjectName name = new ObjectName(SolveMetrics.OBJECT_NAME);
+		
+		//Assert
+		assertSame(metrics, SolveMetrics.getShared());
+		assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+		assertEquals(metrics.getSolves(), ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Solves"));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getParseNanos_ExcludesIo() {
+		//Arrange
+		SolveStats stats = new SolveStats(1, 1, 7, 5, 0, 0, 1, 0);
+		
+		//Act, Assert
+		assertEquals(0, stats.getParseNanos());
+		assertEquals(0, stats.getRowsPerSecond(), 0);
+	}
+}
@@ -0,0 +1,33 @@
+package com.cwalter.trianglepuzzle;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class SolveProgressTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void getEstimatedRows_QuarterOfBytes_EstimatesTwiceTheRows() {
+		//Arrange
+		SolveProgress progress = new SolveProgress(50, 2500, 10000, 0);
+		
+		//Act, Assert
+		assertEquals(100, progress.getEstimatedRows());
+		assertEquals(0.25, progress.getFraction(), 0);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getEstimatedRows_UnknownTotal_ReturnsMinusOne() {
+		//Arrange
+		SolveProgress progress = new SolveProgress(50, 2500, -1, 0);
+		
+		//Act, Assert
+		assertEquals(-1, progress.getEstimatedRows());
+		assertEquals(-1, progress.getFraction(), 0);
+		assertEquals(-1, new SolveProgress(50, -1, 10000, 0).getEstimatedRows());
+		assertEquals(-1, new SolveProgress(0, 0, 10000, 0).getEstimatedRows());
+	}
+}
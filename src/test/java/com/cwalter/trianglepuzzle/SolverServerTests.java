@@ -0,0 +1,211 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SolverServerTests {
+
+	private static final String TRIANGLE = "5\n9 6\n4 6 8\n0 7 1 5\n";
+	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private SolverServer server;
+	
+	@Before
+	public void startServer() throws IOException {
+		server = new SolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 4, AdaptivePathSolver::new);
+		server.start();
+	}
+	
+	@After
+	public void stopServer() {
+		server.close();
+	}
+	
+	private String get(String path) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+		assertEquals(200, connection.getResponseCode());
+		try(InputStream in = connection.getInputStream()) {
+			byte[] buffer = new byte[4096];
+			StringBuilder text = new StringBuilder();
+			int read;
+			while((read = in.read(buffer)) != -1) {
+				text.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+			}
+			return text.toString();
+		}
+	}
+	
+	private static HttpURLConnection open(SolverServer server, String path) throws IOException {
+		return (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path).openConnection();
+	}
+	
+	private static InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII));
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_InvalidArguments_ThrowsIllegalArgumentException() throws IOException {
+		try {
+			//Act
+			new SolverServer(null, 1, 1, AdaptivePathSolver::new);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+		
+		try {
+			//Act
+			new SolverServer(new InetSocketAddress(0), 0, 1, AdaptivePathSolver::new);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(SlowTests.class)
+	public void solve_PostedBody_ReturnsMaxPath() throws ProcessException {
+		//Arrange
+		SolverClient client = new SolverClient(mock(PrintStream.class), String.valueOf(server.getPort()));
+		
+		//Act, Assert
+		assertEquals(BigInteger.valueOf(27), client.getExactMaxPathFromStream(stream(TRIANGLE), " "));
+		assertEquals(BigInteger.valueOf(27), client.getExactMaxPathFromStream(stream(TRIANGLE.replace(' ', ',')), ","));
+	}
+	
+	@Test
+	@Category(SlowTests.class)
+	public void solve_FilePath_ReturnsMaxPath() throws IOException, ProcessException {
+		//Arrange
+		SolverClient client = new SolverClient(mock(PrintStream.class), "localhost:" + server.getPort());
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(TRIANGLE.getBytes(StandardCharsets.US_ASCII));
+		}
+		
+		//Act, Assert
+		assertEquals(BigInteger.valueOf(27), client.getExactMaxPathFromFile(file.getPath(), " "));
+	}
+	
+	@Test
+	@Category(SlowTests.class)
+	public void solve_InvalidTriangle_ThrowsProcessException() {
+		//Arrange
+		PrintStream err = mock(PrintStream.class);
+		SolverClient client = new SolverClient(err, String.valueOf(server.getPort()));
+		
+		try {
+			//Act
+			client.getExactMaxPathFromStream(stream("5\n9 6 1\n"), " ");
+			
+			//Assert
+			fail("ProcessException not thrown.");
+		} catch(ProcessException ex) {
+			verify(err).println("File does not expand by one record per row as expected.");
+		}
+		
+		try {
+			//Act
+			client.getExactMaxPathFromStream(stream("5\n9 x\n"), " ");
+			
+			//Assert
+			fail("ProcessException not thrown.");
+		} catch(ProcessException ex) {
+		}
+	}
+	
+	@Test
+	@Category(SlowTests.class)
+	public void healthAndStats_AfterRequests_ReportCounts() throws IOException, ProcessException {
+		//Arrange
+		SolverClient client = new SolverClient(mock(PrintStream.class), String.valueOf(server.getPort()));
+		client.getExactMaxPathFromStream(stream(TRIANGLE), " ");
+		
+		//Act
+		String health = get("/health");
+		String stats = get("/stats");
+		
+		//Assert
+		assertEquals("OK\n", health);
+		assertTrue(stats.contains("requests=1\n"));
+		assertTrue(stats.contains("errors=0\n"));
+		assertEquals(1, server.getLatency().getCount());
+	}
+	
+	@Test
+	@Category(SlowTests.class)
+	public void solve_QueueFull_Returns503AndStillAnswersHealth() throws Exception {
+		//Arrange
+		File file = folder.newFile();
+		try(FileOutputStream out = new FileOutputStream(file)) {
+			out.write(TRIANGLE.getBytes(StandardCharsets.US_ASCII));
+		}
+		String path = "/solve?file=" + file.getAbsolutePath();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService clients = Executors.newFixedThreadPool(2);
+		try(SolverServer busy = new SolverServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 1, () -> {
+			started.countDown();
+			try {
+				release.await();
+			} catch(InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return new DefaultPathSolver();
+		})) {
+			busy.start();
+			Future<Integer> running = clients.submit(() -> open(busy, path).getResponseCode());
+			started.await();
+			Future<Integer> queued = clients.submit(() -> open(busy, path).getResponseCode());
+			while(!busy.getStats().contains("queued=1\n")) {
+				Thread.sleep(10);
+			}
+			
+			//Act
+			HttpURLConnection rejected = open(busy, path);
+			int rejectedStatus = rejected.getResponseCode();
+			int healthStatus = open(busy, "/health").getResponseCode();
+			release.countDown();
+			
+			//Assert
+			assertEquals(503, rejectedStatus);
+			assertEquals("1", rejected.getHeaderField("Retry-After"));
+			assertEquals(200, healthStatus);
+			assertEquals(200, (int) running.get());
+			assertEquals(200, (int) queued.get());
+			assertTrue(busy.getStats().contains("rejected=1\n"));
+		} finally {
+			release.countDown();
+			clients.shutdownNow();
+		}
+	}
+}
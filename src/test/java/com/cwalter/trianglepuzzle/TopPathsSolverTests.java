@@ -0,0 +1,129 @@
+package com.cwalter.trianglepuzzle;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class TopPathsSolverTests {
+
+	//Like the other solvers a path running down an edge drops a negative total.
+	private static void collectTotals(int[][] triangle, int row, int column, long total, TreeSet<Long> totals) {
+		if(row > 0 && (column == 0 || column == row)) {
+			total = Math.max(total, 0);
+		}
+		total += triangle[row][column];
+		if(row == triangle.length - 1) {
+			totals.add(total);
+			return;
+		}
+		collectTotals(triangle, row + 1, column, total, totals);
+		collectTotals(triangle, row + 1, column + 1, total, totals);
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void Constructor_ZeroK_ThrowsIllegalArgumentException() {
+		try {
+			//Act
+			new TopPathsSolver(0);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getTopPaths_4Rows_ReturnsDistinctTotalsBestFirst() {
+		//Arrange
+		TopPathsSolver solver = new TopPathsSolver(3);
+		
+		//Act
+		solver.addRow(new int[] { 5 }, 1);
+		solver.addRow(new int[] { 9, 6 }, 2);
+		solver.addRow(new int[] { 4, 6, 8 }, 3);
+		solver.addRow(new int[] { 0, 7, 1, 5 }, 4);
+		
+		//Assert
+		assertArrayEquals(new long[] { 27, 25, 24 }, solver.getTopPaths());
+		assertEquals(27, solver.getMaxPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getTopPaths_FewerTotalsThanK_ReturnsAllTotals() {
+		//Arrange
+		TopPathsSolver solver = new TopPathsSolver(10);
+		
+		//Act
+		solver.addRow(new int[] { 1 }, 1);
+		solver.addRow(new int[] { 2, 2 }, 2);
+		
+		//Assert
+		assertArrayEquals(new long[] { 3 }, solver.getTopPaths());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getTopPaths_NegativeEdge_BestMatchesDefaultPathSolver() {
+		//Arrange
+		TopPathsSolver solver = new TopPathsSolver(1);
+		DefaultPathSolver expected = new DefaultPathSolver();
+		int[][] triangle = { { -10 }, { -5, 3 }, { 4, 1, 2 } };
+		
+		//Act
+		for(int[] row : triangle) {
+			solver.addRow(row, row.length);
+			expected.addRow(row, row.length);
+		}
+		
+		//Assert
+		assertArrayEquals(new long[] { expected.getMaxPath() }, solver.getTopPaths());
+		assertEquals(5, solver.getMaxPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getTopPaths_RandomTriangles_MatchesEveryPath() {
+		Random random = new Random(11);
+		for(int trial = 0; trial < 50; trial++) {
+			//Arrange
+			int rows = 1 + random.nextInt(12);
+			int k = 1 + random.nextInt(20);
+			int[][] triangle = new int[rows][];
+			TopPathsSolver solver = new TopPathsSolver(k);
+			for(int row = 0; row < rows; row++) {
+				triangle[row] = new int[row + 1];
+				for(int i = 0; i <= row; i++) {
+					triangle[row][i] = random.nextInt(21) - 10;
+				}
+				
+				//Act
+				solver.addRow(triangle[row], row + 1);
+			}
+			
+			//Assert
+			TreeSet<Long> totals = new TreeSet<>();
+			collectTotals(triangle, 0, 0, 0, totals);
+			long[] expected = new long[Math.min(k, totals.size())];
+			int i = 0;
+			for(Long total : totals.descendingSet()) {
+				if(i == expected.length) {
+					break;
+				}
+				expected[i++] = total;
+			}
+			assertArrayEquals(expected, solver.getTopPaths());
+			DefaultPathSolver best = new DefaultPathSolver();
+			for(int[] values : triangle) {
+				best.addRow(values, values.length);
+			}
+			assertEquals(best.getMaxPath(), solver.getMaxPath());
+		}
+	}
+}
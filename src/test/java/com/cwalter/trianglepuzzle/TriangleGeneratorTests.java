@@ -0,0 +1,118 @@
+package com.cwalter.trianglepuzzle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class TriangleGeneratorTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	private File generate(TriangleGenerator generator, int rows, TriangleGenerator.Format format) throws IOException {
+		File file = folder.newFile();
+		generator.write(rows, file.getPath(), format);
+		return file;
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void setters_InvalidArguments_ThrowIllegalArgumentException() {
+		TriangleGenerator generator = new TriangleGenerator(1);
+		try {
+			generator.setValues(null, 1);
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+		
+		try {
+			generator.setNoise(1.5);
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+		
+		try {
+			generator.setThreads(0);
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+		}
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void write_DifferentThreadCounts_WritesIdenticalBytes() throws IOException {
+		//Arrange
+		TriangleGenerator single = new TriangleGenerator(42);
+		single.setNoise(0.2);
+		single.setThreads(1);
+		TriangleGenerator many = new TriangleGenerator(42);
+		many.setNoise(0.2);
+		many.setThreads(4);
+		
+		//Act
+		byte[] first = Files.readAllBytes(generate(single, 1600, TriangleGenerator.Format.TEXT).toPath());
+		byte[] second = Files.readAllBytes(generate(many, 1600, TriangleGenerator.Format.TEXT).toPath());
+		
+		//Assert
+		assertTrue(Arrays.equals(first, second));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void write_DifferentSeeds_WritesDifferentBytes() throws IOException {
+		byte[] first = Files.readAllBytes(generate(new TriangleGenerator(1), 50, TriangleGenerator.Format.TEXT).toPath());
+		byte[] second = Files.readAllBytes(generate(new TriangleGenerator(2), 50, TriangleGenerator.Format.TEXT).toPath());
+		assertFalse(Arrays.equals(first, second));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void write_EveryFormatAndNoise_SolvesToSameMaxPath() throws IOException, ProcessException {
+		//Arrange
+		PathAnalyzer analyzer = new PathAnalyzer(mock(PrintStream.class), mock(PrintStream.class));
+		TriangleGenerator generator = new TriangleGenerator(9);
+		generator.setValues(TriangleGenerator.Distribution.SIGNED, 1000000);
+		TriangleGenerator noisy = new TriangleGenerator(9);
+		noisy.setValues(TriangleGenerator.Distribution.SIGNED, 1000000);
+		noisy.setNoise(0.3);
+		noisy.setDelimeter(",");
+		
+		//Act
+		long expected = analyzer.getMaxPathFromFile(generate(generator, 300, TriangleGenerator.Format.TEXT).getPath(), " ");
+		
+		//Assert
+		assertEquals(expected, analyzer.getMaxPathFromFile(generate(noisy, 300, TriangleGenerator.Format.TEXT).getPath(), ","));
+		assertEquals(expected, analyzer.getMaxPathFromFile(generate(generator, 300, TriangleGenerator.Format.GZIP).getPath(), " "));
+		assertEquals(expected, analyzer.getMaxPathFromFile(generate(generator, 300, TriangleGenerator.Format.BINARY).getPath(), " "));
+		assertEquals(expected, analyzer.getMaxPathFromFile(generate(generator, 300, TriangleGenerator.Format.VARINT).getPath(), " "));
+	}
+	
+	@Test
+	@Category(FileTests.class)
+	public void write_Exponential_StaysBelowBound() throws IOException {
+		//Arrange
+		TriangleGenerator generator = new TriangleGenerator(3);
+		generator.setValues(TriangleGenerator.Distribution.EXPONENTIAL, 50);
+		
+		//Act
+		File file = generate(generator, 100, TriangleGenerator.Format.TEXT);
+		
+		//Assert
+		for(String line : Files.readAllLines(file.toPath())) {
+			for(String token : line.trim().split(" ")) {
+				int value = Integer.parseInt(token);
+				assertTrue(value >= 0 && value < 50);
+			}
+		}
+	}
+}
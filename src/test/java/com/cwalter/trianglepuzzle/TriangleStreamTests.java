@@ -0,0 +1,134 @@
+package com.cwalter.trianglepuzzle;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+public class TriangleStreamTests {
+
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_NoRows_Returns0() {
+		//Arrange
+		TriangleStream stream = new TriangleStream();
+		
+		//Act, Assert
+		assertEquals(0, stream.getMaxPath());
+		assertEquals(0, stream.getRowCount());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void getMaxPath_AfterEachPush_ReturnsBestSoFar() {
+		//Arrange
+		TriangleStream stream = new TriangleStream();
+		
+		//Act, Assert
+		stream.push(new int[] { 5 }, 1);
+		assertEquals(5, stream.getMaxPath());
+		stream.push(new long[] { 9, 6 }, 2);
+		assertEquals(14, stream.getMaxPath());
+		byte[] row = "4 6 8".getBytes(StandardCharsets.US_ASCII);
+		stream.push(row, 0, row.length);
+		assertEquals(20, stream.getMaxPath());
+		stream.push(new int[] { 0, 7, 1, 5 }, 4);
+		assertEquals(27, stream.getMaxPath());
+		assertEquals(4, stream.getRowCount());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void push_IntRowsWiderThanCapacity_MatchLongRows() {
+		//Arrange
+		TriangleStream ints = new TriangleStream();
+		TriangleStream longs = new TriangleStream();
+		
+		//Act
+		for(int width = 1; width <= 40; width++) {
+			int[] intRow = new int[width + 3];
+			long[] longRow = new long[width];
+			for(int i = 0; i < width; i++) {
+				intRow[i] = (width * 31 + i * 17) % 23 - 11;
+				longRow[i] = intRow[i];
+			}
+			ints.push(intRow, width);
+			longs.push(longRow, width);
+		}
+		
+		//Assert
+		assertEquals(longs.getMaxPath(), ints.getMaxPath());
+		assertArrayEquals(longs.getMaxPaths(), ints.getMaxPaths());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void push_RowDoesNotExpand_ThrowsIllegalArgumentException() {
+		//Arrange
+		TriangleStream stream = new TriangleStream();
+		stream.push(new int[] { 1 }, 1);
+		
+		try {
+			//Act
+			stream.push(new int[] { 1, 2, 3 }, 3);
+			
+			//Assert
+			fail("IllegalArgumentException not thrown.");
+		} catch(IllegalArgumentException ex) {
+			assertEquals(1, stream.getRowCount());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void push_Overflow_ThrowsArithmeticExceptionAndKeepsState() {
+		//Arrange
+		TriangleStream stream = new TriangleStream();
+		stream.push(new long[] { Long.MAX_VALUE - 1 }, 1);
+		
+		try {
+			//Act
+			stream.push(new long[] { 1, 2 }, 2);
+			
+			//Assert
+			fail("ArithmeticException not thrown.");
+		} catch(ArithmeticException ex) {
+			assertEquals(1, stream.getRowCount());
+			assertEquals(Long.MAX_VALUE - 1, stream.getMaxPath());
+		}
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void fork_PushToEach_StatesAreIndependent() {
+		//Arrange
+		TriangleStream stream = new TriangleStream();
+		stream.push(new int[] { 1 }, 1);
+		stream.push(new int[] { 2, 3 }, 2);
+		
+		//Act
+		TriangleStream fork = stream.fork();
+		stream.push(new int[] { 10, 0, 0 }, 3);
+		fork.push(new int[] { 0, 0, 20 }, 3);
+		
+		//Assert
+		assertEquals(13, stream.getMaxPath());
+		assertEquals(24, fork.getMaxPath());
+	}
+	
+	@Test
+	@Category(UnitTests.class)
+	public void push_BlankBytes_IsIgnored() {
+		//Arrange
+		TriangleStream stream = new TriangleStream();
+		byte[] row = "   ".getBytes(StandardCharsets.US_ASCII);
+		
+		//Act
+		stream.push(row, 0, row.length);
+		
+		//Assert
+		assertEquals(0, stream.getRowCount());
+	}
+}
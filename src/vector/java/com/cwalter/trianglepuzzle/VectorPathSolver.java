@@ -0,0 +1,74 @@
+package com.cwalter.trianglepuzzle;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link AdaptivePathSolver} whose int and long lanes are computed with the Vector API.
+ * The edges of each row are left to the scalar code so the vector loop has no branches,
+ * and the tail of each row which does not fill a whole vector is computed by the scalar loop.
+ *
+ * Only compiled when the build is run with -Pvector and only usable when the JVM is started
+ * with --add-modules jdk.incubator.vector. Use {@link PathSolvers#adaptive()} rather than
+ * referring to this class directly so the scalar solver is used when it is not available.
+ */
+public class VectorPathSolver extends AdaptivePathSolver {
+	
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	
+	private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+	
+	//Ints which are widened to fill exactly one vector of longs.
+	private static final VectorSpecies<Integer> INTS_FOR_LONGS =
+			IntVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+	
+	public VectorPathSolver() {
+		super();
+	}
+	
+	/**
+	 * @param capacity Widest row expected. Buffers grow if a wider row is added.
+	 */
+	public VectorPathSolver(int capacity) {
+		super(capacity);
+	}
+	
+	@Override
+	protected int computeIntRange(int[] previous, int[] current, int[] values, int start, int end) {
+		IntVector overflow = IntVector.zero(INTS);
+		IntVector value;
+		IntVector parent;
+		IntVector sum;
+		int i = start;
+		int bound = start + INTS.loopBound(end - start);
+		for(; i < bound; i += INTS.length()) {
+			value = IntVector.fromArray(INTS, values, i);
+			parent = IntVector.fromArray(INTS, previous, i - 1).max(IntVector.fromArray(INTS, previous, i));
+			sum = value.add(parent);
+			overflow = overflow.or(value.lanewise(VectorOperators.XOR, sum).and(parent.lanewise(VectorOperators.XOR, sum)));
+			sum.intoArray(current, i);
+		}
+		return overflow.reduceLanes(VectorOperators.OR) | super.computeIntRange(previous, current, values, i, end);
+	}
+	
+	@Override
+	protected long computeLongRange(long[] previous, long[] current, int[] values, int start, int end) {
+		LongVector overflow = LongVector.zero(LONGS);
+		LongVector value;
+		LongVector parent;
+		LongVector sum;
+		int i = start;
+		int bound = start + LONGS.loopBound(end - start);
+		for(; i < bound; i += LONGS.length()) {
+			value = (LongVector) IntVector.fromArray(INTS_FOR_LONGS, values, i).convertShape(VectorOperators.I2L, LONGS, 0);
+			parent = LongVector.fromArray(LONGS, previous, i - 1).max(LongVector.fromArray(LONGS, previous, i));
+			sum = value.add(parent);
+			overflow = overflow.or(value.lanewise(VectorOperators.XOR, sum).and(parent.lanewise(VectorOperators.XOR, sum)));
+			sum.intoArray(current, i);
+		}
+		return overflow.reduceLanes(VectorOperators.OR) | super.computeLongRange(previous, current, values, i, end);
+	}
+}